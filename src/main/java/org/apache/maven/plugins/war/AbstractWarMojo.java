@@ -21,12 +21,14 @@ package org.apache.maven.plugins.war;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.maven.archiver.MavenArchiveConfiguration;
 import org.apache.maven.artifact.Artifact;
@@ -34,6 +36,7 @@ import org.apache.maven.artifact.factory.ArtifactFactory;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Resource;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -41,14 +44,21 @@ import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.war.overlay.OverlayManager;
+import org.apache.maven.plugins.war.overlay.OverlayPlan;
 import org.apache.maven.plugins.war.packaging.*;
-import org.apache.maven.plugins.war.packaging.refs.DeepReference;
-import org.apache.maven.plugins.war.packaging.refs.DependencyReference;
-import org.apache.maven.plugins.war.packaging.refs.ShallowReference;
+import org.apache.maven.plugins.war.util.CatenationFingerprint;
+import org.apache.maven.plugins.war.util.DelimiterScanner;
+import org.apache.maven.plugins.war.util.FilteredOutputCache;
+import org.apache.maven.plugins.war.util.FingerprintManifest;
+import org.apache.maven.plugins.war.util.OverlayOrderCache;
+import org.apache.maven.plugins.war.util.ParallelDirectoryWalker;
+import org.apache.maven.plugins.war.util.UnpackCache;
 import org.apache.maven.plugins.war.util.WebappStructure;
+import org.apache.maven.plugins.war.util.WebappStructureSerializer;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.settings.io.xpp3.SettingsXpp3Writer;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.apache.maven.shared.filtering.MavenFileFilter;
 import org.apache.maven.shared.filtering.MavenFilteringException;
@@ -59,6 +69,7 @@ import org.apache.maven.shared.utils.io.FileUtils;
 import org.codehaus.plexus.archiver.Archiver;
 import org.codehaus.plexus.archiver.jar.JarArchiver;
 import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.util.DirectoryScanner;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 /**
@@ -70,6 +81,18 @@ public abstract class AbstractWarMojo
     private static final String META_INF = "META-INF";
 
     private static final String WEB_INF = "WEB-INF";
+
+    private static final String UP_TO_DATE_CHECK_LAST_MODIFIED = "lastModified";
+
+    private static final String UP_TO_DATE_CHECK_FINGERPRINT = "fingerprint";
+
+    private static final String FINGERPRINT_MANIFEST_FILE = "webapp-fingerprints.txt";
+
+    private static final String CATENATION_FINGERPRINTS_DIRECTORY = "catenations";
+
+    private static final String OVERLAY_ORDER_FILE = "overlay-order.txt";
+
+    private static final String FILTERED_OUTPUT_DIRECTORY = "filtered";
     /**
      * Whether or not to fail the build if the <code>web.xml</code> file is missing. Set to <code>false</code> if you
      * want your WAR built without a <code>web.xml</code> file. This may be useful if you are building an overlay that
@@ -392,16 +415,158 @@ public abstract class AbstractWarMojo
     private String catenationFinalizer;
 
     /**
-     * When enabling this flag, you may choose "DFS" (deep fist search) strategy
-     * or "BFS" (broadth first search) strategy to control how the files are
-     * traversed
-     * <b>Disabled by default.</b>
+     * The configuration files to build by catenating the matching files of the overlays and of the current project.
+     * All the catenations are performed in the same pass, each overlay being read once for all of them. Each
+     * catenation has:
+     * <ul>
+     * <li>infile: the pattern of the files to catenate</li>
+     * <li>outFile: the catenated file</li>
+     * <li>finalizer (optional): the pattern of the files of the current project to catenate last</li>
+     * </ul>
+     * The catenation defined by {@link #catenationInfile}, {@link #catenatedOutFile} and {@link #catenationFinalizer}
+     * is performed first, if any.
+     *
+     * @since 3.2.4
+     */
+    @Parameter
+    private List<Catenation> catenations = new ArrayList<>();
+
+    /**
+     * How the files of the overlays to catenate are found:
+     * <ul>
+     * <li><code>scan</code>: the webapp source directory is scanned for the infile of each catenation and the
+     * matching paths are looked up in each overlay</li>
+     * <li><code>index</code>: the entries of the overlays matching the infile of each catenation are indexed once from
+     * the central directories of their archives, so that only the overlays holding a matching file are read</li>
+     * </ul>
+     * The former <code>DFS</code> and <code>BFS</code> values select <code>scan</code>: the overlays are always
+     * catenated in the order of the dependency tree.
      *
      * @since 3.2.4
      */
-    @Parameter( required = false, defaultValue = "DFS" )
+    @Parameter( property = "maven.war.catenationSeekStrategy", required = false, defaultValue = "scan" )
     private String catenationSeekStrategy;
 
+    /**
+     * The number of threads used to perform independent packaging tasks concurrently. Tasks that compete for the
+     * ownership of files in the webapp structure, or that append to the same catenation file, are always performed in
+     * their declared order. Since the files of an overlay are only known once it is read, the overlays and the current
+     * project are always packaged one after the other: the catenation of an overlay overlaps the packaging of the next
+     * ones. The files of each task are copied concurrently according to <code>packagingThreads</code>. The default
+     * (<code>1</code>) performs all the tasks sequentially.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.taskThreads", defaultValue = "1" )
+    private int taskThreads;
+
+    /**
+     * The number of threads used to copy the files of a packaging task. The files are still registered in the webapp
+     * structure in a deterministic order, only the copy itself is performed concurrently. Defaults to the number of
+     * available processors; <code>1</code> copies the files on the thread of the packaging task.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.packagingThreads" )
+    private Integer packagingThreads;
+
+    /**
+     * Whether the structure of the webapp should be saved at the end of the build and used by the next one to skip
+     * the files and overlays that did not change.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.useCache", defaultValue = "true" )
+    private boolean useCache = true;
+
+    /**
+     * The file containing the webapp structure cache.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( defaultValue = "${project.build.directory}/war/work/webapp-cache.ser", required = true )
+    private File cacheFile;
+
+    /**
+     * How to decide whether a file that is already in the webapp directory needs to be copied again. Supported values
+     * are:
+     * <ul>
+     * <li><code>lastModified</code> (default): the file is copied if its source is newer than the destination</li>
+     * <li><code>fingerprint</code>: the size and modification date of the source are compared with the ones recorded
+     * in a manifest of the work directory when the file was copied; if only the modification date changed, the
+     * contents are compared. Unlike <code>lastModified</code>, this detects a source reverted to an older version and
+     * does not copy files again when a checkout merely touched them.</li>
+     * </ul>
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.upToDateCheck", defaultValue = UP_TO_DATE_CHECK_LAST_MODIFIED )
+    private String upToDateCheck = UP_TO_DATE_CHECK_LAST_MODIFIED;
+
+    /**
+     * How the unfiltered files are materialized in the webapp directory. Supported values are:
+     * <ul>
+     * <li><code>copy</code> (default): the files are copied</li>
+     * <li><code>transfer</code>: the files are copied by the operating system with <code>FileChannel.transferTo</code>
+     * </li>
+     * <li><code>hardlink</code>: the files are hard links to their source</li>
+     * <li><code>symlink</code>: the files are symbolic links to their source</li>
+     * </ul>
+     * The link modes are meant for the <code>exploded</code> and <code>inplace</code> goals during development: the
+     * <code>war</code> goal copies the files instead. Libraries are only linked if they come from the local repository
+     * and a file that can not be linked is copied. Beware that editing a linked file of the webapp directory edits its
+     * source.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.materializationMode", defaultValue = "copy" )
+    private String materializationMode = "copy";
+
+    /**
+     * The directory where overlays are unpacked once for all the builds of the machine, each overlay being unpacked
+     * in a sub directory named after the checksum of its archive. This avoids unpacking an overlay shared by several
+     * modules or projects again in each of them. Overlays are unpacked in the work directory of the module if not set.
+     * <p>
+     * The unpacked overlays are never removed by the plugin.
+     * </p>
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.overlayCacheDirectory" )
+    private File overlayCacheDirectory;
+
+    /**
+     * Whether overlays should be unpacked in the work directory before their files are copied to the webapp. If
+     * <code>false</code>, the files of an overlay are listed from its archive and only the included ones are extracted
+     * straight to the webapp. Overlays that are filtered, streamed to the WAR or that use the
+     * {@link #overlayCacheDirectory} are still unpacked.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.unpackOverlays", defaultValue = "true" )
+    private boolean unpackOverlays = true;
+
+    /**
+     * Whether the overlays should be unpacked concurrently as soon as the packaging tasks are known, rather than one
+     * after the other when their files are copied. Up to {@link #packagingThreads} overlays are unpacked at the same
+     * time, in precedence order.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.prefetchOverlays", defaultValue = "false" )
+    private boolean prefetchOverlays;
+
+    /**
+     * Whether the output of the filtered files should be recorded in the work directory, so that a later build copies
+     * it rather than filtering again a file whose content and filter inputs did not change. The filter inputs are the
+     * model and the properties of the project, the filter files, the user and system properties, the settings and the
+     * filtering parameters. The environment variables are only taken into account for the files referring to them.
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.filteredOutputCache", defaultValue = "false" )
+    private boolean filteredOutputCache;
+
     @Component( hint = "default" )
     private DependencyGraphBuilder dependencyGraphBuilder;
 
@@ -416,6 +581,11 @@ public abstract class AbstractWarMojo
 
     protected DependencyNode rootNode;
 
+    /**
+     * The projection of the dependency graph ordering the overlays, see {@link OverlayPlan#project(DependencyNode)}.
+     */
+    private List<String> overlayCoordinates;
+
     /**
      * @return The current overlay.
      */
@@ -424,10 +594,6 @@ public abstract class AbstractWarMojo
         return currentProjectOverlay;
     }
 
-    private interface Harvester {
-        WarPackagingTask harvest(DependencyReference ref, Overlay overlay);
-    }
-
     /**
      * Returns a string array of the excludes to be used when copying the content of the WAR source directory.
      *
@@ -489,6 +655,31 @@ public abstract class AbstractWarMojo
 
     public void execute() throws MojoExecutionException, MojoFailureException
     {
+        // the dependency graph only orders the overlays, the current project keeps its position in both cases
+        if ( !hasOverlays() )
+        {
+            getLog().debug( "No overlay, the dependency graph is not needed" );
+            return;
+        }
+
+        final OverlayOrderCache overlayOrderCache =
+            new OverlayOrderCache( new File( workDirectory, OVERLAY_ORDER_FILE ) );
+        String overlayOrderKey = null;
+        try
+        {
+            overlayOrderKey = OverlayOrderCache.key( project.getArtifacts() );
+            overlayCoordinates = overlayOrderCache.load( overlayOrderKey );
+        }
+        catch ( IOException e )
+        {
+            getLog().debug( "Could not compute the key of the resolved artifacts: " + e );
+        }
+        if ( overlayCoordinates != null )
+        {
+            getLog().info( "Resolved artifacts unchanged, reusing the order of the overlays" );
+            return;
+        }
+
         ArtifactFilter artifactFilter = new ArtifactFilter( )
         {
             @Override
@@ -498,8 +689,6 @@ public abstract class AbstractWarMojo
             }
         };
 
-        String dependencyTreeString;
-
         ProjectBuildingRequest buildingRequest =
                 new DefaultProjectBuildingRequest( session.getProjectBuildingRequest() );
 
@@ -518,9 +707,52 @@ public abstract class AbstractWarMojo
         catch ( DependencyGraphBuilderException e )
         {
             e.printStackTrace();
+            return;
+        }
+
+        overlayCoordinates = OverlayPlan.project( rootNode );
+        if ( overlayOrderKey != null )
+        {
+            try
+            {
+                overlayOrderCache.save( overlayOrderKey, overlayCoordinates );
+            }
+            catch ( IOException e )
+            {
+                getLog().warn( "Could not record the order of the overlays: " + e.getMessage() );
+            }
         }
     }
 
+    /**
+     * Specifies if the project may have overlays: an overlay is configured or the project depends on a war.
+     */
+    private boolean hasOverlays()
+    {
+        if ( overlays != null )
+        {
+            for ( Overlay overlay : overlays )
+            {
+                if ( !overlay.isCurrentProject() )
+                {
+                    return true;
+                }
+            }
+        }
+        final Set<Artifact> artifacts = project.getArtifacts();
+        if ( artifacts != null )
+        {
+            for ( Artifact artifact : artifacts )
+            {
+                if ( "war".equals( artifact.getType() ) )
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * @param webapplicationDirectory The web application directory.
      * @throws MojoExecutionException In case of failure.
@@ -554,8 +786,47 @@ public abstract class AbstractWarMojo
     public void buildWebapp( MavenProject mavenProject, File webapplicationDirectory )
             throws MojoExecutionException, MojoFailureException, IOException
     {
+        buildWebapp( mavenProject, webapplicationDirectory, null );
+    }
+
+    /**
+     * Builds the webapp for the specified project. If a <tt>sink</tt> is specified, the files that are packaged as is
+     * are handed to it instead of being copied to the <tt>webappDirectory</tt>, which then only holds the generated
+     * and filtered files.
+     *
+     * @param mavenProject the maven project
+     * @param webapplicationDirectory the target directory
+     * @param sink the sink receiving the files packaged as is or <tt>null</tt> to copy them
+     * @throws MojoExecutionException if an error occurred while packaging the webapp
+     * @throws MojoFailureException if an unexpected error occurred while packaging the webapp
+     * @throws IOException if an error occurred while copying the files
+     * @since 3.2.4
+     */
+    public void buildWebapp( MavenProject mavenProject, File webapplicationDirectory, WebappEntrySink sink )
+            throws MojoExecutionException, MojoFailureException, IOException
+    {
+
+        final boolean caching = useCache && cacheFile != null;
+        final WebappStructureSerializer serializer = new WebappStructureSerializer();
+        WebappStructure cache = null;
+        if ( caching && cacheFile.exists() )
+        {
+            try
+            {
+                cache = serializer.fromFile( cacheFile );
+            }
+            catch ( IOException e )
+            {
+                getLog().warn( "Could not read webapp structure cache [" + cacheFile + "], ignoring it", e );
+            }
+        }
+        // Without cache file yet, start from an empty structure so that the previous content is overwritten
+        if ( caching && cache == null )
+        {
+            cache = new WebappStructure( mavenProject.getDependencies() );
+        }
 
-        WebappStructure structure = new WebappStructure( mavenProject.getDependencies() );
+        WebappStructure structure = new WebappStructure( mavenProject.getDependencies(), cache );
 
         // CHECKSTYLE_OFF: LineLength
         final long startTime = System.currentTimeMillis();
@@ -569,6 +840,8 @@ public abstract class AbstractWarMojo
                         currentProjectOverlay );
         // CHECKSTYLE_ON: LineLength
         List<FileUtils.FilterWrapper> defaultFilterWrappers;
+        DelimiterScanner delimiterScanner;
+        FilteredOutputCache outputCache;
         try
         {
             MavenResourcesExecution mavenResourcesExecution = new MavenResourcesExecution();
@@ -595,169 +868,585 @@ public abstract class AbstractWarMojo
             mavenResourcesExecution.setSupportMultiLineFiltering( supportMultiLineFiltering );
 
             defaultFilterWrappers = mavenFileFilter.getDefaultFilterWrappers( mavenResourcesExecution );
+            delimiterScanner = DelimiterScanner.compile( mavenResourcesExecution.getDelimiters() );
+            outputCache = filteredOutputCache ? createFilteredOutputCache( mavenResourcesExecution ) : null;
+
+        }
+        catch ( MavenFilteringException e )
+        {
+            getLog().error( "fail to build filtering wrappers " + e.getMessage() );
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+
+        final FingerprintManifest fingerprintManifest = createFingerprintManifest();
+        final MaterializationMode mode = getMaterializationMode();
+
+        final int threads = getPackagingThreads();
+        final ExecutorService packagingExecutor = threads > 1 ? Executors.newFixedThreadPool( threads ) : null;
+        final OverlayPrefetcher overlayPrefetcher = prefetchOverlays ? new OverlayPrefetcher( threads ) : null;
+        List<WarPackagingTask> packagingTasks = Collections.emptyList();
+        try
+        {
+            final WarPackagingContext context =
+                    new DefaultWarPackagingContext( webapplicationDirectory, structure, overlayManager
+                            , defaultFilterWrappers, getNonFilteredFileExtensions(), filteringDeploymentDescriptors
+                            , this.artifactFactory, resourceEncoding, useJvmChmod
+                            , failOnMissingWebXml, catenateConfig, catenatedOutFile, getCatenationIncludes()
+                            , packagingExecutor, threads, fingerprintManifest, mode, sink
+                            , overlayCacheDirectory == null ? null : new UnpackCache( overlayCacheDirectory )
+                            , unpackOverlays, overlayPrefetcher, delimiterScanner, outputCache );
+
+            if ( overlayPrefetcher != null )
+            {
+                overlayPrefetcher.prefetch( context, overlayManager.getOverlays() );
+            }
+            packagingTasks = getPackagingTasks( overlayManager, context );
+
+            createTaskGraph( packagingTasks ).execute( context, taskThreads );
+        }
+        finally
+        {
+            if ( packagingExecutor != null )
+            {
+                packagingExecutor.shutdownNow();
+            }
+            if ( overlayPrefetcher != null )
+            {
+                overlayPrefetcher.shutdown();
+            }
+            closeCatenations( packagingTasks );
+        }
+
+        if ( fingerprintManifest != null )
+        {
+            try
+            {
+                fingerprintManifest.save( new File( workDirectory, FINGERPRINT_MANIFEST_FILE ),
+                                          webapplicationDirectory );
+            }
+            catch ( IOException e )
+            {
+                getLog().warn( "Could not save fingerprint manifest", e );
+            }
+        }
+
+        if ( caching )
+        {
+            try
+            {
+                serializer.toFile( structure, cacheFile );
+            }
+            catch ( IOException e )
+            {
+                getLog().warn( "Could not save webapp structure cache [" + cacheFile + "]", e );
+            }
+        }
 
+        getLog().debug( "Webapp assembled in [" + ( System.currentTimeMillis() - startTime ) + " msecs]" );
+
+    }
+
+    /**
+     * Returns the {@link #materializationMode} to use to build the webapp.
+     *
+     * @return the materialization mode
+     * @throws MojoFailureException if the mode is not supported
+     */
+    protected MaterializationMode getMaterializationMode()
+            throws MojoFailureException
+    {
+        if ( materializationMode == null )
+        {
+            return MaterializationMode.COPY;
+        }
+        try
+        {
+            return MaterializationMode.fromName( materializationMode );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new MojoFailureException( e.getMessage() );
+        }
+    }
+
+    /**
+     * Returns the {@link #catenationSeekStrategy} to use to find the files of the overlays to catenate.
+     *
+     * @return the catenation seek strategy
+     * @throws MojoExecutionException if the strategy is not supported
+     */
+    protected CatenationSeekStrategy getCatenationSeekStrategy()
+            throws MojoExecutionException
+    {
+        try
+        {
+            return CatenationSeekStrategy.fromName( catenationSeekStrategy );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new MojoExecutionException( e.getMessage() );
+        }
+    }
+
+    /**
+     * Returns the catenations to perform: the one defined by {@link #catenatedOutFile}, if any, followed by the
+     * {@link #catenations}.
+     *
+     * @return the catenations
+     * @throws MojoExecutionException if a catenation has no infile or no outFile
+     */
+    protected List<Catenation> getResolvedCatenations()
+            throws MojoExecutionException
+    {
+        final List<Catenation> result = new ArrayList<>();
+        if ( catenatedOutFile != null )
+        {
+            result.add( new Catenation( catenationInfile, catenatedOutFile, catenationFinalizer ) );
+        }
+        if ( catenations != null )
+        {
+            for ( Catenation catenation : catenations )
+            {
+                if ( catenation.getInfile() == null || catenation.getOutFile() == null )
+                {
+                    throw new MojoExecutionException( "Catenation [" + catenation + "] requires an infile and an"
+                        + " outFile" );
+                }
+                result.add( catenation );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the patterns of the files catenated from the overlays.
+     */
+    private String[] getCatenationIncludes()
+            throws MojoExecutionException
+    {
+        final List<String> result = new ArrayList<>();
+        for ( Catenation catenation : getResolvedCatenations() )
+        {
+            if ( catenation.getInfile() != null )
+            {
+                result.add( catenation.getInfile() );
+            }
+        }
+        return result.toArray( new String[result.size()] );
+    }
+
+    /**
+     * Creates the fingerprint manifest according to the {@link #upToDateCheck} mode, loading the entries recorded by
+     * the previous build.
+     *
+     * @return the fingerprint manifest or <tt>null</tt> if the modification dates should be compared
+     * @throws MojoFailureException if the mode is not supported
+     */
+    private FingerprintManifest createFingerprintManifest()
+            throws MojoFailureException
+    {
+        if ( upToDateCheck == null || UP_TO_DATE_CHECK_LAST_MODIFIED.equals( upToDateCheck ) )
+        {
+            return null;
+        }
+        if ( !UP_TO_DATE_CHECK_FINGERPRINT.equals( upToDateCheck ) )
+        {
+            throw new MojoFailureException( "Unsupported upToDateCheck [" + upToDateCheck + "], use ["
+                    + UP_TO_DATE_CHECK_LAST_MODIFIED + "] or [" + UP_TO_DATE_CHECK_FINGERPRINT + "]" );
+        }
+        final FingerprintManifest manifest = new FingerprintManifest();
+        try
+        {
+            manifest.load( new File( workDirectory, FINGERPRINT_MANIFEST_FILE ) );
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Could not read fingerprint manifest, all the files will be copied", e );
+        }
+        return manifest;
+    }
+
+    /**
+     * Returns a <tt>List</tt> of the {@link org.apache.maven.plugins.war.packaging.WarPackagingTask}
+     * instances to invoke to perform the packaging.
+     *
+     * @param overlayManager the overlay manager
+     * @param context the packaging context
+     * @return the list of packaging tasks
+     * @throws MojoExecutionException if the packaging tasks could not be built
+     */
+    private List<WarPackagingTask> getPackagingTasks( OverlayManager overlayManager, WarPackagingContext context )
+            throws MojoExecutionException
+    {
+        final List<WarPackagingTask> packagingTasks = new ArrayList<>();
+        final List<WarPackagingTask> catenationTasks = new ArrayList<>();
+
+        packagingTasks.add( new CopyUserManifestTask() );
+
+        final List<Overlay> resolvedOverlays = overlayManager.getOverlays();
+
+        // 1. Compile the plan: the overlays in the order of the dependency tree, each one once
+        final List<Overlay> plannedOverlays = overlayCoordinates != null
+            ? OverlayPlan.compile( overlayCoordinates, resolvedOverlays ).getOverlays()
+            : OverlayPlan.compile( rootNode, resolvedOverlays ).getOverlays();
+
+        // 2. Resolve the catenations whose inputs changed
+        final List<CatenationTarget> targets = new ArrayList<>();
+        final List<CatenationTarget> finalizerTargets = new ArrayList<>();
+        final List<String[]> catenationIncludes = new ArrayList<>();
+        final List<WarPackagingTask> finishTasks = new ArrayList<>();
+        for ( Catenation resolved : getResolvedCatenations() )
+        {
+            final Catenation catenation = relocate( resolved, context.getWebappDirectory() );
+            // the catenated file is published after the outdated resources are deleted, they must not include it
+            keepCatenatedFile( context, catenation.getOutFile() );
+            final CatenationFingerprint fingerprint = createCatenationFingerprint( catenation, plannedOverlays );
+            if ( fingerprint != null && fingerprint.isUpToDate( catenation.getOutFile() ) )
+            {
+                finishTasks.add( new FinishCatenationTask( null, catenation.getOutFile(), fingerprint ) );
+                continue;
+            }
+            final CatenationSession session =
+                new CatenationSession( new File( catenation.getOutFile().getAbsolutePath() + ".tmpfile" ) );
+            targets.add( new CatenationTarget( session, catenation.getInfile() ) );
+            catenationIncludes.add( new String[] { catenation.getInfile() } );
+            if ( catenation.hasFinalizer() )
+            {
+                finalizerTargets.add( new CatenationTarget( session, catenation.getFinalizer() ) );
+            }
+            finishTasks.add( new FinishCatenationTask( session, catenation.getOutFile(), fingerprint ) );
+        }
+        final CatenationLookup catenationLookup =
+            getCatenationSeekStrategy().createLookup( resolvedOverlays, catenationIncludes );
+
+        // 3. Emit the overlay and catenation tasks of the plan, each overlay is read once for all the catenations
+        final List<WarPackagingTask> overlayCatenationTasks = new ArrayList<>();
+        for ( Overlay overlay : plannedOverlays )
+        {
+            if ( overlay.isCurrentProject() )
+            {
+                catenationTasks.add( new WarProjectPackagingTask( webResources, webXml, containerConfigXML,
+                                                                  currentProjectOverlay ) );
+                continue;
+            }
+            if ( !disableOverlaying )
+            {
+                catenationTasks.add( new OverlayPackagingTask( overlay, currentProjectOverlay ) );
+                getLog().info( " ADD " + overlay.getGroupId() + ":" + overlay.getArtifactId() );
+            }
+            else
+            {
+                getLog().info( "Overlaying disabled: Skipped " + overlay.getArtifactId() );
+            }
+            if ( !targets.isEmpty() )
+            {
+                overlayCatenationTasks.add( new ConfigCatenationTask( overlay, false, catenationLookup, targets ) );
+            }
+        }
+        catenationTasks.addAll( overlayCatenationTasks );
+
+        getLog().info("ADDED "+catenationTasks.size()+" CONFIGS TO PACKAGING");
+        packagingTasks.addAll( catenationTasks );
+
+        // Finalize
+        if ( !targets.isEmpty() )
+        {
+            packagingTasks.add( new ConfigCatenationTask( currentProjectOverlay, true, catenationLookup, targets ) );
+        }
+        if ( !finalizerTargets.isEmpty() )
+        {
+            packagingTasks.add( new ConfigCatenationTask( currentProjectOverlay, true, catenationLookup,
+                    finalizerTargets ) ) ;
+        }
+        packagingTasks.addAll( finishTasks );
+
+        return packagingTasks;
+    }
+
+    /**
+     * Returns the specified catenation publishing its file in the directory the webapp is built in. A file configured
+     * in the {@link #getWebappDirectory() webapp directory} is moved to the same path of that directory, so that a
+     * webapp built in another directory, like the staging directory of a streamed war, holds it as well.
+     *
+     * @param catenation the configured catenation
+     * @param webapplicationDirectory the directory the webapp is built in
+     * @return the catenation to perform
+     */
+    private Catenation relocate( Catenation catenation, File webapplicationDirectory )
+    {
+        if ( webappDirectory == null || webapplicationDirectory == null )
+        {
+            return catenation;
+        }
+        final Path configured = webappDirectory.toPath().toAbsolutePath().normalize();
+        final Path actual = webapplicationDirectory.toPath().toAbsolutePath().normalize();
+        final Path outFile = catenation.getOutFile().toPath().toAbsolutePath().normalize();
+        if ( configured.equals( actual ) || !outFile.startsWith( configured ) )
+        {
+            return catenation;
+        }
+        return new Catenation( catenation.getInfile(), actual.resolve( configured.relativize( outFile ) ).toFile(),
+                               catenation.getFinalizer() );
+    }
+
+    /**
+     * Removes the specified catenated file from the outdated resources and from the fingerprint manifest of the
+     * context, if it is in the webapp directory.
+     *
+     * @param context the packaging context
+     * @param outFile the catenated file
+     */
+    private static void keepCatenatedFile( WarPackagingContext context, File outFile )
+    {
+        final Path root = context.getWebappDirectory().toPath().toAbsolutePath().normalize();
+        final Path path = outFile.toPath().toAbsolutePath().normalize();
+        if ( !path.startsWith( root ) )
+        {
+            return;
+        }
+        final String relativePath = root.relativize( path ).toString();
+        context.getOutdatedResources().remove( relativePath );
+        if ( context.getFingerprintManifest() != null )
+        {
+            context.getFingerprintManifest().remove( relativePath );
+        }
+    }
+
+    /**
+     * Creates the cache of the filtered files, keyed by the inputs of the filters of the specified execution.
+     *
+     * @return the cache or <tt>null</tt> if the inputs could not be read
+     */
+    private FilteredOutputCache createFilteredOutputCache( MavenResourcesExecution execution )
+    {
+        final MavenProject mavenProject = execution.getMavenProject();
+        final StringBuilder inputs = new StringBuilder();
+        final StringBuilder environment = new StringBuilder();
+        try
+        {
+            inputs.append( "escapeString=" ).append( execution.getEscapeString() )
+                .append( "\nmultiLine=" ).append( execution.isSupportMultiLineFiltering() )
+                .append( "\nescapedBackslashesInFilePath=" ).append( execution.isEscapedBackslashesInFilePath() )
+                .append( "\nescapeWindowsPaths=" ).append( execution.isEscapeWindowsPaths() )
+                .append( "\ndelimiters=" ).append( execution.getDelimiters() )
+                .append( "\nbasedir=" ).append( mavenProject.getBasedir() ).append( '\n' );
+            final StringWriter model = new StringWriter();
+            new MavenXpp3Writer().write( model, mavenProject.getModel() );
+            inputs.append( model ).append( '\n' );
+            appendProperties( inputs, mavenProject.getProperties(), null );
+            if ( execution.getFilters() != null )
+            {
+                for ( String filter : execution.getFilters() )
+                {
+                    File file = new File( filter );
+                    if ( !file.isAbsolute() )
+                    {
+                        file = new File( mavenProject.getBasedir(), filter );
+                    }
+                    inputs.append( "filter=" ).append( filter ).append( '\n' );
+                    if ( file.isFile() )
+                    {
+                        inputs.append( new String( Files.readAllBytes( file.toPath() ), StandardCharsets.ISO_8859_1 ) )
+                            .append( '\n' );
+                    }
+                }
+            }
+            if ( session != null )
+            {
+                appendProperties( inputs, session.getUserProperties(), null );
+                appendProperties( inputs, session.getSystemProperties(), environment );
+                if ( session.getSettings() != null )
+                {
+                    final StringWriter settings = new StringWriter();
+                    new SettingsXpp3Writer().write( settings, session.getSettings() );
+                    inputs.append( settings ).append( '\n' );
+                }
+            }
+            else
+            {
+                appendProperties( inputs, System.getProperties(), environment );
+            }
+            for ( Map.Entry<String, String> entry : new TreeMap<>( System.getenv() ).entrySet() )
+            {
+                environment.append( entry.getKey() ).append( '=' ).append( entry.getValue() ).append( '\n' );
+            }
+            return new FilteredOutputCache( new File( workDirectory, FILTERED_OUTPUT_DIRECTORY ), inputs.toString(),
+                                            environment.toString() );
+        }
+        catch ( IOException e )
+        {
+            getLog().warn( "Could not read the filter inputs, the filtered files are not cached: " + e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * Appends the specified properties, sorted. The <tt>env.</tt> properties are appended to <tt>environment</tt>
+     * if set.
+     */
+    private static void appendProperties( StringBuilder builder, Properties properties, StringBuilder environment )
+    {
+        if ( properties == null )
+        {
+            return;
         }
-        catch ( MavenFilteringException e )
+        final Map<String, String> sorted = new TreeMap<>();
+        for ( String name : properties.stringPropertyNames() )
         {
-            getLog().error( "fail to build filtering wrappers " + e.getMessage() );
-            throw new MojoExecutionException( e.getMessage(), e );
+            sorted.put( name, properties.getProperty( name ) );
         }
-
-        final WarPackagingContext context =
-                new DefaultWarPackagingContext( webapplicationDirectory, structure, overlayManager
-                        , defaultFilterWrappers, getNonFilteredFileExtensions(), filteringDeploymentDescriptors
-                        , this.artifactFactory, resourceEncoding, useJvmChmod
-                        , failOnMissingWebXml, catenateConfig, catenatedOutFile, catenationInfile );
-
-        final List<WarPackagingTask> packagingTasks = getPackagingTasks( overlayManager );
-
-        for ( WarPackagingTask warPackagingTask : packagingTasks )
+        for ( Map.Entry<String, String> entry : sorted.entrySet() )
         {
-            warPackagingTask.performPackaging( context );
+            final StringBuilder target =
+                environment != null && entry.getKey().startsWith( "env." ) ? environment : builder;
+            target.append( entry.getKey() ).append( '=' ).append( entry.getValue() ).append( '\n' );
         }
-
-        getLog().debug( "Webapp assembled in [" + ( System.currentTimeMillis() - startTime ) + " msecs]" );
-
     }
 
     /**
-     * Returns a <tt>List</tt> of the {@link org.apache.maven.plugins.war.packaging.WarPackagingTask}
-     * instances to invoke to perform the packaging.
+     * Releases the catenations left open by a build that failed before publishing them.
      *
-     * @param overlayManager the overlay manager
-     * @return the list of packaging tasks
-     * @throws MojoExecutionException if the packaging tasks could not be built
+     * @param packagingTasks the packaging tasks
      */
-    private List<WarPackagingTask> getPackagingTasks( OverlayManager overlayManager )
-            throws MojoExecutionException
+    private void closeCatenations( List<WarPackagingTask> packagingTasks )
     {
-        final List<WarPackagingTask> packagingTasks = new ArrayList<>();
-        final List<WarPackagingTask> catenationTasks = new ArrayList<>();
-
-        packagingTasks.add( new CopyUserManifestTask() );
-
-        final List<Overlay> resolvedOverlays = overlayManager.getOverlays();
-        final HashMap<String, Overlay> overlayMap = new HashMap<>();
-
-        // 1. Create overlay map
-        for ( Overlay overlay : resolvedOverlays )
+        for ( WarPackagingTask task : packagingTasks )
         {
-            overlayMap.put( overlay.getGroupId()
-                    + ":"
-                    + overlay.getArtifactId(), overlay );
+            if ( task instanceof FinishCatenationTask )
+            {
+                final CatenationSession session = ( (FinishCatenationTask) task ).getSession();
+                try
+                {
+                    if ( session != null )
+                    {
+                        session.close();
+                    }
+                }
+                catch ( IOException e )
+                {
+                    getLog().debug( "Could not close catenation: " + e );
+                }
+            }
         }
+    }
 
-        // 2. Build harmonized tree
-        ShallowReference root = new ShallowReference(currentProjectOverlay,rootNode.getArtifact(), rootNode);
-        traverseTree(rootNode, root, overlayMap);
-
+    /**
+     * Builds the {@link WarPackagingTaskGraph} for the specified tasks.
+     *
+     * The tasks updating the webapp structure are chained in their declared order since the first registered owner of
+     * a path wins, and the paths of an overlay are not known before it is read: two overlays, or an overlay and the
+     * current project, never run concurrently. The catenation tasks are chained as well since they append to the same
+     * temporary file, and each of them waits for the packaging task of its overlay which unpacks the files to
+     * catenate, so that they overlap the packaging of the next overlays. The task finishing the catenation waits for
+     * all the previous tasks.
+     *
+     * @param packagingTasks the tasks, in their sequential order
+     * @return the task graph
+     */
+    static WarPackagingTaskGraph createTaskGraph( List<WarPackagingTask> packagingTasks )
+    {
+        final WarPackagingTaskGraph graph = new WarPackagingTaskGraph();
+        final Map<String, WarPackagingTask> overlayTasks = new HashMap<>();
+        WarPackagingTask lastWebappTask = null;
+        WarPackagingTask lastCatenationTask = null;
 
-        // 3. Harvest overlays
-        Harvester overlayHarvester = new Harvester() {
-            @Override
-            public WarPackagingTask harvest(DependencyReference ref, final Overlay overlay) {
-                final WarPackagingTask packagingTask;
-                if ( overlay.isCurrentProject() )
+        for ( WarPackagingTask task : packagingTasks )
+        {
+            final List<WarPackagingTask> dependencies = new ArrayList<>();
+            if ( task instanceof ConfigCatenationTask )
+            {
+                addIfNotNull( dependencies, lastCatenationTask );
+                addIfNotNull( dependencies,
+                              overlayTasks.get( ( (ConfigCatenationTask) task ).getOverlay().getId() ) );
+                lastCatenationTask = task;
+            }
+            else if ( task instanceof FinishCatenationTask )
+            {
+                dependencies.addAll( graph.getTasks() );
+                lastWebappTask = task;
+                lastCatenationTask = task;
+            }
+            else
+            {
+                addIfNotNull( dependencies, lastWebappTask );
+                if ( task instanceof OverlayPackagingTask )
                 {
-                    packagingTask = new WarProjectPackagingTask( webResources, webXml, containerConfigXML,
-                            currentProjectOverlay );
+                    overlayTasks.put( ( (OverlayPackagingTask) task ).getOverlay().getId(), task );
                 }
-                else
+                else if ( task instanceof WarProjectPackagingTask )
                 {
-                    if ( !disableOverlaying )
-                    {
-                        packagingTask = new OverlayPackagingTask( overlay, currentProjectOverlay );
-                    }
-                    else
-                    {
-                        packagingTask = null;
-                        getLog().info( "Overlaying disabled: Skipped " + overlay.getArtifactId() );
-                    }
+                    overlayTasks.put( ( (WarProjectPackagingTask) task ).getCurrentProjectOverlay().getId(), task );
                 }
-                return packagingTask;
-            }
-        };
-        harvestTree(overlayHarvester, root, catenationTasks, overlayMap,"");
-
-        // 4. Harvest catenation tasks
-        final File tmpOutFile = new File(catenatedOutFile.getAbsolutePath()+".tmpfile");
-        Harvester catenationHarvester = new Harvester() {
-            @Override
-            public WarPackagingTask harvest(DependencyReference ref, Overlay overlay) {
-                ConfigCatenationTask task = new ConfigCatenationTask(overlay, false, tmpOutFile, catenationInfile);
-                return task;
+                lastWebappTask = task;
             }
-        };
-        harvestTree(catenationHarvester, root, catenationTasks, overlayMap,"");
-
-        getLog().info("ADDED "+catenationTasks.size()+" CONFIGS TO PACKAGING");
-
-        // Finalize
-        catenationTasks.add( new ConfigCatenationTask( currentProjectOverlay, true, tmpOutFile,
-                catenationInfile ) );
+            graph.addTask( task, dependencies );
+        }
+        return graph;
+    }
 
-        if ( catenationFinalizer != null && !catenationFinalizer.trim().isEmpty() )
+    private static void addIfNotNull( List<WarPackagingTask> tasks, WarPackagingTask task )
+    {
+        if ( task != null )
         {
-            catenationTasks.add( new ConfigCatenationTask( currentProjectOverlay, true, tmpOutFile,
-                    catenationFinalizer ) ) ;
+            tasks.add( task );
         }
-        packagingTasks.addAll( catenationTasks );
-        packagingTasks.add(new FinishCatenationTask(tmpOutFile, catenatedOutFile));
-
-        return packagingTasks;
     }
 
-
-    private void traverseTree(DependencyNode parentNode, DependencyReference refNode, final HashMap<String, Overlay> overlayMap){
-        final List<DependencyNode> children = new ArrayList<>();
-        children.addAll(parentNode.getChildren());
-        List<DependencyReference> childRefs = new LinkedList<>();
-        for (DependencyNode child : children) {
-            Artifact artifact = child.getArtifact();
-            Overlay overlay = overlayMap.get(artifact.getGroupId() + ":" + artifact.getArtifactId());
-            ShallowReference ref = new ShallowReference(overlay, artifact, child);
-
-            getLog().debug( " ADD " + artifact.getGroupId() + ":" + artifact.getArtifactId());
-
-            if (childRefs.contains(ref)){
-                int index = childRefs.indexOf(ref);
-                ShallowReference reference = (ShallowReference) childRefs.get(index);
-                childRefs.remove(index);
-                childRefs.add(index, new DeepReference(artifact, child, reference,overlay));
-            } else {
-                childRefs.add(ref);
+    /**
+     * Computes the fingerprint of the inputs of the specified catenation: its settings, the overlays in catenation
+     * order and the files of the current project.
+     *
+     * @return the fingerprint or <tt>null</tt> if it could not be computed
+     */
+    private CatenationFingerprint createCatenationFingerprint( Catenation catenation, List<Overlay> overlays )
+            throws MojoExecutionException
+    {
+        try
+        {
+            final CatenationFingerprint result =
+                new CatenationFingerprint( new File( workDirectory, CATENATION_FINGERPRINTS_DIRECTORY ),
+                                           catenation.getOutFile(), "infile=" + catenation.getInfile()
+                                               + ";finalizer=" + catenation.getFinalizer() + ";strategy="
+                                               + getCatenationSeekStrategy() );
+            for ( Overlay overlay : overlays )
+            {
+                if ( !overlay.isCurrentProject() )
+                {
+                    result.addOverlay( overlay.getId() + ( overlay.shouldSkip() ? ";skip" : "" ),
+                                       overlay.getArtifact() == null ? null : overlay.getArtifact().getFile() );
+                }
+            }
+            addCatenatedFiles( result, catenation.getInfile() );
+            if ( catenation.hasFinalizer() )
+            {
+                addCatenatedFiles( result, catenation.getFinalizer() );
             }
+            return result;
         }
-        refNode.addChildren(childRefs);
-
-        for (DependencyReference ref: childRefs) {
-            traverseTree(ref.getNode(), ref, overlayMap);
+        catch ( IOException e )
+        {
+            getLog().debug( "Could not compute the fingerprint of [" + catenation + "]: " + e );
+            return null;
         }
     }
 
-    private void harvestTree(Harvester harvester, DependencyReference node, List<WarPackagingTask> list, final HashMap<String, Overlay> overlayMap, String suffix){
-        getLog().debug(suffix +  " ENTER " + node.getArtifact().getGroupId() + ":" + node.getArtifact().getArtifactId());
-
-        for (DependencyReference child : node.getChildren()) {
-                Artifact artifact = child.getArtifact();
-                Overlay overlay = overlayMap.get(artifact.getGroupId() + ":" + artifact.getArtifactId());
-
-                harvestTree(harvester, child, list, overlayMap, "-" + suffix);
-
-                if (overlay != null) {
-                    // ConfigCatenationTask task = new ConfigCatenationTask(overlay, false, outFile, catenationInfile);
-                    WarPackagingTask task = harvester.harvest(child, overlay);
-                    if (task != null && !list.contains(task)) {
-                        if (!list.contains(task)) {
-                            list.add(task);
-                            getLog().info(suffix + " ADD " + overlay.getGroupId() + ":" + overlay.getArtifactId());
-                        }
-                    }
-                }
-
-
+    private void addCatenatedFiles( CatenationFingerprint fingerprint, String includes )
+    {
+        if ( !warSourceDirectory.isDirectory() )
+        {
+            return;
+        }
+        final DirectoryScanner scanner = new DirectoryScanner();
+        scanner.setBasedir( warSourceDirectory );
+        scanner.setIncludes( new String[] { includes } );
+        scanner.addDefaultExcludes();
+        scanner.scan();
+        final String[] files = scanner.getIncludedFiles();
+        Arrays.sort( files );
+        for ( String file : files )
+        {
+            fingerprint.addFile( file, new File( warSourceDirectory, file ) );
         }
-        getLog().debug(suffix + " EXITING " + node.getArtifact().getGroupId() + ":" + node.getArtifact().getArtifactId());
     }
 
     /**
@@ -792,9 +1481,27 @@ public abstract class AbstractWarMojo
 
         private final File catenatedOutFile;
 
-        private final String infile;
+        private final String[] catenationIncludes;
+
+        private final ExecutorService packagingExecutor;
 
+        private final int packagingThreads;
 
+        private final FingerprintManifest fingerprintManifest;
+
+        private final MaterializationMode materializationMode;
+
+        private final WebappEntrySink webappEntrySink;
+
+        private final UnpackCache overlayUnpackCache;
+
+        private final boolean unpackOverlays;
+
+        private final OverlayPrefetcher overlayPrefetcher;
+
+        private final DelimiterScanner delimiterScanner;
+
+        private final FilteredOutputCache filteredOutputCache;
 
         /**
          * @param webappDirectory The web application directory.
@@ -809,7 +1516,17 @@ public abstract class AbstractWarMojo
          * @param failOnMissingWebXml Flag to check whether we should ignore missing web.xml or not
          * @param catenateConfig
          * @param catenatedOutFile
-         * @param infile
+         * @param catenationIncludes the patterns of the files catenated from the overlays
+         * @param packagingExecutor the executor performing file operations or <tt>null</tt>
+         * @param packagingThreads the number of threads of the packaging executor
+         * @param fingerprintManifest the manifest used to check whether files are up to date or <tt>null</tt>
+         * @param materializationMode how the unfiltered files are materialized
+         * @param webappEntrySink the sink receiving the files packaged as is or <tt>null</tt>
+         * @param overlayUnpackCache the cache of unpacked overlays shared with other builds or <tt>null</tt>
+         * @param unpackOverlays whether overlays are unpacked before being copied
+         * @param overlayPrefetcher the prefetcher unpacking the overlays ahead of the tasks or <tt>null</tt>
+         * @param delimiterScanner the scanner of the files holding a filtering expression or <tt>null</tt>
+         * @param filteredOutputCache the cache of the output of the filtered files or <tt>null</tt>
          */
         DefaultWarPackagingContext( final File webappDirectory, final WebappStructure webappStructure,
                                    final OverlayManager overlayManager,
@@ -818,7 +1535,13 @@ public abstract class AbstractWarMojo
                                    boolean filteringDeploymentDescriptors, ArtifactFactory artifactFactory,
                                    String resourceEncoding, boolean useJvmChmod,
                                    final Boolean failOnMissingWebXml, boolean catenateConfig, File catenatedOutFile,
-                                    String infile )
+                                    String[] catenationIncludes, ExecutorService packagingExecutor,
+                                    int packagingThreads,
+                                    FingerprintManifest fingerprintManifest,
+                                    MaterializationMode materializationMode,
+                                    WebappEntrySink webappEntrySink, UnpackCache overlayUnpackCache,
+                                    boolean unpackOverlays, OverlayPrefetcher overlayPrefetcher,
+                                    DelimiterScanner delimiterScanner, FilteredOutputCache filteredOutputCache )
         {
             this.webappDirectory = webappDirectory;
             this.webappStructure = webappStructure;
@@ -831,7 +1554,17 @@ public abstract class AbstractWarMojo
             this.resourceEncoding = resourceEncoding;
             this.catenateConfig = catenateConfig;
             this.catenatedOutFile = catenatedOutFile;
-            this.infile = infile;
+            this.catenationIncludes = catenationIncludes;
+            this.packagingExecutor = packagingExecutor;
+            this.packagingThreads = packagingThreads;
+            this.fingerprintManifest = fingerprintManifest;
+            this.materializationMode = materializationMode;
+            this.webappEntrySink = webappEntrySink;
+            this.overlayUnpackCache = overlayUnpackCache;
+            this.unpackOverlays = unpackOverlays;
+            this.overlayPrefetcher = overlayPrefetcher;
+            this.delimiterScanner = delimiterScanner;
+            this.filteredOutputCache = filteredOutputCache;
             // This is kinda stupid but if we loop over the current overlays and we request the path structure
             // it will register it. This will avoid wrong warning messages in a later phase
             for ( String overlayId : overlayManager.getOverlayIds() )
@@ -852,19 +1585,12 @@ public abstract class AbstractWarMojo
             }
             else
             {
-                outdatedResources = new ArrayList<>();
+                // Copies may be performed concurrently by the packaging executor and each of them removes its
+                // target, hence a concurrent hashed set
+                outdatedResources = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
                 try
                 {
-                    Files.walkFileTree( webappDirectory.toPath(), new SimpleFileVisitor<Path>()
-                    {
-                        @Override
-                        public FileVisitResult visitFile( Path file, BasicFileAttributes attrs )
-                                throws IOException
-                        {
-                            outdatedResources.add( webappDirectory.toPath().relativize( file ).toString() );
-                            return super.visitFile( file, attrs );
-                        }
-                    } );
+                    ParallelDirectoryWalker.collectFiles( webappDirectory, outdatedResources, packagingThreads );
                 }
                 catch ( IOException e )
                 {
@@ -1034,6 +1760,72 @@ public abstract class AbstractWarMojo
         {
             return outdatedResources;
         }
+
+        @Override
+        public ExecutorService getPackagingExecutor()
+        {
+            return packagingExecutor;
+        }
+
+        @Override
+        public int getPackagingThreads()
+        {
+            return packagingThreads;
+        }
+
+        @Override
+        public FingerprintManifest getFingerprintManifest()
+        {
+            return fingerprintManifest;
+        }
+
+        @Override
+        public MaterializationMode getMaterializationMode()
+        {
+            return materializationMode;
+        }
+
+        @Override
+        public WebappEntrySink getWebappEntrySink()
+        {
+            return webappEntrySink;
+        }
+
+        @Override
+        public UnpackCache getOverlayUnpackCache()
+        {
+            return overlayUnpackCache;
+        }
+
+        @Override
+        public boolean isUnpackOverlays()
+        {
+            return unpackOverlays;
+        }
+
+        @Override
+        public OverlayPrefetcher getOverlayPrefetcher()
+        {
+            return overlayPrefetcher;
+        }
+
+        @Override
+        public String[] getCatenationIncludes()
+        {
+            return catenationIncludes.clone();
+        }
+
+        @Override
+        public DelimiterScanner getDelimiterScanner()
+        {
+            return delimiterScanner;
+        }
+
+        @Override
+        public FilteredOutputCache getFilteredOutputCache()
+        {
+            return filteredOutputCache;
+        }
     }
 
     /**
@@ -1362,5 +2154,177 @@ public abstract class AbstractWarMojo
     {
         return catenationInfile;
     }
-}
 
+    /**
+     * @return {@link #catenations}
+     */
+    public List<Catenation> getCatenations()
+    {
+        return catenations;
+    }
+
+    /**
+     * @param catenations {@link #catenations}
+     */
+    public void setCatenations( List<Catenation> catenations )
+    {
+        this.catenations = catenations;
+    }
+
+    /**
+     * @return the number of threads used to copy files, that is {@link #packagingThreads} or the number of available
+     *         processors if it is not set
+     */
+    public int getPackagingThreads()
+    {
+        if ( packagingThreads == null || packagingThreads < 1 )
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return packagingThreads;
+    }
+
+    /**
+     * @param packagingThreads {@link #packagingThreads}
+     */
+    public void setPackagingThreads( Integer packagingThreads )
+    {
+        this.packagingThreads = packagingThreads;
+    }
+
+    /**
+     * @return {@link #taskThreads}
+     */
+    public int getTaskThreads()
+    {
+        return taskThreads;
+    }
+
+    /**
+     * @param taskThreads {@link #taskThreads}
+     */
+    public void setTaskThreads( int taskThreads )
+    {
+        this.taskThreads = taskThreads;
+    }
+
+    /**
+     * @return {@link #useCache}
+     */
+    public boolean isUseCache()
+    {
+        return useCache;
+    }
+
+    /**
+     * @param useCache {@link #useCache}
+     */
+    public void setUseCache( boolean useCache )
+    {
+        this.useCache = useCache;
+    }
+
+    /**
+     * @return {@link #cacheFile}
+     */
+    public File getCacheFile()
+    {
+        return cacheFile;
+    }
+
+    /**
+     * @param cacheFile {@link #cacheFile}
+     */
+    public void setCacheFile( File cacheFile )
+    {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * @return {@link #upToDateCheck}
+     */
+    public String getUpToDateCheck()
+    {
+        return upToDateCheck;
+    }
+
+    /**
+     * @param upToDateCheck {@link #upToDateCheck}
+     */
+    public void setUpToDateCheck( String upToDateCheck )
+    {
+        this.upToDateCheck = upToDateCheck;
+    }
+
+    /**
+     * @param materializationMode {@link #materializationMode}
+     */
+    public void setMaterializationMode( String materializationMode )
+    {
+        this.materializationMode = materializationMode;
+    }
+
+    /**
+     * @return {@link #overlayCacheDirectory}
+     */
+    public File getOverlayCacheDirectory()
+    {
+        return overlayCacheDirectory;
+    }
+
+    /**
+     * @param overlayCacheDirectory {@link #overlayCacheDirectory}
+     */
+    public void setOverlayCacheDirectory( File overlayCacheDirectory )
+    {
+        this.overlayCacheDirectory = overlayCacheDirectory;
+    }
+
+    /**
+     * @return {@link #unpackOverlays}
+     */
+    public boolean isUnpackOverlays()
+    {
+        return unpackOverlays;
+    }
+
+    /**
+     * @param unpackOverlays {@link #unpackOverlays}
+     */
+    public void setUnpackOverlays( boolean unpackOverlays )
+    {
+        this.unpackOverlays = unpackOverlays;
+    }
+
+    /**
+     * @return {@link #prefetchOverlays}
+     */
+    public boolean isPrefetchOverlays()
+    {
+        return prefetchOverlays;
+    }
+
+    /**
+     * @param prefetchOverlays {@link #prefetchOverlays}
+     */
+    public void setPrefetchOverlays( boolean prefetchOverlays )
+    {
+        this.prefetchOverlays = prefetchOverlays;
+    }
+
+    /**
+     * @return {@link #filteredOutputCache}
+     */
+    public boolean isFilteredOutputCache()
+    {
+        return filteredOutputCache;
+    }
+
+    /**
+     * @param filteredOutputCache {@link #filteredOutputCache}
+     */
+    public void setFilteredOutputCache( boolean filteredOutputCache )
+    {
+        this.filteredOutputCache = filteredOutputCache;
+    }
+}
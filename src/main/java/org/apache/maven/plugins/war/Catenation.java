@@ -0,0 +1,121 @@
+package org.apache.maven.plugins.war;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+/**
+ * A configuration file built by catenating the matching files of the overlays, in the order of the dependency tree,
+ * followed by the matching files of the current project.
+ *
+ * @since 3.2.4
+ */
+public class Catenation
+{
+    private String infile;
+
+    private File outFile;
+
+    private String finalizer;
+
+    /**
+     * Create instance.
+     */
+    public Catenation()
+    {
+        super();
+    }
+
+    /**
+     * @param infile {@link #infile}
+     * @param outFile {@link #outFile}
+     * @param finalizer {@link #finalizer}
+     */
+    public Catenation( String infile, File outFile, String finalizer )
+    {
+        this.infile = infile;
+        this.outFile = outFile;
+        this.finalizer = finalizer;
+    }
+
+    /**
+     * @return the pattern of the files to catenate
+     */
+    public String getInfile()
+    {
+        return infile;
+    }
+
+    /**
+     * @param infile {@link #infile}
+     */
+    public void setInfile( String infile )
+    {
+        this.infile = infile;
+    }
+
+    /**
+     * @return the catenated file
+     */
+    public File getOutFile()
+    {
+        return outFile;
+    }
+
+    /**
+     * @param outFile {@link #outFile}
+     */
+    public void setOutFile( File outFile )
+    {
+        this.outFile = outFile;
+    }
+
+    /**
+     * @return the pattern of the files of the current project to catenate last, or <tt>null</tt>
+     */
+    public String getFinalizer()
+    {
+        return finalizer;
+    }
+
+    /**
+     * @param finalizer {@link #finalizer}
+     */
+    public void setFinalizer( String finalizer )
+    {
+        this.finalizer = finalizer;
+    }
+
+    /**
+     * Specifies if files of the current project are catenated last.
+     *
+     * @return true if a finalizer is set
+     */
+    public boolean hasFinalizer()
+    {
+        return finalizer != null && !finalizer.trim().isEmpty();
+    }
+
+    @Override
+    public String toString()
+    {
+        return infile + " -> " + outFile;
+    }
+}
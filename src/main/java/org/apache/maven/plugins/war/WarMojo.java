@@ -21,11 +21,12 @@ package org.apache.maven.plugins.war;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.archiver.MavenArchiver;
 import org.apache.maven.artifact.Artifact;
@@ -37,13 +38,18 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.war.packaging.MaterializationMode;
+import org.apache.maven.plugins.war.packaging.WebappEntrySink;
 import org.apache.maven.plugins.war.util.ClassesPackager;
+import org.apache.maven.plugins.war.util.ClasspathIndex;
+import org.apache.maven.plugins.war.util.WarUtils;
 import org.apache.maven.project.MavenProjectHelper;
 import org.codehaus.plexus.archiver.Archiver;
 import org.codehaus.plexus.archiver.ArchiverException;
 import org.codehaus.plexus.archiver.jar.ManifestException;
 import org.codehaus.plexus.archiver.war.WarArchiver;
 import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.MatchPatterns;
 import org.codehaus.plexus.util.StringUtils;
 
 /**
@@ -57,6 +63,8 @@ import org.codehaus.plexus.util.StringUtils;
 public class WarMojo
     extends AbstractWarMojo
 {
+    private static final String CLASSPATH_INDEX_FILE = "classpath-index.txt";
+
     /**
      * The directory for the generated WAR.
      */
@@ -156,6 +164,21 @@ public class WarMojo
     @Parameter( property = "maven.war.skip", defaultValue = "false" )
     private boolean skip;
 
+    /**
+     * Whether the files that are packaged as is (web resources, overlays, libraries and classes) should be added to
+     * the WAR straight from their location instead of being copied to the webapp directory first. Only the generated
+     * and filtered files are written, to a staging directory in the {@link #getWorkDirectory() work directory}, and
+     * the webapp directory is left untouched.
+     * <p>
+     * Streaming is not used if the classes must be attached without being archived, as they are then packaged from
+     * the webapp directory.
+     * </p>
+     *
+     * @since 3.2.4
+     */
+    @Parameter( property = "maven.war.streaming", defaultValue = "false" )
+    private boolean streaming;
+
     // ----------------------------------------------------------------------
     // Implementation
     // ----------------------------------------------------------------------
@@ -212,7 +235,24 @@ public class WarMojo
     {
         getLog().info( "Packaging webapp" );
 
-        buildExplodedWebapp( getWebappDirectory() );
+        final boolean streamed = isStreaming() && !( isAttachClasses() && !isArchiveClasses() );
+        final File webappDirectory;
+        final Map<String, File> streamedEntries;
+        if ( streamed )
+        {
+            webappDirectory = getStagingDirectory();
+            streamedEntries = buildStreamedWebapp( webappDirectory );
+        }
+        else
+        {
+            if ( isStreaming() )
+            {
+                getLog().info( "Classes are attached from the webapp directory, streaming is disabled" );
+            }
+            webappDirectory = getWebappDirectory();
+            streamedEntries = Collections.emptyMap();
+            buildExplodedWebapp( webappDirectory );
+        }
 
         MavenArchiver archiver = new MavenArchiver();
 
@@ -226,9 +266,27 @@ public class WarMojo
         getLog().debug( "Including " + Arrays.asList( getPackagingIncludes() ) + " in the generated webapp archive." );
         // CHECKSTYLE_ON: LineLength
 
-        warArchiver.addDirectory( getWebappDirectory(), getPackagingIncludes(), getPackagingExcludes() );
+        warArchiver.addDirectory( webappDirectory, getPackagingIncludes(), getPackagingExcludes() );
 
-        final File webXmlFile = new File( getWebappDirectory(), "WEB-INF/web.xml" );
+        File webXmlFile = new File( webappDirectory, "WEB-INF/web.xml" );
+        if ( !streamedEntries.isEmpty() )
+        {
+            final MatchPatterns includes = WarUtils.toMatchPatterns( getPackagingIncludes() );
+            final MatchPatterns excludes = WarUtils.toMatchPatterns( getPackagingExcludes() );
+            for ( Map.Entry<String, File> entry : streamedEntries.entrySet() )
+            {
+                final String name = entry.getKey().replace( '/', File.separatorChar );
+                if ( includes.matches( name, true ) && !excludes.matches( name, true ) )
+                {
+                    warArchiver.addFile( entry.getValue(), entry.getKey() );
+                }
+            }
+            final File streamedWebXml = streamedEntries.get( "WEB-INF/web.xml" );
+            if ( streamedWebXml != null )
+            {
+                webXmlFile = streamedWebXml;
+            }
+        }
         if ( webXmlFile.exists() )
         {
             warArchiver.setWebxml( webXmlFile );
@@ -290,36 +348,87 @@ public class WarMojo
         }
     }
 
+    /**
+     * Builds the webapp in the specified staging directory, collecting the files that are packaged as is rather than
+     * copying them.
+     *
+     * @param stagingDirectory the directory receiving the generated and filtered files
+     * @return the files to package as is, by path relative to the webapp root
+     * @throws IOException if an error occurred while copying files
+     * @throws MojoExecutionException if the execution failed
+     * @throws MojoFailureException if a fatal exception occurred
+     */
+    private Map<String, File> buildStreamedWebapp( File stagingDirectory )
+        throws IOException, MojoExecutionException, MojoFailureException
+    {
+        // the staging directory only holds what the current build generates
+        FileUtils.deleteDirectory( stagingDirectory );
+        stagingDirectory.mkdirs();
+
+        final Map<String, File> entries = Collections.synchronizedMap( new LinkedHashMap<String, File>() );
+        buildWebapp( getProject(), stagingDirectory, new WebappEntrySink()
+        {
+            @Override
+            public void addEntry( File source, String targetFilename )
+            {
+                entries.put( targetFilename.replace( File.separatorChar, '/' ), source );
+            }
+        } );
+        getLog().debug( "Streaming " + entries.size() + " file(s) to the generated webapp archive." );
+        return entries;
+    }
+
     /**
      * Determines if the current Maven project being built uses the Servlet 3.0 API (JSR 315). If it does then the
      * <code>web.xml</code> file can be omitted.
      * <p>
      * This is done by checking if the interface <code>javax.servlet.annotation.WebServlet</code> is in the compile-time
-     * dependencies (which includes provided dependencies) of the Maven project.
+     * dependencies (which includes provided dependencies) of the Maven project. The classes of the dependencies are
+     * looked up in a {@link ClasspathIndex} recorded in the work directory, rather than loaded.
      *
      * @return <code>true</code> if the project being built depends on Servlet 3.0 API, <code>false</code> otherwise.
      * @throws DependencyResolutionRequiredException if the compile elements can't be resolved.
-     * @throws MalformedURLException if the path to a dependency file can't be transformed to a URL.
+     * @throws IOException if a dependency file can't be read.
      */
     private boolean isProjectUsingAtLeastServlet30()
-        throws DependencyResolutionRequiredException, MalformedURLException
+        throws DependencyResolutionRequiredException, IOException
     {
-        List<String> classpathElements = getProject().getCompileClasspathElements();
-        URL[] urls = new URL[classpathElements.size()];
-        for ( int i = 0; i < urls.length; i++ )
+        final List<File> classpathElements = new ArrayList<>();
+        for ( String classpathElement : getProject().getCompileClasspathElements() )
         {
-            urls[i] = new File( classpathElements.get( i ) ).toURI().toURL();
+            classpathElements.add( new File( classpathElement ) );
         }
-        ClassLoader loader = new URLClassLoader( urls, Thread.currentThread().getContextClassLoader() );
+        final ClasspathIndex index = new ClasspathIndex(
+            getWorkDirectory() != null ? new File( getWorkDirectory(), CLASSPATH_INDEX_FILE ) : null );
+        index.index( classpathElements );
         try
         {
-            Class.forName( "javax.servlet.annotation.WebServlet", false, loader );
-            return true;
+            index.save();
         }
-        catch ( ClassNotFoundException e )
+        catch ( IOException e )
         {
-            return false;
+            getLog().warn( "Could not record the classes of the classpath: " + e.getMessage() );
         }
+        return index.containsClass( "javax.servlet.annotation.WebServlet" );
+    }
+
+    /**
+     * The webapp directory is archived, hence it must hold the actual files rather than links to them.
+     *
+     * @return the materialization mode, links being replaced by copies
+     * @throws MojoFailureException if the mode is not supported
+     */
+    @Override
+    protected MaterializationMode getMaterializationMode()
+        throws MojoFailureException
+    {
+        final MaterializationMode mode = super.getMaterializationMode();
+        if ( mode.isLink() )
+        {
+            getLog().info( "Materialization mode [" + mode + "] is not supported when packaging a war, copying files" );
+            return MaterializationMode.COPY;
+        }
+        return mode;
     }
 
     /**
@@ -343,6 +452,14 @@ public class WarMojo
         return new File( basedir, finalName + classifier + "." + type );
     }
 
+    /**
+     * @return The directory holding the generated and filtered files when {@link #streaming} is enabled
+     */
+    protected File getStagingDirectory()
+    {
+        return new File( getWorkDirectory(), "webapp-staging" );
+    }
+
     /**
      * @return The war {@link File}
      */
@@ -556,4 +673,20 @@ public class WarMojo
     {
         return skip;
     }
+
+    /**
+     * @return {@link #streaming}
+     */
+    public boolean isStreaming()
+    {
+        return streaming;
+    }
+
+    /**
+     * @param streaming {@link #streaming}
+     */
+    public void setStreaming( boolean streaming )
+    {
+        this.streaming = streaming;
+    }
 }
@@ -0,0 +1,177 @@
+package org.apache.maven.plugins.war.overlay;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+
+/**
+ * The overlays of a build in the order they are packaged and catenated.
+ *
+ * The plan is compiled in a single pass over the dependency graph: the overlays are ordered after their own
+ * dependencies, and an overlay reachable through several paths is planned once, after the dependencies of its first
+ * occurrence. The war and the classes of a module declared side by side are a single node of the plan, whose
+ * dependencies are the ones of the classes.
+ *
+ * @since 3.2.4
+ */
+public final class OverlayPlan
+{
+    private static final String WAR_TYPE = "war";
+
+    private static final String ZIP_TYPE = "zip";
+
+    private final List<Overlay> overlays;
+
+    private OverlayPlan( List<Overlay> overlays )
+    {
+        this.overlays = Collections.unmodifiableList( overlays );
+    }
+
+    /**
+     * Compiles the plan of the specified overlays.
+     *
+     * @param root the root of the dependency graph, <tt>null</tt> to keep the order of the <tt>overlays</tt>
+     * @param overlays the resolved overlays
+     * @return the plan
+     */
+    public static OverlayPlan compile( DependencyNode root, List<Overlay> overlays )
+    {
+        return compile( root == null ? null : project( root ), overlays );
+    }
+
+    /**
+     * Compiles the plan of the specified overlays from a projection of the dependency graph. The current project is
+     * not part of the graph: it keeps its position in the <tt>overlays</tt>, so that as many overlays take precedence
+     * over it whatever the branch.
+     *
+     * @param coordinates the projection of the graph, see {@link #project(DependencyNode)}, <tt>null</tt> to keep
+     *            the order of the <tt>overlays</tt>
+     * @param overlays the resolved overlays
+     * @return the plan
+     */
+    public static OverlayPlan compile( List<String> coordinates, List<Overlay> overlays )
+    {
+        if ( coordinates == null )
+        {
+            return new OverlayPlan( new ArrayList<>( overlays ) );
+        }
+        final Map<String, Overlay> index = new HashMap<>();
+        Overlay currentProject = null;
+        int currentProjectPosition = 0;
+        for ( Overlay overlay : overlays )
+        {
+            if ( overlay.isCurrentProject() )
+            {
+                currentProject = overlay;
+                currentProjectPosition = index.size();
+            }
+            else
+            {
+                index.put( overlay.getGroupId() + ":" + overlay.getArtifactId(), overlay );
+            }
+        }
+        final List<Overlay> result = new ArrayList<>();
+        for ( String key : coordinates )
+        {
+            final Overlay overlay = index.get( key );
+            if ( overlay != null )
+            {
+                result.add( overlay );
+            }
+        }
+        if ( currentProject != null )
+        {
+            result.add( Math.min( currentProjectPosition, result.size() ), currentProject );
+        }
+        return new OverlayPlan( result );
+    }
+
+    /**
+     * Projects the dependency graph on the coordinates of the artifacts which can be overlays, the war and zip
+     * artifacts, in the order of the plan.
+     *
+     * @param root the root of the dependency graph
+     * @return the <tt>groupId:artifactId</tt> of the war and zip artifacts, each one once
+     */
+    public static List<String> project( DependencyNode root )
+    {
+        final List<String> result = new ArrayList<>();
+        visit( root, new HashSet<String>(), result );
+        return result;
+    }
+
+    /**
+     * Returns the overlays in the order they are packaged.
+     *
+     * @return the overlays, each one once
+     */
+    public List<Overlay> getOverlays()
+    {
+        return overlays;
+    }
+
+    private static void visit( DependencyNode node, Set<String> visited, List<String> result )
+    {
+        // the war and the classes of a module share their key, the classes hold the dependencies
+        final Map<String, DependencyNode> children = new LinkedHashMap<>();
+        final Set<String> overlayable = new HashSet<>();
+        for ( DependencyNode child : node.getChildren() )
+        {
+            final String key = key( child.getArtifact() );
+            final DependencyNode sibling = children.get( key );
+            if ( sibling == null || WAR_TYPE.equals( sibling.getArtifact().getType() ) )
+            {
+                children.put( key, child );
+            }
+            final String type = child.getArtifact().getType();
+            if ( WAR_TYPE.equals( type ) || ZIP_TYPE.equals( type ) )
+            {
+                overlayable.add( key );
+            }
+        }
+        for ( Map.Entry<String, DependencyNode> child : children.entrySet() )
+        {
+            if ( visited.add( child.getKey() ) )
+            {
+                visit( child.getValue(), visited, result );
+                if ( overlayable.contains( child.getKey() ) )
+                {
+                    result.add( child.getKey() );
+                }
+            }
+        }
+    }
+
+    private static String key( Artifact artifact )
+    {
+        return artifact.getGroupId() + ":" + artifact.getArtifactId();
+    }
+}
@@ -20,22 +20,35 @@ package org.apache.maven.plugins.war.packaging;
  */
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 import org.apache.commons.io.input.XmlStreamReader;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.util.DelimiterScanner;
+import org.apache.maven.plugins.war.util.FilteredOutputCache;
+import org.apache.maven.plugins.war.util.FingerprintManifest;
 import org.apache.maven.plugins.war.util.PathSet;
 import org.apache.maven.plugins.war.util.WebappStructure;
 import org.apache.maven.shared.filtering.MavenFilteringException;
 import org.apache.maven.shared.mapping.MappingUtils;
 import org.codehaus.plexus.archiver.ArchiverException;
-import org.codehaus.plexus.archiver.UnArchiver;
 import org.codehaus.plexus.archiver.jar.JarArchiver;
-import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
 import org.codehaus.plexus.interpolation.InterpolationException;
 import org.codehaus.plexus.util.DirectoryScanner;
 import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
 
 /**
  * @author Stephane Nicoll
@@ -77,6 +90,10 @@ public abstract class AbstractWarPackagingTask
      * If the structure of the source directory is not the same as the root of the webapp, use the <tt>targetPrefix</tt>
      * parameter to specify in which particular directory the files should be copied. Use <tt>null</tt> to copy the
      * files with the same structure
+     * 
+     * The files are registered in the webapp structure in the order of the <tt>sourceFilesSet</tt>. Unfiltered files
+     * are then copied on the {@link WarPackagingContext#getPackagingExecutor() packaging executor}, if any; this method
+     * returns once all of them have been copied.
      *
      * @param sourceId the source id
      * @param context the context to use
@@ -90,10 +107,54 @@ public abstract class AbstractWarPackagingTask
     protected void copyFiles( String sourceId, WarPackagingContext context, File sourceBaseDir, PathSet sourceFilesSet,
                               String targetPrefix, boolean filtered )
         throws IOException, MojoExecutionException
+    {
+        copyFiles( sourceId, context, new DirectoryOverlaySource( sourceBaseDir ), sourceFilesSet, targetPrefix,
+                   filtered );
+    }
+
+    /**
+     * Copies the files of the specified source like
+     * {@link #copyFiles(String, WarPackagingContext, File, PathSet, String, boolean)}. The files of a source read
+     * from an archive are extracted to the webapp, they can not be filtered.
+     *
+     * @param sourceId the source id
+     * @param context the context to use
+     * @param source the source of the files
+     * @param sourceFilesSet the files to be copied
+     * @param targetPrefix the prefix to add to the target file name
+     * @param filtered filter or not.
+     * @throws IOException if an error occurred while copying the files
+     * @throws MojoExecutionException if an error occurs.
+     * @since 3.2.4
+     */
+    protected void copyFiles( String sourceId, WarPackagingContext context, OverlaySource source,
+                              PathSet sourceFilesSet, String targetPrefix, boolean filtered )
+        throws IOException, MojoExecutionException
+    {
+        final CopyBatch batch = new CopyBatch( context );
+        try
+        {
+            copyFiles( sourceId, context, source, sourceFilesSet, targetPrefix, filtered, batch );
+            batch.await();
+        }
+        catch ( IOException e )
+        {
+            // a filtering failure of the batch
+            if ( e.getCause() instanceof MojoExecutionException )
+            {
+                throw (MojoExecutionException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void copyFiles( String sourceId, WarPackagingContext context, OverlaySource source,
+                            PathSet sourceFilesSet, String targetPrefix, boolean filtered, CopyBatch batch )
+        throws IOException, MojoExecutionException
     {
         for ( String fileToCopyName : sourceFilesSet.paths() )
         {
-            final File sourceFile = new File( sourceBaseDir, fileToCopyName );
+            final File sourceFile = source.getFile( fileToCopyName );
 
             String destinationFileName;
             if ( targetPrefix == null )
@@ -105,13 +166,17 @@ public abstract class AbstractWarPackagingTask
                 destinationFileName = targetPrefix + fileToCopyName;
             }
 
-            if ( filtered && !context.isNonFilteredExtension( sourceFile.getName() ) )
+            if ( sourceFile == null )
+            {
+                copyEntry( sourceId, context, source, fileToCopyName, destinationFileName, batch );
+            }
+            else if ( filtered && !context.isNonFilteredExtension( sourceFile.getName() ) )
             {
-                copyFilteredFile( sourceId, context, sourceFile, destinationFileName );
+                copyFilteredFile( sourceId, context, sourceFile, destinationFileName, batch );
             }
             else
             {
-                copyFile( sourceId, context, sourceFile, destinationFileName );
+                copyFile( sourceId, context, sourceFile, destinationFileName, batch );
             }
         }
     }
@@ -152,71 +217,60 @@ public abstract class AbstractWarPackagingTask
     protected void copyFile( String sourceId, final WarPackagingContext context, final File file, String targetFilename )
         throws IOException
     // CHECKSTYLE_ON: LineLength
+    {
+        copyFile( sourceId, context, file, targetFilename, null );
+    }
+
+    /**
+     * Copy the specified file if the target location has not yet already been used. The registration is performed
+     * right away while the copy itself is handed to the specified <tt>batch</tt>, if any.
+     *
+     * @param sourceId the source id
+     * @param context the context to use
+     * @param file the file to copy
+     * @param targetFilename the relative path according to the root of the webapp
+     * @param batch the batch performing the copy or <tt>null</tt> to copy the file right away
+     * @throws IOException if an error occurred while copying
+     */
+    private void copyFile( String sourceId, final WarPackagingContext context, final File file,
+                           String targetFilename, final CopyBatch batch )
+        throws IOException
     {
         final File targetFile = new File( context.getWebappDirectory(), targetFilename );
 
         if ( file.isFile() )
         {
-            context.getWebappStructure().registerFile( sourceId, targetFilename,
-           new WebappStructure.RegistrationCallback()
-           {
-               public void registered( String ownerId, String targetFilename )
-                   throws IOException
-               {
-                   copyFile( context, file, targetFile, targetFilename,
-                             false );
-               }
-    
-               public void alreadyRegistered( String ownerId,
-                                              String targetFilename )
-                   throws IOException
-               {
-                   copyFile( context, file, targetFile, targetFilename,
-                             true );
-               }
-    
-               public void refused( String ownerId, String targetFilename,
-                                    String actualOwnerId )
-                   throws IOException
-               {
-                   context.getLog().debug( " - "
-                                               + targetFilename
-                                               + " wasn't copied because it has "
-                                               + "already been packaged for overlay ["
-                                               + actualOwnerId + "]." );
-               }
-    
-               public void superseded( String ownerId,
-                                       String targetFilename,
-                                       String deprecatedOwnerId )
-                   throws IOException
-               {
-                   context.getLog().info( "File ["
-                                              + targetFilename
-                                              + "] belonged to overlay ["
-                                              + deprecatedOwnerId
-                                              + "] so it will be overwritten." );
-                   copyFile( context, file, targetFile, targetFilename,
-                             false );
-               }
-    
-               public void supersededUnknownOwner( String ownerId,
-                                                   String targetFilename,
-                                                   String unknownOwnerId )
-                   throws IOException
-               {
-                   // CHECKSTYLE_OFF: LineLength
-                   context.getLog().warn( "File ["
-                                              + targetFilename
-                                              + "] belonged to overlay ["
-                                              + unknownOwnerId
-                                              + "] which does not exist anymore in the current project. It is recommended to invoke "
-                                              + "clean if the dependencies of the project changed." );
-                   // CHECKSTYLE_ON: LineLength
-                   copyFile( context, file, targetFile, targetFilename,
-                             false );
-               }
-           } );
+            context.getWebappStructure().registerFile( sourceId, targetFilename, new CopyCallback( context )
+            {
+                @Override
+                void copy( String targetFilename, boolean onlyIfModified )
+                    throws IOException
+                {
+                    scheduleCopy( context, file, targetFile, targetFilename, onlyIfModified, batch );
+                }
+
+                @Override
+                public void alreadyRegistered( String ownerId, String targetFilename )
+                    throws IOException
+                {
+                    final WebappStructure structure = context.getWebappStructure();
+                    final Boolean unchanged = structure.isFileUnchanged( targetFilename, file );
+                    // a link left by a previous link build is unchanged, yet it must be replaced by a copy
+                    if ( Boolean.TRUE.equals( unchanged ) && targetFile.isFile()
+                        && !isStaleLink( context, targetFile ) )
+                    {
+                        context.getOutdatedResources().remove( targetFilename.replace( '/', File.separatorChar ) );
+                        structure.registerFileState( targetFilename, file );
+                        context.getLog().debug( " * " + targetFilename + " is unchanged since the previous build." );
+                    }
+                    else
+                    {
+                        // A source known to have changed is copied even if it looks older than its destination,
+                        // unless the fingerprint manifest tells it holds the same content
+                        copy( targetFilename, unchanged == null || context.getFingerprintManifest() != null );
+                    }
+                }
+            } );
         }
         else if ( !targetFile.exists() && !targetFile.mkdirs() )
         {
@@ -224,6 +278,117 @@ public abstract class AbstractWarPackagingTask
         }
     }
 
+    /**
+     * Copies the specified file with {@link #copyFile(WarPackagingContext, File, File, String, boolean)}, either right
+     * away or on the specified <tt>batch</tt>, and records the state of the source in the webapp structure. If the
+     * context has a {@link WarPackagingContext#getWebappEntrySink() sink}, the file is handed to it instead.
+     */
+    private void scheduleCopy( final WarPackagingContext context, final File source, final File destination,
+                               final String targetFilename, final boolean onlyIfModified, CopyBatch batch )
+        throws IOException
+    {
+        final WebappEntrySink sink = context.getWebappEntrySink();
+        if ( sink != null )
+        {
+            sink.addEntry( source, targetFilename );
+            context.getLog().debug( " + " + targetFilename + " will be packaged from " + source + "." );
+        }
+        else if ( batch == null )
+        {
+            copyFile( context, source, destination, targetFilename, onlyIfModified );
+            context.getWebappStructure().registerFileState( targetFilename, source );
+        }
+        else
+        {
+            batch.submit( new CopyBatch.Job()
+            {
+                @Override
+                public void run()
+                    throws IOException
+                {
+                    copyFile( context, source, destination, targetFilename, onlyIfModified );
+                    context.getWebappStructure().registerFileState( targetFilename, source );
+                }
+            } );
+        }
+    }
+
+    /**
+     * Extracts the specified entry of the <tt>source</tt> if the target location has not yet already been used. The
+     * registration is performed right away while the extraction itself is handed to the specified <tt>batch</tt>.
+     */
+    private void copyEntry( String sourceId, final WarPackagingContext context, final OverlaySource source,
+                            final String path, String targetFilename, final CopyBatch batch )
+        throws IOException
+    {
+        final File targetFile = new File( context.getWebappDirectory(), targetFilename );
+        context.getWebappStructure().registerFile( sourceId, targetFilename, new CopyCallback( context )
+        {
+            @Override
+            void copy( final String targetFilename, final boolean onlyIfModified )
+                throws IOException
+            {
+                final CopyBatch.Job job = new CopyBatch.Job()
+                {
+                    @Override
+                    public void run()
+                        throws IOException
+                    {
+                        extract( context, source, path, targetFile, targetFilename, onlyIfModified );
+                    }
+                };
+                if ( batch == null )
+                {
+                    job.run();
+                }
+                else
+                {
+                    batch.submit( job );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Writes the content of the file of the <tt>source</tt> at the specified <tt>path</tt> to the
+     * <tt>destination</tt>, unless <tt>onlyIfModified</tt> is set and the destination is not older than the file.
+     */
+    private static void extract( WarPackagingContext context, OverlaySource source, String path, File destination,
+                                 String targetFilename, boolean onlyIfModified )
+        throws IOException
+    {
+        context.getOutdatedResources().remove( targetFilename.replace( '/', File.separatorChar ) );
+
+        final long lastModified = source.getLastModified( path );
+        if ( onlyIfModified && !isStaleLink( context, destination ) && destination.isFile() && lastModified > 0
+            && destination.lastModified() >= lastModified )
+        {
+            context.getLog().debug( " * " + targetFilename + " is up to date." );
+            return;
+        }
+
+        unlink( destination );
+        final File parent = destination.getParentFile();
+        if ( parent != null && !parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory() )
+        {
+            throw new IOException( "Could not create directory " + parent.getAbsolutePath() );
+        }
+        try ( InputStream in = source.openStream( path ); OutputStream out = new FileOutputStream( destination ) )
+        {
+            IOUtil.copy( in, out );
+        }
+        if ( lastModified > 0 )
+        {
+            destination.setLastModified( lastModified );
+        }
+        // the fingerprint of a file copied by a previous build does not apply anymore
+        if ( context.getFingerprintManifest() != null )
+        {
+            context.getFingerprintManifest().remove( targetFilename );
+        }
+        context.getLog().debug( " + " + targetFilename + " has been extracted." );
+    }
+
     /**
      * Copy the specified file if the target location has not yet already been used and filter its content with the
      * configured filter properties.
@@ -241,38 +406,47 @@ public abstract class AbstractWarPackagingTask
     protected boolean copyFilteredFile( String sourceId, final WarPackagingContext context, File file,
                                         String targetFilename )
         throws IOException, MojoExecutionException
+    {
+        return copyFilteredFile( sourceId, context, file, targetFilename, null );
+    }
+
+    /**
+     * Registers the specified file like {@link #copyFilteredFile(String, WarPackagingContext, File, String)}, on the
+     * calling thread, and submits its filtering to the batch.
+     *
+     * @param batch the batch performing the filtering, <tt>null</tt> to filter the file on the calling thread
+     */
+    private boolean copyFilteredFile( String sourceId, final WarPackagingContext context, final File file,
+                                      final String targetFilename, CopyBatch batch )
+        throws IOException, MojoExecutionException
     {
         context.getOutdatedResources().remove( targetFilename.replace( '/', File.separatorChar ) );
 
         if ( context.getWebappStructure().registerFile( sourceId, targetFilename ) )
         {
-            final File targetFile = new File( context.getWebappDirectory(), targetFilename );
-            final String encoding;
-            try
+            if ( batch == null )
             {
-                if ( isXmlFile( file ) )
-                {
-                    // For xml-files we extract the encoding from the files
-                    encoding = getEncoding( file );
-                }
-                else
-                {
-                    // For all others we use the configured encoding
-                    encoding = context.getResourceEncoding();
-                }
-                // fix for MWAR-36, ensures that the parent dir are created first
-                targetFile.getParentFile().mkdirs();
-
-                context.getMavenFileFilter().copyFile( file, targetFile, true, context.getFilterWrappers(), encoding );
+                writeFilteredFile( context, file, targetFilename );
             }
-            catch ( MavenFilteringException e )
+            else
             {
-                throw new MojoExecutionException( e.getMessage(), e );
+                batch.submit( new CopyBatch.Job()
+                {
+                    @Override
+                    public void run()
+                        throws IOException
+                    {
+                        try
+                        {
+                            writeFilteredFile( context, file, targetFilename );
+                        }
+                        catch ( MojoExecutionException e )
+                        {
+                            throw new IOException( e.getMessage(), e );
+                        }
+                    }
+                } );
             }
-            // CHECKSTYLE_OFF: LineLength
-            // Add the file to the protected list
-            context.getLog().debug( " + " + targetFilename + " has been copied (filtered encoding='" + encoding + "')." );
-            // CHECKSTYLE_ON: LineLength
             return true;
         }
         else
@@ -283,6 +457,148 @@ public abstract class AbstractWarPackagingTask
         }
     }
 
+    private void writeFilteredFile( WarPackagingContext context, File file, String targetFilename )
+        throws IOException, MojoExecutionException
+    {
+        final File targetFile = new File( context.getWebappDirectory(), targetFilename );
+        unlink( targetFile );
+        final String encoding;
+        try
+        {
+            if ( isXmlFile( file ) )
+            {
+                // For xml-files we extract the encoding from the files
+                encoding = getEncoding( file );
+            }
+            else
+            {
+                // For all others we use the configured encoding
+                encoding = context.getResourceEncoding();
+            }
+            // fix for MWAR-36, ensures that the parent dir are created first
+            targetFile.getParentFile().mkdirs();
+
+            filterFile( context, file, targetFile, encoding );
+        }
+        catch ( MavenFilteringException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+        // CHECKSTYLE_OFF: LineLength
+        // Add the file to the protected list
+        context.getLog().debug( " + " + targetFilename + " has been copied (filtered encoding='" + encoding + "')." );
+        // CHECKSTYLE_ON: LineLength
+    }
+
+    /**
+     * Filters the specified file to the target file, overwriting it. The output recorded in the
+     * {@link WarPackagingContext#getFilteredOutputCache() filtered output cache} is copied if any, and a file without
+     * expression is copied as is.
+     *
+     * @param context the context to use
+     * @param file the file to filter
+     * @param targetFile the target file
+     * @param encoding the encoding of the file
+     * @throws IOException if an error occurred while copying the file
+     * @throws MavenFilteringException if an error occurred while filtering the file
+     * @since 3.2.4
+     */
+    protected void filterFile( WarPackagingContext context, File file, File targetFile, String encoding )
+        throws IOException, MavenFilteringException
+    {
+        final FilteredOutputCache cache = context.getFilteredOutputCache();
+        final String key = cache == null ? null : cache.getKey( file, encoding );
+        if ( key != null && cache.restore( key, targetFile ) )
+        {
+            return;
+        }
+        final DelimiterScanner scanner = context.getDelimiterScanner();
+        if ( scanner != null && scanner.supports( encoding ) && !scanner.hasBeginToken( file ) )
+        {
+            // nothing to filter, the filters would leave the content unchanged
+            Files.copy( file.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        }
+        else
+        {
+            context.getMavenFileFilter().copyFile( file, targetFile, true, context.getFilterWrappers(), encoding );
+        }
+        if ( key != null )
+        {
+            cache.store( key, targetFile );
+        }
+    }
+
+    /**
+     * Opens the content of the specified overlay. The overlay is read from its archive if the context does not
+     * {@link WarPackagingContext#isUnpackOverlays() unpack overlays}, unless <tt>requireFiles</tt> is set or the files
+     * are handed to a {@link WarPackagingContext#getWebappEntrySink() sink}; it is unpacked otherwise.
+     *
+     * @param context the packaging context
+     * @param overlay the overlay
+     * @param requireFiles whether the content must be available as files, to filter it for instance
+     * @return the content of the overlay, to be closed by the caller
+     * @throws MojoExecutionException if an error occurred while unpacking the overlay
+     * @since 3.2.4
+     */
+    protected OverlaySource openOverlaySource( WarPackagingContext context, Overlay overlay, boolean requireFiles )
+        throws MojoExecutionException
+    {
+        if ( isReadFromArchive( context, overlay, requireFiles ) )
+        {
+            try
+            {
+                return new ArchiveOverlaySource( overlay.getArtifact().getFile() );
+            }
+            catch ( IOException e )
+            {
+                context.getLog().debug( "Overlay [" + overlay + "] could not be read as an archive (" + e
+                    + "), unpacking it" );
+            }
+        }
+        return new DirectoryOverlaySource( unpackOverlay( context, overlay ) );
+    }
+
+    /**
+     * Specifies if the files of the specified overlay are read straight from its archive rather than unpacked.
+     *
+     * @see #openOverlaySource(WarPackagingContext, Overlay, boolean)
+     */
+    static boolean isReadFromArchive( WarPackagingContext context, Overlay overlay, boolean requireFiles )
+    {
+        return !requireFiles && !context.isUnpackOverlays() && context.getWebappEntrySink() == null
+            && context.getOverlayUnpackCache() == null && overlay.getArtifact().getFile().isFile();
+    }
+
+    /**
+     * Unpacks the specified overlay.
+     * 
+     * Makes sure to skip the unpack process if the overlay has already been unpacked. If the context has a
+     * {@link WarPackagingContext#getOverlayUnpackCache() shared unpack cache}, the overlay is unpacked there.
+     * 
+     * Only the files matching the includes and excludes of the overlay, or that may be catenated, are unpacked. Files
+     * whose target path is already owned by another source are not unpacked either in the overlays work directory.
+     * 
+     * If the overlay has been {@link WarPackagingContext#getOverlayPrefetcher() prefetched}, its directory is used
+     * once unpacked.
+     *
+     * @param context the packaging context
+     * @param overlay the overlay
+     * @return the directory containing the unpacked overlay
+     * @throws MojoExecutionException if an error occurred while unpacking the overlay
+     */
+    protected File unpackOverlay( final WarPackagingContext context, Overlay overlay )
+        throws MojoExecutionException
+    {
+        final OverlayPrefetcher prefetcher = context.getOverlayPrefetcher();
+        final File prefetched = prefetcher == null ? null : prefetcher.await( overlay );
+        if ( prefetched != null )
+        {
+            context.getLog().debug( "Overlay [" + overlay + "] was prefetched in [" + prefetched + "]" );
+            return prefetched;
+        }
+        return OverlayUnpacker.unpack( context, overlay, true );
+    }
+
     /**
      * Unpacks the specified file to the specified directory.
      *
@@ -294,33 +610,15 @@ public abstract class AbstractWarPackagingTask
     protected void doUnpack( WarPackagingContext context, File file, File unpackDirectory )
         throws MojoExecutionException
     {
-        String archiveExt = FileUtils.getExtension( file.getAbsolutePath() ).toLowerCase();
-
-        try
-        {
-            UnArchiver unArchiver = context.getArchiverManager().getUnArchiver( archiveExt );
-            unArchiver.setSourceFile( file );
-            unArchiver.setDestDirectory( unpackDirectory );
-            unArchiver.setOverwrite( true );
-            unArchiver.extract();
-        }
-        catch ( ArchiverException e )
-        {
-            throw new MojoExecutionException( "Error unpacking file [" + file.getAbsolutePath() + "]" + " to ["
-                + unpackDirectory.getAbsolutePath() + "]", e );
-        }
-        catch ( NoSuchArchiverException e )
-        {
-            context.getLog().warn( "Skip unpacking dependency file [" + file.getAbsolutePath()
-                                       + " with unknown extension [" + archiveExt + "]" );
-        }
+        OverlayUnpacker.extract( context, file, unpackDirectory, null );
     }
 
     /**
      * Copy file from source to destination. The directories up to <code>destination</code> will be created if they
      * don't already exist. if the <code>onlyIfModified</code> flag is <tt>false</tt>, <code>destination</code> will be
      * overwritten if it already exists. If the flag is <tt>true</tt> destination will be overwritten if it's not up to
-     * date.
+     * date, according to the {@link WarPackagingContext#getFingerprintManifest() fingerprint manifest} if any or to
+     * the modification dates of the files otherwise.
      *
      * @param context the packaging context
      * @param source an existing non-directory <code>File</code> to copy bytes from
@@ -337,7 +635,9 @@ public abstract class AbstractWarPackagingTask
     {
         context.getOutdatedResources().remove( targetFilename.replace( '/', File.separatorChar ) );
 
-        if ( onlyIfModified && destination.lastModified() >= source.lastModified() )
+        final FingerprintManifest manifest = source.isDirectory() ? null : context.getFingerprintManifest();
+        if ( onlyIfModified && !isStaleLink( context, destination )
+            && isUpToDate( manifest, source, destination, targetFilename ) )
         {
             context.getLog().debug( " * " + targetFilename + " is up to date." );
             return false;
@@ -366,13 +666,177 @@ public abstract class AbstractWarPackagingTask
             }
             else
             {
-                FileUtils.copyFile( source.getCanonicalFile(), destination );
-                // preserve timestamp
-                destination.setLastModified( source.lastModified() );
-                context.getLog().debug( " + " + targetFilename + " has been copied." );
+                materialize( context, source, destination, targetFilename );
+                if ( manifest != null )
+                {
+                    manifest.record( targetFilename, source, destination );
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes the content of the <tt>source</tt> file to the <tt>destination</tt> according to the
+     * {@link WarPackagingContext#getMaterializationMode() materialization mode}. A link that can not be created is
+     * replaced by a copy.
+     */
+    private void materialize( WarPackagingContext context, File source, File destination, String targetFilename )
+        throws IOException
+    {
+        final File canonicalSource = source.getCanonicalFile();
+        final MaterializationMode mode = context.getMaterializationMode();
+        unlink( destination );
+        if ( mode != null && mode.isLink() && isLinkable( context, canonicalSource, targetFilename ) )
+        {
+            final Path link = destination.toPath();
+            try
+            {
+                Files.createDirectories( link.getParent() );
+                Files.deleteIfExists( link );
+                if ( mode == MaterializationMode.HARDLINK )
+                {
+                    Files.createLink( link, canonicalSource.toPath() );
+                }
+                else
+                {
+                    Files.createSymbolicLink( link, canonicalSource.toPath() );
+                }
+                context.getLog().debug( " + " + targetFilename + " has been linked (" + mode + ")." );
+                return;
+            }
+            catch ( IOException | UnsupportedOperationException e )
+            {
+                context.getLog().debug( " + " + targetFilename + " could not be linked (" + e + "), copying it." );
             }
+        }
+
+        if ( mode == MaterializationMode.TRANSFER )
+        {
+            transfer( canonicalSource, destination );
+        }
+        else
+        {
+            FileUtils.copyFile( canonicalSource, destination );
+        }
+        // preserve timestamp
+        destination.setLastModified( source.lastModified() );
+        context.getLog().debug( " + " + targetFilename + " has been copied." );
+    }
+
+    /**
+     * Specifies if the <tt>destination</tt> is a symbolic or hard link while the files are no longer linked: it has to
+     * be copied again, so that editing the webapp does not modify the source of a previous build.
+     */
+    private static boolean isStaleLink( WarPackagingContext context, File destination )
+    {
+        final MaterializationMode mode = context.getMaterializationMode();
+        if ( mode != null && mode.isLink() )
+        {
+            return false;
+        }
+        final Path path = destination.toPath();
+        return Files.isSymbolicLink( path ) || isHardLink( path );
+    }
+
+    /**
+     * Specifies if the specified <tt>source</tt> may be linked: libraries are only linked if they come from the local
+     * repository, where they are not rebuilt.
+     */
+    private static boolean isLinkable( WarPackagingContext context, File source, String targetFilename )
+    {
+        if ( !targetFilename.replace( File.separatorChar, '/' ).startsWith( LIB_PATH ) )
+        {
             return true;
         }
+        final MavenSession session = context.getSession();
+        if ( session == null || session.getLocalRepository() == null
+            || session.getLocalRepository().getBasedir() == null )
+        {
+            return false;
+        }
+        try
+        {
+            final String localRepository = new File( session.getLocalRepository().getBasedir() ).getCanonicalPath();
+            return source.getCanonicalPath().startsWith( localRepository + File.separator );
+        }
+        catch ( IOException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the specified file if it is a symbolic link or if it shares its content with another file, so that
+     * writing to it does not modify the source of a previous build.
+     *
+     * @param file the file that is about to be written
+     * @throws IOException if the link could not be deleted
+     */
+    protected static void unlink( File file )
+        throws IOException
+    {
+        final Path path = file.toPath();
+        if ( Files.isSymbolicLink( path ) )
+        {
+            Files.delete( path );
+            return;
+        }
+        if ( file.isFile() && isHardLink( path ) )
+        {
+            Files.delete( path );
+        }
+    }
+
+    /**
+     * Specifies if the specified regular file shares its content with another file.
+     */
+    private static boolean isHardLink( Path path )
+    {
+        try
+        {
+            final Object links = Files.getAttribute( path, "unix:nlink", LinkOption.NOFOLLOW_LINKS );
+            return links instanceof Integer && (Integer) links > 1;
+        }
+        catch ( IOException | UnsupportedOperationException | IllegalArgumentException e )
+        {
+            // no link count on this file system, or no file
+            return false;
+        }
+    }
+
+    private static void transfer( File source, File destination )
+        throws IOException
+    {
+        final File parent = destination.getParentFile();
+        if ( parent != null && !parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory() )
+        {
+            throw new IOException( "Could not create directory " + parent.getAbsolutePath() );
+        }
+        try ( FileChannel in = new FileInputStream( source ).getChannel();
+              FileChannel out = new FileOutputStream( destination ).getChannel() )
+        {
+            final long size = in.size();
+            long position = 0;
+            while ( position < size )
+            {
+                position += in.transferTo( position, size - position, out );
+            }
+        }
+    }
+
+    /**
+     * Specifies if the <tt>destination</tt> file is up to date with its <tt>source</tt>. Uses the specified
+     * <tt>manifest</tt>, if any, or compares the modification dates of the files otherwise.
+     */
+    private boolean isUpToDate( FingerprintManifest manifest, File source, File destination, String targetFilename )
+        throws IOException
+    {
+        if ( manifest == null )
+        {
+            return destination.lastModified() >= source.lastModified();
+        }
+        return manifest.isUpToDate( targetFilename, source, destination );
     }
 
     /**
@@ -416,6 +880,16 @@ public abstract class AbstractWarPackagingTask
     // CHECKSTYLE_OFF: LineLength
     protected PathSet getFilesToIncludes( File baseDir, String[] includes, String[] excludes, boolean includeDirectories )
     // CHECKSTYLE_ON: LineLength
+    {
+        return scanFiles( baseDir, includes, excludes, includeDirectories );
+    }
+
+    /**
+     * Scans the specified directory.
+     *
+     * @see #getFilesToIncludes(File, String[], String[], boolean)
+     */
+    static PathSet scanFiles( File baseDir, String[] includes, String[] excludes, boolean includeDirectories )
     {
         final DirectoryScanner scanner = new DirectoryScanner();
         scanner.setBasedir( baseDir );
@@ -489,4 +963,76 @@ public abstract class AbstractWarPackagingTask
     {
         return file != null && file.isFile() && file.getName().endsWith( ".xml" );
     }
+
+    /**
+     * Copies a file once its registration is known, logging the files that are not copied or that replace the file of
+     * another overlay.
+     */
+    private abstract static class CopyCallback
+        implements WebappStructure.RegistrationCallback
+    {
+        private final WarPackagingContext context;
+
+        CopyCallback( WarPackagingContext context )
+        {
+            this.context = context;
+        }
+
+        /**
+         * Copies the file to the specified target.
+         *
+         * @param targetFilename the relative path according to the root of the webapp
+         * @param onlyIfModified if true, copy the file only if the source has changed
+         * @throws IOException if an error occurred while copying
+         */
+        abstract void copy( String targetFilename, boolean onlyIfModified )
+            throws IOException;
+
+        public void registered( String ownerId, String targetFilename )
+            throws IOException
+        {
+            copy( targetFilename, false );
+        }
+
+        public void alreadyRegistered( String ownerId, String targetFilename )
+            throws IOException
+        {
+            copy( targetFilename, true );
+        }
+
+        public void refused( String ownerId, String targetFilename, String actualOwnerId )
+            throws IOException
+        {
+            context.getLog().debug( " - "
+                                        + targetFilename
+                                        + " wasn't copied because it has "
+                                        + "already been packaged for overlay ["
+                                        + actualOwnerId + "]." );
+        }
+
+        public void superseded( String ownerId, String targetFilename, String deprecatedOwnerId )
+            throws IOException
+        {
+            context.getLog().info( "File ["
+                                       + targetFilename
+                                       + "] belonged to overlay ["
+                                       + deprecatedOwnerId
+                                       + "] so it will be overwritten." );
+            copy( targetFilename, false );
+        }
+
+        public void supersededUnknownOwner( String ownerId, String targetFilename, String unknownOwnerId )
+            throws IOException
+        {
+            // CHECKSTYLE_OFF: LineLength
+            context.getLog().warn( "File ["
+                                       + targetFilename
+                                       + "] belonged to overlay ["
+                                       + unknownOwnerId
+                                       + "] which does not exist anymore in the current project. It is recommended to invoke "
+                                       + "clean if the dependencies of the project changed." );
+            // CHECKSTYLE_ON: LineLength
+            copy( targetFilename, false );
+        }
+    }
 }
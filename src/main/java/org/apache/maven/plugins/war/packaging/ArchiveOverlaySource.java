@@ -0,0 +1,145 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.plugins.war.util.PathSet;
+import org.apache.maven.plugins.war.util.WarUtils;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.MatchPatterns;
+
+/**
+ * An overlay read from its archive: the files are listed from the central directory of the archive and only the
+ * selected entries are read.
+ *
+ * @since 3.2.4
+ */
+final class ArchiveOverlaySource
+    implements OverlaySource
+{
+    private final ZipFile zipFile;
+
+    /**
+     * @param archive the archive of the overlay
+     * @throws IOException if the archive could not be opened
+     */
+    ArchiveOverlaySource( File archive )
+        throws IOException
+    {
+        this.zipFile = new ZipFile( archive );
+    }
+
+    @Override
+    public PathSet getFiles( String[] includes, String[] excludes )
+    {
+        final MatchPatterns includePatterns = WarUtils.toMatchPatterns(
+            includes != null && includes.length > 0 ? includes : AbstractWarPackagingTask.DEFAULT_INCLUDES );
+        final MatchPatterns defaultExcludePatterns = WarUtils.toMatchPatterns( DirectoryScanner.DEFAULTEXCLUDES );
+        final MatchPatterns excludePatterns = WarUtils.toMatchPatterns( excludes != null ? excludes : new String[0] );
+
+        final PathSet result = new PathSet();
+        final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while ( entries.hasMoreElements() )
+        {
+            final ZipEntry entry = entries.nextElement();
+            if ( entry.isDirectory() || !isSafe( entry.getName() ) )
+            {
+                continue;
+            }
+            final String name = entry.getName().replace( '/', File.separatorChar );
+            if ( includePatterns.matches( name, true ) && !defaultExcludePatterns.matches( name, true )
+                && !excludePatterns.matches( name, true ) )
+            {
+                result.add( entry.getName() );
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isFile( String path )
+    {
+        final ZipEntry entry = getEntry( path );
+        return entry != null && !entry.isDirectory();
+    }
+
+    @Override
+    public File getFile( String path )
+    {
+        return null;
+    }
+
+    @Override
+    public long getLastModified( String path )
+    {
+        final ZipEntry entry = getEntry( path );
+        return entry == null ? 0 : Math.max( 0, entry.getTime() );
+    }
+
+    @Override
+    public InputStream openStream( String path )
+        throws IOException
+    {
+        final ZipEntry entry = getEntry( path );
+        if ( entry == null )
+        {
+            throw new FileNotFoundException( path + " not found in " + zipFile.getName() );
+        }
+        return zipFile.getInputStream( entry );
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        zipFile.close();
+    }
+
+    private ZipEntry getEntry( String path )
+    {
+        return zipFile.getEntry( path.replace( File.separatorChar, '/' ) );
+    }
+
+    /**
+     * Specifies if the specified entry name stays within the webapp once extracted.
+     */
+    private static boolean isSafe( String name )
+    {
+        if ( name.startsWith( "/" ) || name.startsWith( "\\" ) )
+        {
+            return false;
+        }
+        for ( String segment : name.replace( '\\', '/' ).split( "/" ) )
+        {
+            if ( "..".equals( segment ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -20,8 +20,10 @@ package org.apache.maven.plugins.war.packaging;
  */
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -80,11 +82,13 @@ public class ArtifactsPackagingTask
         try
         {
             final ScopeArtifactFilter filter = new ScopeArtifactFilter( Artifact.SCOPE_RUNTIME );
-            final List<String> duplicates = findDuplicates( context, artifacts );
+            final Map<Artifact, String> finalNames = getArtifactFinalNames( context, artifacts );
+            final Set<String> duplicates = findDuplicates( finalNames.values() );
 
-            for ( Artifact artifact : artifacts )
+            for ( Map.Entry<Artifact, String> entry : finalNames.entrySet() )
             {
-                String targetFileName = getArtifactFinalName( context, artifact );
+                final Artifact artifact = entry.getKey();
+                String targetFileName = entry.getValue();
 
                 context.getLog().debug( "Processing: " + targetFileName );
 
@@ -159,28 +163,39 @@ public class ArtifactsPackagingTask
     }
 
     /**
-     * Searches a set of artifacts for duplicate filenames and returns a list of duplicates.
+     * Computes the final name of each artifact once, in the order of the artifacts.
      *
      * @param context the packaging context
      * @param artifacts set of artifacts
-     * @return List of duplicated artifacts as bundling file names
+     * @return the final name of each artifact
      */
-    private List<String> findDuplicates( WarPackagingContext context, Set<Artifact> artifacts )
+    private Map<Artifact, String> getArtifactFinalNames( WarPackagingContext context, Set<Artifact> artifacts )
         throws InterpolationException
     {
-        List<String> duplicates = new ArrayList<>();
-        List<String> identifiers = new ArrayList<>();
+        final Map<Artifact, String> result = new LinkedHashMap<>( artifacts.size() * 4 / 3 + 1 );
         for ( Artifact artifact : artifacts )
         {
-            String candidate = getArtifactFinalName( context, artifact );
-            if ( identifiers.contains( candidate ) )
+            result.put( artifact, getArtifactFinalName( context, artifact ) );
+        }
+        return result;
+    }
+
+    /**
+     * Searches the final names of a set of artifacts for duplicates.
+     *
+     * @param finalNames the final names of the artifacts
+     * @return the final names used by more than one artifact
+     */
+    private Set<String> findDuplicates( Collection<String> finalNames )
+    {
+        final Set<String> duplicates = new HashSet<>();
+        final Set<String> identifiers = new HashSet<>( finalNames.size() * 4 / 3 + 1 );
+        for ( String candidate : finalNames )
+        {
+            if ( !identifiers.add( candidate ) )
             {
                 duplicates.add( candidate );
             }
-            else
-            {
-                identifiers.add( candidate );
-            }
         }
         return duplicates;
     }
@@ -0,0 +1,47 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.util.PathSet;
+
+/**
+ * Finds the files of an overlay to catenate.
+ *
+ * @see CatenationSeekStrategy
+ * @since 3.2.4
+ */
+public interface CatenationLookup
+{
+    /**
+     * Returns the candidate paths of the files of the specified overlay matching the <tt>includes</tt>. The
+     * catenation task only appends the candidates that are files of the overlay.
+     *
+     * @param context the packaging context
+     * @param overlay the overlay
+     * @param includes the patterns of the files to catenate
+     * @return the candidate paths, relative to the root of the overlay
+     * @throws IOException if the files could not be looked up
+     */
+    PathSet getFiles( WarPackagingContext context, Overlay overlay, String[] includes )
+        throws IOException;
+}
@@ -0,0 +1,97 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.maven.plugins.war.Overlay;
+
+/**
+ * How the files of the overlays to catenate are found.
+ *
+ * @since 3.2.4
+ */
+public enum CatenationSeekStrategy
+{
+    /**
+     * The webapp source directory is scanned for every overlay, and the matching paths are looked up in the overlay.
+     */
+    SCAN
+    {
+        @Override
+        public CatenationLookup createLookup( List<Overlay> overlays, List<String[]> includes )
+        {
+            return new ScanCatenationLookup();
+        }
+    },
+
+    /**
+     * The matching entries of all the overlays are indexed once from the central directories of their archives, for
+     * all the catenations of the build, and only those whose path also exists in the webapp source directory are kept,
+     * as with {@link #SCAN}. Overlays that are not archives are scanned.
+     */
+    INDEX
+    {
+        @Override
+        public CatenationLookup createLookup( List<Overlay> overlays, List<String[]> includes )
+        {
+            return new IndexedCatenationLookup( overlays, includes, new ScanCatenationLookup() );
+        }
+    };
+
+    /**
+     * Creates the lookup of this strategy for a build.
+     *
+     * @param overlays the overlays of the build
+     * @param includes the patterns of the files to catenate, for each catenation of the build
+     * @return the lookup
+     */
+    public abstract CatenationLookup createLookup( List<Overlay> overlays, List<String[]> includes );
+
+    /**
+     * Returns the strategy with the specified name, ignoring case. The former <tt>DFS</tt> and <tt>BFS</tt> values
+     * select the {@link #SCAN} strategy since the overlays are catenated in the order of the dependency tree anyway.
+     *
+     * @param name the name of the strategy, <tt>null</tt> for the default one
+     * @return the strategy
+     * @throws IllegalArgumentException if the strategy is unknown
+     */
+    public static CatenationSeekStrategy fromName( String name )
+    {
+        if ( name == null || name.trim().isEmpty() )
+        {
+            return SCAN;
+        }
+        final String normalized = name.trim().toUpperCase( Locale.ENGLISH );
+        if ( "DFS".equals( normalized ) || "BFS".equals( normalized ) )
+        {
+            return SCAN;
+        }
+        try
+        {
+            return valueOf( normalized );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new IllegalArgumentException( "Unknown catenation seek strategy [" + name + "], use scan or index" );
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Catenates files to a temporary file through a single channel kept open by all the catenation tasks, and publishes
+ * the result at its final location once all of them are done.
+ *
+ * The content of the files is appended as is. A line separator is only inserted after a file that does not end with a
+ * line terminator, so that the next file starts on a new line. The temporary file is truncated by the first append of
+ * the session.
+ *
+ * @since 3.2.4
+ */
+public class CatenationSession
+    implements Closeable
+{
+    private static final int TRANSFER_SIZE = 1024 * 1024;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes( StandardCharsets.ISO_8859_1 );
+
+    private final File file;
+
+    private FileChannel channel;
+
+    /**
+     * @param file the temporary file receiving the catenated content
+     */
+    public CatenationSession( File file )
+    {
+        this.file = file;
+    }
+
+    /**
+     * @return the temporary file receiving the catenated content
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Appends the content of the specified file.
+     *
+     * @param source the file to append
+     * @return the number of bytes appended, including the line separator added if any
+     * @throws IOException if the file could not be appended
+     */
+    public synchronized long append( File source )
+        throws IOException
+    {
+        final FileChannel output = getChannel();
+        final long start = output.size();
+        // transferTo writes at the position of the channel, the other writes are positional
+        output.position( start );
+        try ( FileChannel input = FileChannel.open( source.toPath(), StandardOpenOption.READ ) )
+        {
+            final long size = input.size();
+            long position = 0;
+            while ( position < size )
+            {
+                position += input.transferTo( position, size - position, output );
+            }
+        }
+        return terminate( start );
+    }
+
+    /**
+     * Appends the content of the specified stream, which is not closed.
+     *
+     * @param source the stream to append
+     * @return the number of bytes appended, including the line separator added if any
+     * @throws IOException if the stream could not be appended
+     */
+    public synchronized long append( InputStream source )
+        throws IOException
+    {
+        final FileChannel output = getChannel();
+        final long start = output.size();
+        final ReadableByteChannel input = Channels.newChannel( source );
+        long position = start;
+        long transferred;
+        while ( ( transferred = output.transferFrom( input, position, TRANSFER_SIZE ) ) > 0 )
+        {
+            position += transferred;
+        }
+        return terminate( start );
+    }
+
+    /**
+     * Closes the session and moves the temporary file to the specified target, atomically if the file system supports
+     * it.
+     *
+     * @param target the final location of the catenated file
+     * @throws IOException if nothing was catenated or if the file could not be moved
+     */
+    public synchronized void publish( File target )
+        throws IOException
+    {
+        if ( channel == null )
+        {
+            throw new IOException( "Nothing was catenated to [" + target.getAbsolutePath() + "]" );
+        }
+        close();
+        final File parent = target.getParentFile();
+        if ( parent != null && !parent.exists() && !parent.mkdirs() )
+        {
+            throw new IOException( "Could not create parent directory [" + parent.getAbsolutePath() + "]" );
+        }
+        try
+        {
+            Files.move( file.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING );
+        }
+        catch ( AtomicMoveNotSupportedException e )
+        {
+            Files.move( file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
+    @Override
+    public synchronized void close()
+        throws IOException
+    {
+        if ( channel != null && channel.isOpen() )
+        {
+            channel.close();
+        }
+    }
+
+    private FileChannel getChannel()
+        throws IOException
+    {
+        if ( channel == null )
+        {
+            final File parent = file.getParentFile();
+            if ( parent != null && !parent.exists() && !parent.mkdirs() )
+            {
+                throw new IOException( "Could not create parent directory [" + parent.getAbsolutePath() + "]" );
+            }
+            channel = FileChannel.open( file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING );
+        }
+        else if ( !channel.isOpen() )
+        {
+            throw new IOException( "The catenation to [" + file.getAbsolutePath() + "] is already finished" );
+        }
+        return channel;
+    }
+
+    /**
+     * Appends a line separator if the content appended since <tt>start</tt> does not end with a line terminator.
+     */
+    private long terminate( long start )
+        throws IOException
+    {
+        final long end = channel.size();
+        if ( end == start )
+        {
+            return 0;
+        }
+        final ByteBuffer last = ByteBuffer.allocate( 1 );
+        channel.read( last, end - 1 );
+        final byte b = last.get( 0 );
+        if ( b == '\n' || b == '\r' )
+        {
+            return end - start;
+        }
+        final ByteBuffer separator = ByteBuffer.wrap( LINE_SEPARATOR );
+        long position = end;
+        while ( separator.hasRemaining() )
+        {
+            position += channel.write( separator, position );
+        }
+        return position - start;
+    }
+}
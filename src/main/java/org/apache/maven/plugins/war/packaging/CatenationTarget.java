@@ -0,0 +1,58 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * The files a {@link ConfigCatenationTask} appends to a catenation.
+ *
+ * @since 3.2.4
+ */
+public final class CatenationTarget
+{
+    private final String[] includes;
+
+    private final CatenationSession session;
+
+    /**
+     * @param session the catenation the files are appended to
+     * @param includes the patterns of the files to append
+     */
+    public CatenationTarget( CatenationSession session, String... includes )
+    {
+        this.session = session;
+        this.includes = includes;
+    }
+
+    /**
+     * @return the patterns of the files to append
+     */
+    public String[] getIncludes()
+    {
+        return includes;
+    }
+
+    /**
+     * @return the catenation the files are appended to
+     */
+    public CatenationSession getSession()
+    {
+        return session;
+    }
+}
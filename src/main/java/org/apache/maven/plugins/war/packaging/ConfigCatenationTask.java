@@ -23,15 +23,12 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.war.Overlay;
 import org.apache.maven.plugins.war.util.PathSet;
-import org.codehaus.plexus.util.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
-import java.util.Arrays;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -45,20 +42,44 @@ public class ConfigCatenationTask
     private final Overlay overlay;
 
     private final boolean isRootPackage;
-    private final File destinationDirectory;
-    private final String[] includes;
+    private final CatenationLookup lookup;
+    private final List<CatenationTarget> targets;
 
 
     /**
      * @param overlay {@link #overlay}
-     * @param destinationDirectory
+     * @param session the catenation the files are appended to
      */
-    public ConfigCatenationTask( Overlay overlay, boolean isRootPackage, File destinationDirectory,
+    public ConfigCatenationTask( Overlay overlay, boolean isRootPackage, CatenationSession session,
                                  String... includes )
+    {
+        this( overlay, isRootPackage, session, new ScanCatenationLookup(), includes );
+    }
+
+    /**
+     * @param overlay {@link #overlay}
+     * @param session the catenation the files are appended to
+     * @param lookup the lookup of the files of the overlay to catenate
+     */
+    public ConfigCatenationTask( Overlay overlay, boolean isRootPackage, CatenationSession session,
+                                 CatenationLookup lookup, String... includes )
+    {
+        this( overlay, isRootPackage, lookup,
+              Collections.singletonList( new CatenationTarget( session, includes ) ) );
+    }
+
+    /**
+     * @param overlay {@link #overlay}
+     * @param lookup the lookup of the files of the overlay to catenate
+     * @param targets the catenations the files of the overlay are appended to, the overlay is read once for all of
+     *            them
+     */
+    public ConfigCatenationTask( Overlay overlay, boolean isRootPackage, CatenationLookup lookup,
+                                 List<CatenationTarget> targets )
     {
         this.isRootPackage = isRootPackage;
-        this.destinationDirectory = destinationDirectory;
-        this.includes = includes;
+        this.lookup = lookup;
+        this.targets = new ArrayList<>( targets );
         if ( overlay == null )
         {
             throw new NullPointerException( "overlay could not be null." );
@@ -66,6 +87,14 @@ public class ConfigCatenationTask
         this.overlay = overlay;
     }
 
+    /**
+     * @return the overlay whose files are catenated by this task
+     */
+    public Overlay getOverlay()
+    {
+        return overlay;
+    }
+
     @Override
     public void performPackaging( WarPackagingContext context )
             throws MojoExecutionException
@@ -87,12 +116,37 @@ public class ConfigCatenationTask
 
                 final File tmpDir = context.getWebappSourceDirectory();
 
-                // Step2: setup
-                final PathSet includes = getFilesToIncludes( tmpDir, this.includes, null,  false );
-
-
-                processFiles( overlay, context, tmpDir, includes, this.destinationDirectory );
+                if ( isRootPackage )
+                {
+                    for ( CatenationTarget target : targets )
+                    {
+                        final PathSet includes = getFilesToIncludes( tmpDir, target.getIncludes(), null, false );
+                        processFiles( overlay, context, tmpDir, includes, target.getSession() );
+                    }
+                    return;
+                }
 
+                // Step2: setup, the overlay is then read once for all the targets
+                final List<PathSet> includes = new ArrayList<>( targets.size() );
+                boolean empty = true;
+                for ( CatenationTarget target : targets )
+                {
+                    final PathSet files = lookup.getFiles( context, overlay, target.getIncludes() );
+                    includes.add( files );
+                    empty &= files.size() == 0;
+                }
+                if ( empty )
+                {
+                    // nothing to read from the overlay
+                    return;
+                }
+                try ( OverlaySource overlaySource = openOverlaySource( context, overlay, false ) )
+                {
+                    for ( int i = 0; i < targets.size(); i++ )
+                    {
+                        catenate( context, overlaySource, includes.get( i ), targets.get( i ).getSession() );
+                    }
+                }
             }
             catch ( IOException e )
             {
@@ -114,23 +168,26 @@ public class ConfigCatenationTask
      * @param context        the context to use
      * @param sourceBaseDir  the base directory from which the <tt>sourceFilesSet</tt> will be copied
      * @param sourceFilesSet the files to be copied
+     * @param session        the catenation the files are appended to
      * @throws IOException            if an error occurred while copying the files
      * @throws MojoExecutionException if an error occurs.
      */
     protected void processFiles( Overlay source, WarPackagingContext context, File sourceBaseDir,
-                                PathSet sourceFilesSet, File outputFile )
+                                PathSet sourceFilesSet, CatenationSession session )
             throws IOException, MojoExecutionException
     {
-        try {
-            for (String fileToCopyName : sourceFilesSet.paths()) {
-                if (!isRootPackage) {
-                    final File sourceFile = new File(this.getOverlayTempDirectory(context, overlay), fileToCopyName);
-                    if (sourceFile.exists()) {
-                        processFile(source, context, sourceFile, outputFile);
-                    }
-                } else {
+        if ( !isRootPackage && sourceFilesSet.size() == 0 )
+        {
+            // nothing to read from the overlay
+            return;
+        }
+        try ( OverlaySource overlaySource = isRootPackage ? null : openOverlaySource( context, overlay, false ) ) {
+            if (!isRootPackage) {
+                catenate( context, overlaySource, sourceFilesSet, session );
+            } else {
+                for (String fileToCopyName : sourceFilesSet.paths()) {
                     final File sourceFile = new File( sourceBaseDir, fileToCopyName );
-                    processFile( source, context, sourceFile, outputFile );
+                    processFile( source, context, sourceFile, session );
                 }
             }
         } catch (Exception e) {
@@ -139,6 +196,34 @@ public class ConfigCatenationTask
         }
     }
 
+    /**
+     * Appends the specified files of the overlay to the catenation.
+     */
+    private void catenate( WarPackagingContext context, OverlaySource overlaySource, PathSet files,
+                           CatenationSession session )
+        throws IOException
+    {
+        for ( String path : files.paths() )
+        {
+            if ( !overlaySource.isFile( path ) )
+            {
+                continue;
+            }
+            final File file = overlaySource.getFile( path );
+            if ( file != null )
+            {
+                catenate( context, file, overlay + ":" + path, session );
+            }
+            else
+            {
+                try ( InputStream in = overlaySource.openStream( path ) )
+                {
+                    log( context, overlay + ":" + path, session.append( in ), session );
+                }
+            }
+        }
+    }
+
     /**
      * Copy the specified file if the target location has not yet already been used.
      * <p>
@@ -147,93 +232,39 @@ public class ConfigCatenationTask
      * @param source       the source id
      * @param context        the context to use
      * @param file           the file to copy
+     * @param session        the catenation the file is appended to
      * @throws IOException if an error occurred while copying
      */
     // CHECKSTYLE_OFF: LineLength
-    protected void processFile( Overlay source, final WarPackagingContext context, final File file, File targetFile )
+    protected void processFile( Overlay source, final WarPackagingContext context, final File file,
+                                CatenationSession session )
             throws IOException
     {
         if ( file.isFile() )
         {
-
-            targetFile.getParentFile().mkdirs();
-
-            // Charset for read and write
-            Charset charset = StandardCharsets.ISO_8859_1;
-
-
-            List<String> lines = Files.readAllLines( file.toPath(), charset );
-
-            final Log log = context.getLog();
-            if (log.isDebugEnabled()) {
-                log.debug(  " ===== CATENATE "
-                        + file.getAbsolutePath()
-                        + " to " +  targetFile.getAbsolutePath() + "=====" );
-                int i = 1;
-                for (String line : lines) {
-                    log.debug(i++ + ":"+line);
-                }
-            }
-
-            Files.write( targetFile.toPath(), lines, charset, StandardOpenOption.CREATE,
-                    StandardOpenOption.APPEND );
+            catenate( context, file, file.getAbsolutePath(), session );
         }
     }
 
-
     /**
-     * Unpacks the specified overlay.
-     * 
-     * Makes sure to skip the unpack process if the overlay has already been unpacked.
-     *
-     * @param context the packaging context
-     * @param overlay the overlay
-     * @return the directory containing the unpacked overlay
-     * @throws MojoExecutionException if an error occurred while unpacking the overlay
+     * Appends the content of the specified file to the catenation.
      */
-    protected File unpackOverlay( WarPackagingContext context, Overlay overlay )
-        throws MojoExecutionException
+    private static void catenate( WarPackagingContext context, File file, String description,
+                                  CatenationSession session )
+        throws IOException
     {
-        final File tmpDir = getOverlayTempDirectory( context, overlay );
-
-        // TODO: not sure it's good, we should reuse the markers of the dependency plugin
-        if ( FileUtils.sizeOfDirectory( tmpDir ) == 0
-            || overlay.getArtifact().getFile().lastModified() > tmpDir.lastModified() )
-        {
-            doUnpack( context, overlay.getArtifact().getFile(), tmpDir );
-        }
-        else
-        {
-            context.getLog().debug( "Overlay [" + overlay + "] was already unpacked" );
-        }
-        return tmpDir;
+        log( context, description, session.append( file ), session );
     }
 
-    /**
-     * Returns the directory to use to unpack the specified overlay.
-     *
-     * @param context the packaging context
-     * @param overlay the overlay
-     * @return the temp directory for the overlay
-     */
-    protected File getOverlayTempDirectory( WarPackagingContext context, Overlay overlay )
+    private static void log( WarPackagingContext context, String description, long length,
+                             CatenationSession session )
     {
-        final File groupIdDir = new File( context.getOverlaysWorkDirectory(), overlay.getGroupId() );
-        if ( !groupIdDir.exists() )
-        {
-            groupIdDir.mkdir();
-        }
-        String directoryName = overlay.getArtifactId();
-        if ( overlay.getClassifier() != null )
-        {
-            directoryName = directoryName + "-" + overlay.getClassifier();
-        }
-        final File result = new File( groupIdDir, directoryName );
-        if ( !result.exists() )
-        {
-            result.mkdirs();
+        final Log log = context.getLog();
+        if (log.isDebugEnabled()) {
+            log.debug(  " ===== CATENATE "
+                    + description
+                    + " to " +  session.getFile().getAbsolutePath() + " (" + length + " bytes) =====" );
         }
-        return result;
     }
 
     @Override
@@ -0,0 +1,177 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A batch of file operations performed on the packaging executor of the context.
+ *
+ * The caller submits the operations in order (typically right after having registered the target path in the webapp
+ * structure) and waits for the whole batch with {@link #await()}. The number of operations queued at the same time is
+ * bounded so that a large source tree does not flood the executor. Without executor, operations are performed on the
+ * calling thread as they are submitted.
+ *
+ * @since 3.2.4
+ */
+final class CopyBatch
+{
+    /**
+     * An operation of the batch.
+     */
+    interface Job
+    {
+        /**
+         * @throws IOException if the operation failed
+         */
+        void run()
+            throws IOException;
+    }
+
+    private final ExecutorService executor;
+
+    private final Semaphore permits;
+
+    private int pending;
+
+    private Throwable failure;
+
+    /**
+     * @param context the packaging context providing the executor
+     */
+    CopyBatch( WarPackagingContext context )
+    {
+        this.executor = context.getPackagingExecutor();
+        this.permits = new Semaphore( Math.max( 1, context.getPackagingThreads() ) * 4 );
+    }
+
+    /**
+     * Submits the specified operation.
+     *
+     * @param job the operation
+     * @throws IOException if the operation failed (when performed on the calling thread) or if a previous operation
+     *             of the batch has already failed
+     */
+    void submit( final Job job )
+        throws IOException
+    {
+        if ( executor == null )
+        {
+            job.run();
+            return;
+        }
+
+        checkFailure();
+        try
+        {
+            permits.acquire();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "Interrupted while submitting a file operation" );
+        }
+        synchronized ( this )
+        {
+            pending++;
+        }
+        executor.execute( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                Throwable error = null;
+                try
+                {
+                    job.run();
+                }
+                catch ( Throwable t )
+                {
+                    error = t;
+                }
+                finally
+                {
+                    completed( error );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Waits for all the submitted operations to complete.
+     *
+     * @throws IOException if one of the operations failed
+     */
+    void await()
+        throws IOException
+    {
+        synchronized ( this )
+        {
+            while ( pending > 0 )
+            {
+                try
+                {
+                    wait();
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException( "Interrupted while waiting for file operations" );
+                }
+            }
+        }
+        checkFailure();
+    }
+
+    private synchronized void completed( Throwable error )
+    {
+        if ( error != null && failure == null )
+        {
+            failure = error;
+        }
+        pending--;
+        permits.release();
+        notifyAll();
+    }
+
+    private synchronized void checkFailure()
+        throws IOException
+    {
+        if ( failure instanceof IOException )
+        {
+            throw (IOException) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        if ( failure != null )
+        {
+            throw new IOException( failure );
+        }
+    }
+}
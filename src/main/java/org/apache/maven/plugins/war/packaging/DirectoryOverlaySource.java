@@ -0,0 +1,108 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.maven.plugins.war.util.PathSet;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+/**
+ * An overlay unpacked in a directory.
+ *
+ * @since 3.2.4
+ */
+final class DirectoryOverlaySource
+    implements OverlaySource
+{
+    private final File directory;
+
+    /**
+     * @param directory the directory holding the unpacked overlay
+     */
+    DirectoryOverlaySource( File directory )
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the directory holding the unpacked overlay
+     */
+    File getDirectory()
+    {
+        return directory;
+    }
+
+    @Override
+    public PathSet getFiles( String[] includes, String[] excludes )
+    {
+        final DirectoryScanner scanner = new DirectoryScanner();
+        scanner.setBasedir( directory );
+        if ( excludes != null )
+        {
+            scanner.setExcludes( excludes );
+        }
+        scanner.addDefaultExcludes();
+        if ( includes != null && includes.length > 0 )
+        {
+            scanner.setIncludes( includes );
+        }
+        else
+        {
+            scanner.setIncludes( AbstractWarPackagingTask.DEFAULT_INCLUDES );
+        }
+        scanner.scan();
+        return new PathSet( scanner.getIncludedFiles() );
+    }
+
+    @Override
+    public boolean isFile( String path )
+    {
+        return getFile( path ).isFile();
+    }
+
+    @Override
+    public File getFile( String path )
+    {
+        return new File( directory, path );
+    }
+
+    @Override
+    public long getLastModified( String path )
+    {
+        return getFile( path ).lastModified();
+    }
+
+    @Override
+    public InputStream openStream( String path )
+        throws IOException
+    {
+        return new FileInputStream( getFile( path ) );
+    }
+
+    @Override
+    public void close()
+    {
+        // nothing to release
+    }
+}
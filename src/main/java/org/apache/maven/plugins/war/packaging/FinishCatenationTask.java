@@ -19,14 +19,16 @@ package org.apache.maven.plugins.war.packaging;
  * under the License.
  */
 
-import org.apache.maven.plugin.MojoExecutionException;
-import org.apache.maven.plugin.MojoFailureException;
-
 import java.io.File;
 import java.io.IOException;
 
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.war.util.CatenationFingerprint;
+
 /**
- * Handles an overlay catenation.
+ * Publishes the result of the catenation. The catenated file is kept out of the outdated resources when the packaging
+ * tasks are created, since they are deleted before this task runs.
  *
  * @author Stephane Nicoll
  */
@@ -34,21 +36,57 @@ public class FinishCatenationTask
     extends AbstractWarPackagingTask
 {
 
-    private final File tmpFile;
+    private final CatenationSession session;
+
     private final File outFile;
 
-    public FinishCatenationTask(File tmpFile, File outFile) {
-        this.tmpFile = tmpFile;
+    private final CatenationFingerprint fingerprint;
+
+    public FinishCatenationTask( CatenationSession session, File outFile )
+    {
+        this( session, outFile, null );
+    }
+
+    /**
+     * @param session the catenation to publish or <tt>null</tt> if the catenated file is up to date
+     * @param outFile the catenated file
+     * @param fingerprint the fingerprint to record once the file is published or <tt>null</tt>
+     */
+    public FinishCatenationTask( CatenationSession session, File outFile, CatenationFingerprint fingerprint )
+    {
+        this.session = session;
         this.outFile = outFile;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @return the catenation published by this task or <tt>null</tt> if the catenated file is up to date
+     */
+    public CatenationSession getSession()
+    {
+        return session;
     }
 
     @Override
-    public void performPackaging(WarPackagingContext context) throws MojoExecutionException, MojoFailureException {
-        try {
-            copyFile(context, tmpFile, outFile, outFile.getName(), false);
-            tmpFile.delete();
-        } catch (IOException e) {
-            throw new MojoExecutionException("Finishing the catenation task failed", e);
+    public void performPackaging( WarPackagingContext context )
+        throws MojoExecutionException, MojoFailureException
+    {
+        if ( session == null )
+        {
+            context.getLog().info( "Catenated file [" + outFile + "] is up to date" );
+            return;
+        }
+        try
+        {
+            session.publish( outFile );
+            if ( fingerprint != null )
+            {
+                fingerprint.save( outFile );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Finishing the catenation task failed", e );
         }
     }
 }
@@ -0,0 +1,167 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.util.PathSet;
+
+/**
+ * Looks up the paths to catenate in an index of the overlays built from the central directories of their archives, so
+ * that the overlays without matching entry cost nothing. Each archive is read once for all the sets of includes known
+ * when the index is built. The overlays that could not be indexed are looked up with a fallback lookup.
+ *
+ * Like the {@link ScanCatenationLookup scan}, only the files that also exist in the webapp source directory are
+ * catenated: the entries of the archives are intersected with a single scan of that directory for each set of
+ * includes.
+ *
+ * @see CatenationSeekStrategy#INDEX
+ * @since 3.2.4
+ */
+final class IndexedCatenationLookup
+    implements CatenationLookup
+{
+    private final List<Overlay> overlays;
+
+    private final CatenationLookup fallback;
+
+    private final Set<List<String>> knownIncludes = new LinkedHashSet<>();
+
+    /**
+     * The matching entries by overlay id, for each set of includes.
+     */
+    private final Map<List<String>, Map<String, PathSet>> indexes = new HashMap<>();
+
+    /**
+     * @param overlays the overlays to index
+     * @param includes the sets of includes to index
+     * @param fallback the lookup of the overlays that are not archives
+     */
+    IndexedCatenationLookup( List<Overlay> overlays, List<String[]> includes, CatenationLookup fallback )
+    {
+        this.overlays = new ArrayList<>( overlays );
+        this.fallback = fallback;
+        for ( String[] include : includes )
+        {
+            knownIncludes.add( toKey( include ) );
+        }
+    }
+
+    @Override
+    public PathSet getFiles( WarPackagingContext context, Overlay overlay, String[] includes )
+        throws IOException
+    {
+        final PathSet result = getIndex( context, toKey( includes ) ).get( overlay.getId() );
+        return result != null ? result : fallback.getFiles( context, overlay, includes );
+    }
+
+    private synchronized Map<String, PathSet> getIndex( WarPackagingContext context, List<String> key )
+    {
+        if ( !indexes.containsKey( key ) )
+        {
+            knownIncludes.add( key );
+            buildIndexes( context );
+        }
+        return indexes.get( key );
+    }
+
+    /**
+     * Indexes the overlays for the sets of includes that are not indexed yet, reading each archive once.
+     */
+    private void buildIndexes( WarPackagingContext context )
+    {
+        final List<List<String>> keys = new ArrayList<>();
+        for ( List<String> key : knownIncludes )
+        {
+            if ( !indexes.containsKey( key ) )
+            {
+                keys.add( key );
+                indexes.put( key, new HashMap<String, PathSet>() );
+            }
+        }
+        final Map<List<String>, PathSet> sourceFiles = new HashMap<>();
+        for ( List<String> key : keys )
+        {
+            sourceFiles.put( key, AbstractWarPackagingTask.scanFiles( context.getWebappSourceDirectory(),
+                                                                      key.toArray( new String[key.size()] ), null,
+                                                                      false ) );
+        }
+        int indexed = 0;
+        for ( Overlay overlay : overlays )
+        {
+            if ( overlay.isCurrentProject() || indexes.get( keys.get( 0 ) ).containsKey( overlay.getId() ) )
+            {
+                continue;
+            }
+            final File artifactFile = overlay.getArtifact().getFile();
+            if ( artifactFile == null || !artifactFile.isFile() )
+            {
+                continue;
+            }
+            try ( ArchiveOverlaySource source = new ArchiveOverlaySource( artifactFile ) )
+            {
+                for ( List<String> key : keys )
+                {
+                    indexes.get( key ).put( overlay.getId(),
+                                            retain( source.getFiles( key.toArray( new String[key.size()] ), null ),
+                                                    sourceFiles.get( key ) ) );
+                }
+                indexed++;
+            }
+            catch ( IOException e )
+            {
+                context.getLog().debug( "Overlay [" + overlay + "] could not be indexed (" + e
+                    + "), it will be scanned" );
+            }
+        }
+        context.getLog().debug( "Indexed " + indexed + " overlays for catenation of " + keys );
+    }
+
+    /**
+     * Returns the paths of <tt>entries</tt> that are also in <tt>sourceFiles</tt>.
+     */
+    private static PathSet retain( PathSet entries, PathSet sourceFiles )
+    {
+        final PathSet result = new PathSet();
+        for ( String path : entries )
+        {
+            if ( sourceFiles.contains( path ) )
+            {
+                result.add( path );
+            }
+        }
+        return result;
+    }
+
+    private static List<String> toKey( String[] includes )
+    {
+        return includes == null ? Collections.<String>emptyList() : Arrays.asList( includes );
+    }
+}
@@ -0,0 +1,81 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Locale;
+
+/**
+ * How the unfiltered files are materialized in the webapp directory.
+ *
+ * @since 3.2.4
+ */
+public enum MaterializationMode
+{
+    /**
+     * The content of the file is copied through a stream.
+     */
+    COPY,
+
+    /**
+     * The content of the file is copied with {@link java.nio.channels.FileChannel#transferTo}, letting the operating
+     * system avoid copying the bytes through the JVM.
+     */
+    TRANSFER,
+
+    /**
+     * The file is hard linked to its source when possible, copied otherwise.
+     */
+    HARDLINK,
+
+    /**
+     * The file is a symbolic link to its source when possible, copied otherwise.
+     */
+    SYMLINK;
+
+    /**
+     * Specifies if the destination shares its content with the source.
+     *
+     * @return true for the link modes
+     */
+    public boolean isLink()
+    {
+        return this == HARDLINK || this == SYMLINK;
+    }
+
+    /**
+     * Returns the mode with the specified name, ignoring case.
+     *
+     * @param name the name of the mode
+     * @return the mode
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    public static MaterializationMode fromName( String name )
+    {
+        try
+        {
+            return valueOf( name.trim().toUpperCase( Locale.ENGLISH ) );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new IllegalArgumentException( "Unknown materialization mode [" + name + "], use copy, transfer,"
+                + " hardlink or symlink" );
+        }
+    }
+}
@@ -22,9 +22,7 @@ package org.apache.maven.plugins.war.packaging;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.war.Overlay;
 import org.apache.maven.plugins.war.util.PathSet;
-import org.codehaus.plexus.util.FileUtils;
 
-import java.io.File;
 import java.io.IOException;
 
 /**
@@ -54,6 +52,14 @@ public class OverlayPackagingTask
         this.overlay = overlay;
     }
 
+    /**
+     * @return the overlay handled by this task
+     */
+    public Overlay getOverlay()
+    {
+        return overlay;
+    }
+
     @Override
     public void performPackaging( WarPackagingContext context )
         throws MojoExecutionException
@@ -66,20 +72,18 @@ public class OverlayPackagingTask
         }
         else
         {
-            try
-            {
-                context.getLog().info( "Processing overlay [" + overlay + "]" );
-
-                // Step1: Extract if necessary
-                final File tmpDir = unpackOverlay( context, overlay );
+            context.getLog().info( "Processing overlay [" + overlay + "]" );
 
+            // Step1: Extract if necessary
+            try ( OverlaySource source = openOverlaySource( context, overlay, overlay.isFiltered() ) )
+            {
                 // Step2: setup
-                final PathSet includes = getFilesToIncludes( tmpDir, overlay.getIncludes(), overlay.getExcludes() );
+                final PathSet includes = source.getFiles( overlay.getIncludes(), overlay.getExcludes() );
 
                 // Copy
                 if ( null == overlay.getTargetPath() )
                 {
-                    copyFiles( overlay.getId(), context, tmpDir, includes, overlay.isFiltered() );
+                    copyFiles( overlay.getId(), context, source, includes, null, overlay.isFiltered() );
                 }
                 else
                 {
@@ -90,7 +94,7 @@ public class OverlayPackagingTask
                     {
                         targetPath = targetPath + "/";
                     }
-                    copyFiles( overlay.getId(), context, tmpDir, includes, targetPath, overlay.isFiltered() );
+                    copyFiles( overlay.getId(), context, source, includes, targetPath, overlay.isFiltered() );
                 }
             }
             catch ( IOException e )
@@ -99,59 +103,4 @@ public class OverlayPackagingTask
             }
         }
     }
-
-    /**
-     * Unpacks the specified overlay.
-     * 
-     * Makes sure to skip the unpack process if the overlay has already been unpacked.
-     *
-     * @param context the packaging context
-     * @param overlay the overlay
-     * @return the directory containing the unpacked overlay
-     * @throws MojoExecutionException if an error occurred while unpacking the overlay
-     */
-    protected File unpackOverlay( WarPackagingContext context, Overlay overlay )
-        throws MojoExecutionException
-    {
-        final File tmpDir = getOverlayTempDirectory( context, overlay );
-
-        // TODO: not sure it's good, we should reuse the markers of the dependency plugin
-        if ( FileUtils.sizeOfDirectory( tmpDir ) == 0
-            || overlay.getArtifact().getFile().lastModified() > tmpDir.lastModified() )
-        {
-            doUnpack( context, overlay.getArtifact().getFile(), tmpDir );
-        }
-        else
-        {
-            context.getLog().debug( "Overlay [" + overlay + "] was already unpacked" );
-        }
-        return tmpDir;
-    }
-
-    /**
-     * Returns the directory to use to unpack the specified overlay.
-     *
-     * @param context the packaging context
-     * @param overlay the overlay
-     * @return the temp directory for the overlay
-     */
-    protected File getOverlayTempDirectory( WarPackagingContext context, Overlay overlay )
-    {
-        final File groupIdDir = new File( context.getOverlaysWorkDirectory(), overlay.getGroupId() );
-        if ( !groupIdDir.exists() )
-        {
-            groupIdDir.mkdir();
-        }
-        String directoryName = overlay.getArtifactId();
-        if ( overlay.getClassifier() != null )
-        {
-            directoryName = directoryName + "-" + overlay.getClassifier();
-        }
-        final File result = new File( groupIdDir, directoryName );
-        if ( !result.exists() )
-        {
-            result.mkdirs();
-        }
-        return result;
-    }
 }
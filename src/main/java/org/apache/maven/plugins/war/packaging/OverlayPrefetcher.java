@@ -0,0 +1,163 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.war.Overlay;
+
+/**
+ * Unpacks the overlays of the build concurrently, ahead of the packaging tasks that use them.
+ *
+ * The overlays are submitted in precedence order so that the first ones to be copied are the first ones to be
+ * unpacked. A packaging task that needs an overlay waits for its prefetched directory with {@link #await(Overlay)}.
+ * Since the paths owned by the other sources are not known yet when an overlay is prefetched, all the files selected
+ * by its includes and excludes are unpacked.
+ *
+ * @since 3.2.4
+ */
+public class OverlayPrefetcher
+{
+    private final ExecutorService executor;
+
+    /**
+     * The prefetched overlays, by id. Only the first overlay of a given id is prefetched since the overlays with the
+     * same id share their unpack directory.
+     */
+    private final Map<String, Prefetch> prefetches = new HashMap<>();
+
+    /**
+     * @param threads the maximum number of overlays unpacked concurrently
+     */
+    public OverlayPrefetcher( int threads )
+    {
+        this.executor = Executors.newFixedThreadPool( Math.max( 1, threads ) );
+    }
+
+    /**
+     * Starts unpacking the specified overlays, in order. The overlays that are skipped, that belong to the current
+     * project or that are read straight from their archive are ignored.
+     *
+     * @param context the packaging context
+     * @param overlays the overlays, in precedence order
+     */
+    public synchronized void prefetch( final WarPackagingContext context, List<Overlay> overlays )
+    {
+        for ( final Overlay overlay : overlays )
+        {
+            if ( overlay.isCurrentProject() || overlay.shouldSkip() || prefetches.containsKey( overlay.getId() )
+                || AbstractWarPackagingTask.isReadFromArchive( context, overlay, overlay.isFiltered() ) )
+            {
+                continue;
+            }
+            context.getLog().debug( "Prefetching overlay [" + overlay + "]" );
+            final Future<File> future = executor.submit( new Callable<File>()
+            {
+                @Override
+                public File call()
+                    throws MojoExecutionException
+                {
+                    return OverlayUnpacker.unpack( context, overlay, false );
+                }
+            } );
+            prefetches.put( overlay.getId(), new Prefetch( overlay, future ) );
+        }
+    }
+
+    /**
+     * Waits for the specified overlay to be unpacked.
+     *
+     * @param overlay the overlay
+     * @return the directory containing the unpacked overlay or <tt>null</tt> if the overlay was not prefetched
+     * @throws MojoExecutionException if an error occurred while unpacking the overlay
+     */
+    public File await( Overlay overlay )
+        throws MojoExecutionException
+    {
+        final Prefetch prefetch;
+        synchronized ( this )
+        {
+            prefetch = prefetches.get( overlay.getId() );
+        }
+        if ( prefetch == null || prefetch.overlay != overlay )
+        {
+            return null;
+        }
+        try
+        {
+            return prefetch.future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( "Interrupted while unpacking overlay [" + overlay + "]", e );
+        }
+        catch ( ExecutionException e )
+        {
+            final Throwable cause = e.getCause();
+            if ( cause instanceof MojoExecutionException )
+            {
+                throw (MojoExecutionException) cause;
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new MojoExecutionException( "Could not unpack overlay [" + overlay + "]", cause );
+        }
+    }
+
+    /**
+     * Stops the overlays still being unpacked and releases the threads.
+     */
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * An overlay being unpacked.
+     */
+    private static final class Prefetch
+    {
+        private final Overlay overlay;
+
+        private final Future<File> future;
+
+        Prefetch( Overlay overlay, Future<File> future )
+        {
+            this.overlay = overlay;
+            this.future = future;
+        }
+    }
+}
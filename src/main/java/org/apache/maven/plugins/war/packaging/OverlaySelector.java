@@ -0,0 +1,154 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.util.WarUtils;
+import org.apache.maven.plugins.war.util.WebappStructure;
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.MatchPatterns;
+
+/**
+ * Selects the entries of an overlay archive that may be used by the build, so that the other ones are not extracted.
+ *
+ * An entry is selected if it may be catenated, or if it matches the includes and excludes of the overlay and its
+ * target path is not already owned by another source of the webapp: the first registered owner of a path wins, hence
+ * such a file would never be copied. The entries skipped for the latter reason are recorded, since they are needed
+ * again if their target path is released by a later build.
+ *
+ * @since 3.2.4
+ */
+final class OverlaySelector
+    implements FileSelector
+{
+    private final String description;
+
+    private final MatchPatterns includes;
+
+    private final MatchPatterns excludes;
+
+    private final MatchPatterns catenationIncludes;
+
+    private final WebappStructure structure;
+
+    private final String overlayId;
+
+    private final String targetPrefix;
+
+    private final List<String> prunedPaths = Collections.synchronizedList( new ArrayList<String>() );
+
+    /**
+     * @param overlay the overlay
+     * @param catenationIncludes the patterns of the files catenated from the overlays
+     * @param structure the webapp structure used to skip the paths owned by other sources or <tt>null</tt>
+     */
+    OverlaySelector( Overlay overlay, String[] catenationIncludes, WebappStructure structure )
+    {
+        final String[] overlayIncludes = overlay.getIncludes() == null || overlay.getIncludes().length == 0
+            ? AbstractWarPackagingTask.DEFAULT_INCLUDES : overlay.getIncludes();
+        final String[] overlayExcludes = overlay.getExcludes() == null ? new String[0] : overlay.getExcludes();
+        this.description = "includes=" + Arrays.asList( overlayIncludes ) + ";excludes="
+            + Arrays.asList( overlayExcludes ) + ";catenation=" + Arrays.asList( catenationIncludes ) + ";target="
+            + overlay.getTargetPath();
+        this.includes = WarUtils.toMatchPatterns( overlayIncludes );
+        final List<String> allExcludes = new ArrayList<>( Arrays.asList( DirectoryScanner.DEFAULTEXCLUDES ) );
+        allExcludes.addAll( Arrays.asList( overlayExcludes ) );
+        this.excludes = WarUtils.toMatchPatterns( allExcludes.toArray( new String[allExcludes.size()] ) );
+        this.catenationIncludes = WarUtils.toMatchPatterns( catenationIncludes );
+        this.structure = structure;
+        this.overlayId = overlay.getId();
+        String targetPath = overlay.getTargetPath();
+        if ( targetPath != null && !targetPath.endsWith( "/" ) )
+        {
+            targetPath = targetPath + "/";
+        }
+        this.targetPrefix = targetPath == null ? "" : targetPath;
+    }
+
+    /**
+     * Returns the description of the selection, regardless of the paths owned by other sources.
+     *
+     * @return the description of the includes, excludes and catenation patterns
+     */
+    String getDescription()
+    {
+        return description;
+    }
+
+    /**
+     * Returns the paths of the entries that were skipped because their target path is owned by another source.
+     *
+     * @return the skipped paths, relative to the root of the overlay
+     */
+    Collection<String> getPrunedPaths()
+    {
+        return prunedPaths;
+    }
+
+    /**
+     * Specifies if the specified path, relative to the root of the overlay, is owned by another source.
+     *
+     * @param path the path of an entry of the overlay
+     * @return true if the file of the overlay would not be copied
+     */
+    boolean isOwnedByOtherSource( String path )
+    {
+        if ( structure == null )
+        {
+            return false;
+        }
+        final String owner = structure.getOwner( targetPrefix + path );
+        return owner != null && !owner.equals( overlayId );
+    }
+
+    @Override
+    public boolean isSelected( FileInfo fileInfo )
+    {
+        if ( !fileInfo.isFile() )
+        {
+            return true;
+        }
+        final String path = fileInfo.getName().replace( '\\', '/' );
+        final String name = path.replace( '/', File.separatorChar );
+        if ( catenationIncludes.matches( name, true ) )
+        {
+            return true;
+        }
+        if ( !includes.matches( name, true ) || excludes.matches( name, true ) )
+        {
+            return false;
+        }
+        if ( isOwnedByOtherSource( path ) )
+        {
+            prunedPaths.add( path );
+            return false;
+        }
+        return true;
+    }
+}
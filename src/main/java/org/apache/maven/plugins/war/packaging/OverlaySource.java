@@ -0,0 +1,81 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.maven.plugins.war.util.PathSet;
+
+/**
+ * The content of an overlay, either unpacked in a directory or read from its archive.
+ *
+ * @since 3.2.4
+ */
+public interface OverlaySource
+    extends Closeable
+{
+    /**
+     * Returns the files of the overlay matching the specified patterns. The default excludes are always applied.
+     *
+     * @param includes the includes, all the files being included if <tt>null</tt> or empty
+     * @param excludes the excludes or <tt>null</tt>
+     * @return the relative paths of the matching files
+     * @throws IOException if the content of the overlay could not be read
+     */
+    PathSet getFiles( String[] includes, String[] excludes )
+        throws IOException;
+
+    /**
+     * Specifies if the overlay has a file at the specified path.
+     *
+     * @param path the relative path of the file
+     * @return true if the file exists
+     */
+    boolean isFile( String path );
+
+    /**
+     * Returns the file holding the content at the specified path, if the overlay is unpacked.
+     *
+     * @param path the relative path of the file
+     * @return the file or <tt>null</tt> if the overlay is read from its archive
+     */
+    File getFile( String path );
+
+    /**
+     * Returns the modification date of the file at the specified path.
+     *
+     * @param path the relative path of the file
+     * @return the modification date in milliseconds, 0 if unknown
+     */
+    long getLastModified( String path );
+
+    /**
+     * Opens the file at the specified path. This method may be called concurrently.
+     *
+     * @param path the relative path of the file
+     * @return the content of the file, to be closed by the caller
+     * @throws IOException if the file does not exist or could not be read
+     */
+    InputStream openStream( String path )
+        throws IOException;
+}
@@ -0,0 +1,272 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.util.UnpackCache;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.UnArchiver;
+import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Unpacks the overlays in the overlays work directory or in the shared unpack cache, for the packaging tasks and the
+ * {@link OverlayPrefetcher}.
+ *
+ * An overlay unpacked in the work directory is reused by the next build if its archive did not change. A selection
+ * file records the files that were extracted, and a marker file is kept next to the directory while it is being
+ * unpacked so that an interrupted unpack is started again.
+ *
+ * @since 3.2.4
+ */
+final class OverlayUnpacker
+{
+    /**
+     * The suffix of the file recording which files of an overlay were unpacked.
+     */
+    private static final String SELECTION_FILE_SUFFIX = ".selection";
+
+    /**
+     * The suffix of the file marking an overlay whose unpack has not completed.
+     */
+    private static final String PROGRESS_FILE_SUFFIX = ".unpacking";
+
+    private OverlayUnpacker()
+    {
+    }
+
+    /**
+     * Unpacks the specified overlay.
+     *
+     * @param context the packaging context
+     * @param overlay the overlay
+     * @param skipOwnedPaths whether the files whose target path is already owned by another source are skipped
+     * @return the directory containing the unpacked overlay
+     * @throws MojoExecutionException if an error occurred while unpacking the overlay
+     */
+    static File unpack( final WarPackagingContext context, Overlay overlay, boolean skipOwnedPaths )
+        throws MojoExecutionException
+    {
+        final File artifactFile = overlay.getArtifact().getFile();
+        final UnpackCache unpackCache = context.getOverlayUnpackCache();
+        if ( unpackCache != null )
+        {
+            // the shared directory must not depend on the state of the build: paths owned by other sources are kept
+            final OverlaySelector selector = new OverlaySelector( overlay, context.getCatenationIncludes(), null );
+            try
+            {
+                final File result = unpackCache.getDirectory( artifactFile, selector.getDescription(),
+                                                              new UnpackCache.Unpacker()
+                {
+                    @Override
+                    public void unpack( File archive, File directory )
+                        throws MojoExecutionException
+                    {
+                        extract( context, archive, directory, selector );
+                    }
+                } );
+                context.getLog().debug( "Overlay [" + overlay + "] is unpacked in [" + result + "]" );
+                return result;
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Could not unpack overlay [" + overlay + "] in ["
+                    + unpackCache.getBaseDirectory() + "]", e );
+            }
+        }
+
+        final File tmpDir = getOverlayTempDirectory( context, overlay );
+        final OverlaySelector selector =
+            new OverlaySelector( overlay, context.getCatenationIncludes(),
+                                 skipOwnedPaths ? context.getWebappStructure() : null );
+        final File selectionFile = new File( tmpDir.getParentFile(), tmpDir.getName() + SELECTION_FILE_SUFFIX );
+        final File progressFile = new File( tmpDir.getParentFile(), tmpDir.getName() + PROGRESS_FILE_SUFFIX );
+
+        // An overlay unchanged since the previous build does not need to be checked any further
+        final String[] unpackedEntries = tmpDir.list();
+        final boolean unpacked = unpackedEntries != null && unpackedEntries.length > 0 && !progressFile.exists()
+            && isSelectionUnpacked( context, selectionFile, selector );
+        if ( unpacked && context.getWebappStructure().isOverlayUnchanged( overlay.getId(), artifactFile ) )
+        {
+            context.getLog().debug( "Overlay [" + overlay + "] is unchanged since the previous build" );
+        }
+        // TODO: not sure it's good, we should reuse the markers of the dependency plugin
+        else if ( !unpacked || artifactFile.lastModified() > tmpDir.lastModified() )
+        {
+            // the marker outlives an unpack that did not complete, so that the next build unpacks the overlay again
+            createProgressFile( progressFile );
+            selectionFile.delete();
+            extract( context, artifactFile, tmpDir, selector );
+            writeSelection( selectionFile, selector );
+            progressFile.delete();
+        }
+        else
+        {
+            context.getLog().debug( "Overlay [" + overlay + "] was already unpacked" );
+        }
+        context.getWebappStructure().registerOverlayState( overlay.getId(), artifactFile );
+        return tmpDir;
+    }
+
+    /**
+     * Specifies if the files selected by the <tt>selector</tt> have been unpacked, according to the selection file
+     * written by the previous unpack. A directory without selection file holds all the files of the overlay.
+     */
+    private static boolean isSelectionUnpacked( WarPackagingContext context, File selectionFile,
+                                                OverlaySelector selector )
+    {
+        if ( !selectionFile.isFile() )
+        {
+            return true;
+        }
+        try
+        {
+            final List<String> lines = Files.readAllLines( selectionFile.toPath(), StandardCharsets.UTF_8 );
+            if ( lines.isEmpty() || !lines.get( 0 ).equals( selector.getDescription() ) )
+            {
+                return false;
+            }
+            // a file that was skipped is needed if its path is no longer owned by another source
+            for ( String path : lines.subList( 1, lines.size() ) )
+            {
+                if ( !selector.isOwnedByOtherSource( path ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        catch ( IOException e )
+        {
+            context.getLog().debug( "Could not read [" + selectionFile + "]: " + e );
+            return false;
+        }
+    }
+
+    /**
+     * Creates the file marking an unpack in progress.
+     */
+    private static void createProgressFile( File progressFile )
+        throws MojoExecutionException
+    {
+        try
+        {
+            Files.write( progressFile.toPath(), new byte[0] );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Could not write [" + progressFile.getAbsolutePath() + "]", e );
+        }
+    }
+
+    /**
+     * Records the files selected by the <tt>selector</tt> so that the next build can tell whether the unpacked
+     * directory holds the files it needs.
+     */
+    private static void writeSelection( File selectionFile, OverlaySelector selector )
+        throws MojoExecutionException
+    {
+        final List<String> lines = new ArrayList<>();
+        lines.add( selector.getDescription() );
+        lines.addAll( selector.getPrunedPaths() );
+        try
+        {
+            Files.write( selectionFile.toPath(), lines, StandardCharsets.UTF_8 );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Could not write [" + selectionFile.getAbsolutePath() + "]", e );
+        }
+    }
+
+    /**
+     * Returns the directory to use to unpack the specified overlay.
+     *
+     * @param context the packaging context
+     * @param overlay the overlay
+     * @return the temp directory for the overlay
+     */
+    static File getOverlayTempDirectory( WarPackagingContext context, Overlay overlay )
+    {
+        final File groupIdDir = new File( context.getOverlaysWorkDirectory(), overlay.getGroupId() );
+        if ( !groupIdDir.exists() )
+        {
+            groupIdDir.mkdir();
+        }
+        String directoryName = overlay.getArtifactId();
+        if ( overlay.getClassifier() != null )
+        {
+            directoryName = directoryName + "-" + overlay.getClassifier();
+        }
+        final File result = new File( groupIdDir, directoryName );
+        if ( !result.exists() )
+        {
+            result.mkdirs();
+        }
+        return result;
+    }
+
+    /**
+     * Unpacks the entries of the specified file accepted by the <tt>selector</tt> to the specified directory.
+     *
+     * @param context the packaging context
+     * @param file the file to unpack
+     * @param unpackDirectory the directory to use for th unpacked file
+     * @param selector the selector of the entries to unpack or <tt>null</tt> to unpack all of them
+     * @throws MojoExecutionException if an error occurred while unpacking the file
+     */
+    static void extract( WarPackagingContext context, File file, File unpackDirectory, FileSelector selector )
+        throws MojoExecutionException
+    {
+        String archiveExt = FileUtils.getExtension( file.getAbsolutePath() ).toLowerCase();
+
+        try
+        {
+            UnArchiver unArchiver = context.getArchiverManager().getUnArchiver( archiveExt );
+            unArchiver.setSourceFile( file );
+            unArchiver.setDestDirectory( unpackDirectory );
+            unArchiver.setOverwrite( true );
+            if ( selector != null )
+            {
+                unArchiver.setFileSelectors( new FileSelector[] { selector } );
+            }
+            unArchiver.extract();
+        }
+        catch ( ArchiverException e )
+        {
+            throw new MojoExecutionException( "Error unpacking file [" + file.getAbsolutePath() + "]" + " to ["
+                + unpackDirectory.getAbsolutePath() + "]", e );
+        }
+        catch ( NoSuchArchiverException e )
+        {
+            context.getLog().warn( "Skip unpacking dependency file [" + file.getAbsolutePath()
+                                       + " with unknown extension [" + archiveExt + "]" );
+        }
+    }
+}
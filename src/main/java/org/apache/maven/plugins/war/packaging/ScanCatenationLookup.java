@@ -1,10 +1,5 @@
-package org.apache.maven.plugins.war.packaging.refs;
+package org.apache.maven.plugins.war.packaging;
 
-import org.apache.maven.artifact.Artifact;
-import org.apache.maven.plugins.war.Overlay;
-import org.apache.maven.shared.dependency.graph.DependencyNode;
-
-import java.util.List;
 /*
  * Licensed to the Apache Software Foundation (ASF) under one
  * or more contributor license agreements.  See the NOTICE file
@@ -23,10 +18,22 @@ import java.util.List;
  * specific language governing permissions and limitations
  * under the License.
  */
-public interface DependencyReference {
-    Overlay getOverlay();
-    List<DependencyReference> getChildren();
-    void addChildren(List<DependencyReference> children);
-    DependencyNode getNode();
-    Artifact getArtifact();
+
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.util.PathSet;
+
+/**
+ * Looks up the paths to catenate in the webapp source directory, for every overlay.
+ *
+ * @see CatenationSeekStrategy#SCAN
+ * @since 3.2.4
+ */
+final class ScanCatenationLookup
+    implements CatenationLookup
+{
+    @Override
+    public PathSet getFiles( WarPackagingContext context, Overlay overlay, String[] includes )
+    {
+        return AbstractWarPackagingTask.scanFiles( context.getWebappSourceDirectory(), includes, null, false );
+    }
 }
@@ -22,11 +22,16 @@ package org.apache.maven.plugins.war.packaging;
 import java.io.File;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.maven.archiver.MavenArchiveConfiguration;
 import org.apache.maven.artifact.factory.ArtifactFactory;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.war.util.DelimiterScanner;
+import org.apache.maven.plugins.war.util.FilteredOutputCache;
+import org.apache.maven.plugins.war.util.FingerprintManifest;
+import org.apache.maven.plugins.war.util.UnpackCache;
 import org.apache.maven.plugins.war.util.WebappStructure;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.filtering.MavenFileFilter;
@@ -231,4 +236,98 @@ public interface WarPackagingContext
      * @since 3.2.4
      */
     Collection<String> getOutdatedResources();
+
+    /**
+     * Returns the executor to use to perform file operations concurrently. Returns <tt>null</tt> if the files must be
+     * processed on the calling thread.
+     *
+     * @return the packaging executor or <tt>null</tt>
+     * @since 3.2.4
+     */
+    ExecutorService getPackagingExecutor();
+
+    /**
+     * Returns the number of threads of the {@link #getPackagingExecutor() packaging executor}.
+     *
+     * @return the number of packaging threads
+     * @since 3.2.4
+     */
+    int getPackagingThreads();
+
+    /**
+     * Returns the manifest used to decide whether a copied file is up to date. Returns <tt>null</tt> if the
+     * modification dates of the source and destination files should be compared instead.
+     *
+     * @return the fingerprint manifest or <tt>null</tt>
+     * @since 3.2.4
+     */
+    FingerprintManifest getFingerprintManifest();
+
+    /**
+     * Returns how the unfiltered files are materialized in the webapp directory.
+     *
+     * @return the materialization mode
+     * @since 3.2.4
+     */
+    MaterializationMode getMaterializationMode();
+
+    /**
+     * Returns the sink receiving the files that are packaged as is. Returns <tt>null</tt> if these files must be
+     * copied to the webapp directory.
+     *
+     * @return the webapp entry sink or <tt>null</tt>
+     * @since 3.2.4
+     */
+    WebappEntrySink getWebappEntrySink();
+
+    /**
+     * Returns the cache of unpacked overlays shared with other builds, if any.
+     *
+     * @return the shared unpack cache or <tt>null</tt> if overlays are unpacked in the
+     *         {@link #getOverlaysWorkDirectory() overlays work directory}
+     * @since 3.2.4
+     */
+    UnpackCache getOverlayUnpackCache();
+
+    /**
+     * Specifies if overlays are unpacked before being copied. If not, the files of an overlay are extracted straight
+     * from its archive to the webapp, unless they must be filtered.
+     *
+     * @return true if overlays are unpacked in the {@link #getOverlaysWorkDirectory() overlays work directory}
+     * @since 3.2.4
+     */
+    boolean isUnpackOverlays();
+
+    /**
+     * Returns the prefetcher unpacking the overlays ahead of the packaging tasks, if any.
+     *
+     * @return the overlay prefetcher or <tt>null</tt> if overlays are unpacked by the tasks that use them
+     * @since 3.2.4
+     */
+    OverlayPrefetcher getOverlayPrefetcher();
+
+    /**
+     * Returns the patterns of the files catenated from the overlays.
+     *
+     * @return the catenation includes, empty if nothing is catenated
+     * @since 3.2.4
+     */
+    String[] getCatenationIncludes();
+
+    /**
+     * Returns the scanner telling which files hold a filtering expression. A file without expression is copied as is
+     * rather than through the {@link #getFilterWrappers() filter wrappers}.
+     *
+     * @return the delimiter scanner or <tt>null</tt> if every filtered file goes through the filter wrappers
+     * @since 3.2.4
+     */
+    DelimiterScanner getDelimiterScanner();
+
+    /**
+     * Returns the cache of the output of the filtered files, if any.
+     *
+     * @return the filtered output cache or <tt>null</tt> if every filtered file is filtered
+     * @since 3.2.4
+     */
+    FilteredOutputCache getFilteredOutputCache();
 }
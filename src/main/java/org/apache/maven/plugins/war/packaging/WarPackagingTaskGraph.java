@@ -0,0 +1,242 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * A set of {@link WarPackagingTask} instances with ordering constraints between them.
+ *
+ * Tasks are registered in their natural (sequential) order and may only depend on tasks that have been registered
+ * before them, which makes the graph acyclic by construction. Tasks without a path between them are considered
+ * independent and may run concurrently.
+ *
+ * @since 3.2.4
+ */
+public class WarPackagingTaskGraph
+{
+    private final List<Node> nodes = new ArrayList<>();
+
+    private final Map<WarPackagingTask, Node> index = new IdentityHashMap<>();
+
+    /**
+     * Registers the specified task.
+     *
+     * @param task the task to register
+     * @param dependencies the tasks that must be completed before <tt>task</tt> is started
+     * @throws IllegalArgumentException if the task is already registered or if a dependency is unknown
+     */
+    public void addTask( WarPackagingTask task, Collection<? extends WarPackagingTask> dependencies )
+    {
+        if ( index.containsKey( task ) )
+        {
+            throw new IllegalArgumentException( "Task [" + task + "] is already registered." );
+        }
+        final Node node = new Node( task );
+        for ( WarPackagingTask dependency : dependencies )
+        {
+            final Node parent = index.get( dependency );
+            if ( parent == null )
+            {
+                throw new IllegalArgumentException( "Task [" + task + "] depends on unknown task [" + dependency
+                    + "]." );
+            }
+            if ( !parent.successors.contains( node ) )
+            {
+                parent.successors.add( node );
+                node.predecessors++;
+            }
+        }
+        nodes.add( node );
+        index.put( task, node );
+    }
+
+    /**
+     * Returns the registered tasks in registration order.
+     *
+     * @return the tasks
+     */
+    public List<WarPackagingTask> getTasks()
+    {
+        final List<WarPackagingTask> result = new ArrayList<>( nodes.size() );
+        for ( Node node : nodes )
+        {
+            result.add( node.task );
+        }
+        return result;
+    }
+
+    /**
+     * Performs all the tasks of this graph.
+     *
+     * With a single thread, the tasks are performed sequentially in registration order. Otherwise a task is started
+     * as soon as all its dependencies have completed. The first failure stops the scheduling of new tasks; the tasks
+     * that are already running are allowed to complete before the failure is reported.
+     *
+     * @param context the packaging context
+     * @param threads the maximum number of tasks to perform concurrently
+     * @throws MojoExecutionException if a task failed
+     * @throws MojoFailureException if a task reported an invalid project configuration
+     */
+    public void execute( final WarPackagingContext context, int threads )
+        throws MojoExecutionException, MojoFailureException
+    {
+        if ( threads <= 1 || nodes.size() <= 1 )
+        {
+            for ( Node node : nodes )
+            {
+                node.task.performPackaging( context );
+            }
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool( Math.min( threads, nodes.size() ) );
+        try
+        {
+            final CompletionService<Node> completionService = new ExecutorCompletionService<>( executor );
+            final Map<Node, Integer> pending = new IdentityHashMap<>();
+            int running = 0;
+            for ( Node node : nodes )
+            {
+                pending.put( node, node.predecessors );
+                if ( node.predecessors == 0 )
+                {
+                    submit( completionService, context, node );
+                    running++;
+                }
+            }
+
+            Throwable failure = null;
+            while ( running > 0 )
+            {
+                final Node completed;
+                try
+                {
+                    completed = completionService.take().get();
+                }
+                catch ( ExecutionException e )
+                {
+                    running--;
+                    if ( failure == null )
+                    {
+                        failure = e.getCause();
+                    }
+                    continue;
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                    throw new MojoExecutionException( "Interrupted while waiting for packaging tasks", e );
+                }
+                running--;
+
+                if ( failure == null )
+                {
+                    for ( Node successor : completed.successors )
+                    {
+                        final int remaining = pending.get( successor ) - 1;
+                        pending.put( successor, remaining );
+                        if ( remaining == 0 )
+                        {
+                            submit( completionService, context, successor );
+                            running++;
+                        }
+                    }
+                }
+            }
+
+            if ( failure != null )
+            {
+                rethrow( failure );
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private void submit( CompletionService<Node> completionService, final WarPackagingContext context,
+                         final Node node )
+    {
+        completionService.submit( new Callable<Node>()
+        {
+            @Override
+            public Node call()
+                throws Exception
+            {
+                node.task.performPackaging( context );
+                return node;
+            }
+        } );
+    }
+
+    private static void rethrow( Throwable failure )
+        throws MojoExecutionException, MojoFailureException
+    {
+        if ( failure instanceof MojoExecutionException )
+        {
+            throw (MojoExecutionException) failure;
+        }
+        if ( failure instanceof MojoFailureException )
+        {
+            throw (MojoFailureException) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        throw new MojoExecutionException( failure.getMessage(), failure );
+    }
+
+    /**
+     * A task and its outgoing edges.
+     */
+    private static final class Node
+    {
+        private final WarPackagingTask task;
+
+        private final List<Node> successors = new ArrayList<>();
+
+        private int predecessors;
+
+        Node( WarPackagingTask task )
+        {
+            this.task = task;
+        }
+    }
+}
@@ -79,6 +79,14 @@ public class WarProjectPackagingTask
         this.id = currentProjectOverlay.getId();
     }
 
+    /**
+     * @return the overlay representing the current project
+     */
+    public Overlay getCurrentProjectOverlay()
+    {
+        return currentProjectOverlay;
+    }
+
     @Override
     public void performPackaging( WarPackagingContext context )
         throws MojoExecutionException, MojoFailureException
@@ -249,8 +257,7 @@ public class WarProjectPackagingTask
 
                 if ( context.isFilteringDeploymentDescriptors() )
                 {
-                    context.getMavenFileFilter().copyFile( webXml, new File( webinfDir, "web.xml" ), true,
-                                                           context.getFilterWrappers(), getEncoding( webXml ) );
+                    filterFile( context, webXml, new File( webinfDir, "web.xml" ), getEncoding( webXml ) );
                 }
                 else
                 {
@@ -265,8 +272,8 @@ public class WarProjectPackagingTask
                 if ( defaultWebXml.exists() && context.isFilteringDeploymentDescriptors() )
                 {
                     context.getWebappStructure().registerFile( id, WEB_INF_PATH + "/web.xml" );
-                    context.getMavenFileFilter().copyFile( defaultWebXml, new File( webinfDir, "web.xml" ), true,
-                                                           context.getFilterWrappers(), getEncoding( defaultWebXml ) );
+                    filterFile( context, defaultWebXml, new File( webinfDir, "web.xml" ),
+                                getEncoding( defaultWebXml ) );
                 }
             }
 
@@ -278,9 +285,8 @@ public class WarProjectPackagingTask
 
                 if ( context.isFilteringDeploymentDescriptors() )
                 {
-                    context.getMavenFileFilter().copyFile( containerConfigXML, new File( metainfDir, xmlFileName ),
-                                                           true, context.getFilterWrappers(),
-                                                           getEncoding( containerConfigXML ) );
+                    filterFile( context, containerConfigXML, new File( metainfDir, xmlFileName ),
+                                getEncoding( containerConfigXML ) );
                 }
                 else
                 {
@@ -0,0 +1,44 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+/**
+ * Receives the files that are packaged as is, instead of having them copied to the webapp directory. The files that
+ * are generated or filtered are still written to the webapp directory.
+ *
+ * Entries are only added once the target path has been registered in the
+ * {@link org.apache.maven.plugins.war.util.WebappStructure webapp structure}, hence a path is added at most once.
+ * Implementations must be thread safe.
+ *
+ * @since 3.2.4
+ */
+public interface WebappEntrySink
+{
+    /**
+     * Adds the specified file to the webapp.
+     *
+     * @param source the file holding the content of the entry, which must not be modified until the webapp is
+     *            packaged
+     * @param targetFilename the relative path according to the root of the webapp
+     */
+    void addEntry( File source, String targetFilename );
+}
@@ -0,0 +1,89 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Writes the records of the plugin next to their final location first, so that an interrupted build never leaves a
+ * partial record behind.
+ *
+ * @since 3.2.4
+ */
+final class AtomicFiles
+{
+    private AtomicFiles()
+    {
+    }
+
+    /**
+     * Replaces the content of the specified file with the specified lines.
+     *
+     * @param file the file
+     * @param lines the lines to write
+     * @throws IOException if the file could not be written
+     */
+    static void write( File file, List<String> lines )
+        throws IOException
+    {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if ( !parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory() )
+        {
+            throw new IOException( "Could not create parent directory [" + parent.getAbsolutePath() + "]" );
+        }
+        final File tmp = File.createTempFile( file.getName(), ".tmp", parent );
+        try
+        {
+            Files.write( tmp.toPath(), lines, StandardCharsets.UTF_8 );
+            move( tmp, file );
+        }
+        finally
+        {
+            Files.deleteIfExists( tmp.toPath() );
+        }
+    }
+
+    /**
+     * Moves the specified file to the target, atomically if the file system supports it.
+     *
+     * @param source the file to move, in the directory of the target
+     * @param target the target file, replaced if it exists
+     * @throws IOException if the file could not be moved
+     */
+    static void move( File source, File target )
+        throws IOException
+    {
+        try
+        {
+            Files.move( source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING );
+        }
+        catch ( AtomicMoveNotSupportedException e )
+        {
+            Files.move( source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+}
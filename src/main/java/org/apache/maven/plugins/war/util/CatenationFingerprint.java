@@ -0,0 +1,165 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The inputs of a catenated file: the settings of the catenation, the overlays in catenation order with the checksum
+ * of their artifact and the size and modification date of the files of the current project.
+ *
+ * The fingerprint is recorded in the work directory once the file has been catenated, with the size and modification
+ * date of the file. The next build does not need to catenate the file again if it computes the same fingerprint and
+ * the file was not modified. The checksum of an artifact recorded with the same size and modification date is reused
+ * rather than computed again.
+ *
+ * @since 3.2.4
+ */
+public class CatenationFingerprint
+{
+    private static final String OVERLAY = "overlay";
+
+    private static final String FILE = "file";
+
+    private static final String OUTPUT = "output";
+
+    private final File recordFile;
+
+    private final List<String> lines = new ArrayList<>();
+
+    private final Map<String, String[]> previousOverlays = new HashMap<>();
+
+    private final List<String> previousLines = new ArrayList<>();
+
+    private String previousOutput;
+
+    private boolean complete = true;
+
+    /**
+     * Creates the fingerprint of the specified catenated file, loading the one recorded by the previous build.
+     *
+     * @param workDirectory the directory holding the fingerprints
+     * @param outFile the catenated file
+     * @param settings the settings of the catenation
+     * @throws IOException if the previous fingerprint could not be read
+     */
+    public CatenationFingerprint( File workDirectory, File outFile, String settings )
+        throws IOException
+    {
+        final String key = Checksums.digest( outFile.getAbsolutePath().getBytes( StandardCharsets.UTF_8 ) );
+        this.recordFile = new File( workDirectory, outFile.getName() + "-" + key.substring( 0, 16 ) + ".txt" );
+        lines.add( "settings\t" + settings );
+        if ( recordFile.isFile() )
+        {
+            for ( String line : Files.readAllLines( recordFile.toPath(), StandardCharsets.UTF_8 ) )
+            {
+                if ( line.startsWith( OUTPUT + "\t" ) )
+                {
+                    previousOutput = line;
+                    continue;
+                }
+                previousLines.add( line );
+                final String[] tokens = line.split( "\t" );
+                if ( tokens.length == 5 && OVERLAY.equals( tokens[0] ) )
+                {
+                    previousOverlays.put( tokens[1], tokens );
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the next overlay in catenation order.
+     *
+     * @param id the id of the overlay
+     * @param artifactFile the file of the overlay; a directory makes the fingerprint incomplete
+     * @throws IOException if the checksum of the file could not be computed
+     */
+    public void addOverlay( String id, File artifactFile )
+        throws IOException
+    {
+        if ( artifactFile == null || !artifactFile.isFile() )
+        {
+            complete = false;
+            return;
+        }
+        final String length = String.valueOf( artifactFile.length() );
+        final String lastModified = String.valueOf( artifactFile.lastModified() );
+        final String[] previous = previousOverlays.get( id );
+        final String checksum = previous != null && previous[2].equals( length ) && previous[3].equals( lastModified )
+            ? previous[4] : Checksums.checksum( artifactFile );
+        lines.add( OVERLAY + "\t" + id + "\t" + length + "\t" + lastModified + "\t" + checksum );
+    }
+
+    /**
+     * Adds the next file of the current project in catenation order.
+     *
+     * @param path the relative path of the file
+     * @param file the file
+     */
+    public void addFile( String path, File file )
+    {
+        lines.add( FILE + "\t" + path + "\t" + file.length() + "\t" + file.lastModified() );
+    }
+
+    /**
+     * Specifies if the catenated file was produced from the same inputs by the previous build and was not modified
+     * since.
+     *
+     * @param outFile the catenated file
+     * @return true if the file does not need to be catenated again
+     */
+    public boolean isUpToDate( File outFile )
+    {
+        return complete && outFile.isFile() && output( outFile ).equals( previousOutput )
+            && lines.equals( previousLines );
+    }
+
+    /**
+     * Records this fingerprint for the specified catenated file. An incomplete fingerprint is not recorded.
+     *
+     * @param outFile the catenated file
+     * @throws IOException if the fingerprint could not be written
+     */
+    public void save( File outFile )
+        throws IOException
+    {
+        if ( !complete )
+        {
+            Files.deleteIfExists( recordFile.toPath() );
+            return;
+        }
+        final List<String> result = new ArrayList<>( lines );
+        result.add( output( outFile ) );
+        AtomicFiles.write( recordFile, result );
+    }
+
+    private static String output( File outFile )
+    {
+        return OUTPUT + "\t" + outFile.length() + "\t" + outFile.lastModified();
+    }
+}
@@ -0,0 +1,139 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes the SHA-1 checksums used to key the caches of the plugin.
+ *
+ * @since 3.2.4
+ */
+final class Checksums
+{
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * The checksums computed by this JVM, so that the modules of a reactor do not read an archive again.
+     */
+    private static final Map<String, String> CHECKSUMS = new ConcurrentHashMap<>();
+
+    private Checksums()
+    {
+    }
+
+    /**
+     * Returns the SHA-1 checksum of the specified file, which is computed once per JVM for a given size and
+     * modification date.
+     *
+     * @param file the file
+     * @return the hexadecimal checksum
+     * @throws IOException if the file could not be read
+     */
+    static String checksum( File file )
+        throws IOException
+    {
+        final String id = file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified();
+        String result = CHECKSUMS.get( id );
+        if ( result == null )
+        {
+            result = digest( file );
+            CHECKSUMS.put( id, result );
+        }
+        return result;
+    }
+
+    /**
+     * Returns the SHA-1 checksum of the content of the specified file.
+     *
+     * @param file the file
+     * @return the hexadecimal checksum
+     * @throws IOException if the file could not be read
+     */
+    static String digest( File file )
+        throws IOException
+    {
+        try ( InputStream in = new FileInputStream( file ) )
+        {
+            return digest( in );
+        }
+    }
+
+    /**
+     * Returns the SHA-1 checksum of the specified bytes.
+     *
+     * @param bytes the bytes
+     * @return the hexadecimal checksum
+     */
+    static String digest( byte[] bytes )
+    {
+        try
+        {
+            return digest( new ByteArrayInputStream( bytes ) );
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "Could not read an array", e );
+        }
+    }
+
+    /**
+     * Returns the SHA-1 checksum of the content of the specified stream, which is not closed.
+     *
+     * @param in the stream
+     * @return the hexadecimal checksum
+     * @throws IOException if the stream could not be read
+     */
+    static String digest( InputStream in )
+        throws IOException
+    {
+        final MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-1" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "SHA-1 is not available", e );
+        }
+        final byte[] buffer = new byte[65536];
+        int read;
+        while ( ( read = in.read( buffer ) ) != -1 )
+        {
+            digest.update( buffer, 0, read );
+        }
+        final byte[] bytes = digest.digest();
+        final char[] chars = new char[bytes.length * 2];
+        for ( int i = 0; i < bytes.length; i++ )
+        {
+            chars[i * 2] = HEX[( bytes[i] >> 4 ) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String( chars );
+    }
+}
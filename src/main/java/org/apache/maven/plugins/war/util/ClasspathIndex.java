@@ -0,0 +1,276 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Indexes the classes of a classpath, so that the build can find out which elements hold a class without loading
+ * it.
+ *
+ * The class names of a jar are read from its central directory, and recorded with the path, the size and the last
+ * modification date of the jar: a later build reads again only the jars that changed. The directories of the
+ * classpath are not recorded since they usually change from a build to another, and are probed instead.
+ *
+ * @since 3.2.4
+ */
+public class ClasspathIndex
+{
+    private static final String JAR = "jar\t";
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final File file;
+
+    /**
+     * The classpath elements, in order, with the class names of the jars. A directory has no class names.
+     */
+    private final Map<File, Set<String>> elements = new LinkedHashMap<>();
+
+    private final Map<File, long[]> states = new HashMap<>();
+
+    private boolean modified;
+
+    /**
+     * @param file the file holding the record of the class names or <tt>null</tt> to read every jar
+     */
+    public ClasspathIndex( File file )
+    {
+        this.file = file;
+    }
+
+    /**
+     * Indexes the specified classpath elements, reusing the recorded class names of the jars that did not change.
+     * Missing elements are ignored.
+     *
+     * @param classpathElements the jars and directories of the classpath, in order
+     * @throws IOException if a jar could not be read
+     */
+    public void index( Collection<File> classpathElements )
+        throws IOException
+    {
+        final Map<File, JarRecord> records = read();
+        int reused = 0;
+        for ( File element : classpathElements )
+        {
+            if ( element.isDirectory() )
+            {
+                elements.put( element, null );
+            }
+            else if ( element.isFile() )
+            {
+                final long size = element.length();
+                final long lastModified = element.lastModified();
+                final JarRecord record = records.get( element.getAbsoluteFile() );
+                if ( record != null && record.size == size && record.lastModified == lastModified )
+                {
+                    elements.put( element, record.classNames );
+                    reused++;
+                }
+                else
+                {
+                    elements.put( element, readClassNames( element ) );
+                    modified = true;
+                }
+                states.put( element, new long[] { size, lastModified } );
+            }
+        }
+        modified |= reused != records.size();
+    }
+
+    /**
+     * Specifies if a classpath element holds the specified class.
+     *
+     * @param className the binary name of the class
+     * @return true if the class is on the classpath
+     */
+    public boolean containsClass( String className )
+    {
+        final String path = toPath( className );
+        for ( Map.Entry<File, Set<String>> entry : elements.entrySet() )
+        {
+            if ( holds( entry.getKey(), entry.getValue(), className, path ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the classpath elements which hold the specified class. More than one element holds a class that is
+     * duplicated on the classpath, the first one shadowing the others.
+     *
+     * @param className the binary name of the class
+     * @return the elements holding the class, in classpath order
+     */
+    public List<File> getElements( String className )
+    {
+        final String path = toPath( className );
+        final List<File> result = new ArrayList<>();
+        for ( Map.Entry<File, Set<String>> entry : elements.entrySet() )
+        {
+            if ( holds( entry.getKey(), entry.getValue(), className, path ) )
+            {
+                result.add( entry.getKey() );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the class names of the specified jar.
+     *
+     * @param jar an indexed jar
+     * @return the binary names of its classes, empty if the jar is not indexed
+     */
+    public Set<String> getClassNames( File jar )
+    {
+        final Set<String> result = elements.get( jar );
+        return result != null ? Collections.unmodifiableSet( result ) : Collections.<String>emptySet();
+    }
+
+    /**
+     * Records the class names of the indexed jars, if any of them changed since the last record.
+     *
+     * @throws IOException if the record could not be written
+     */
+    public void save()
+        throws IOException
+    {
+        if ( !modified || file == null )
+        {
+            return;
+        }
+        final List<String> lines = new ArrayList<>();
+        for ( Map.Entry<File, Set<String>> entry : elements.entrySet() )
+        {
+            if ( entry.getValue() != null )
+            {
+                final long[] state = states.get( entry.getKey() );
+                lines.add( JAR + state[0] + '\t' + state[1] + '\t' + entry.getKey().getAbsolutePath() );
+                lines.addAll( entry.getValue() );
+            }
+        }
+        // a truncated record would hide classes of an unchanged jar
+        AtomicFiles.write( file, lines );
+        modified = false;
+    }
+
+    private Map<File, JarRecord> read()
+    {
+        final Map<File, JarRecord> result = new HashMap<>();
+        if ( file == null || !file.isFile() )
+        {
+            return result;
+        }
+        try
+        {
+            JarRecord record = null;
+            for ( String line : Files.readAllLines( file.toPath(), StandardCharsets.UTF_8 ) )
+            {
+                if ( line.startsWith( JAR ) )
+                {
+                    final String[] fields = line.split( "\t", 4 );
+                    record = new JarRecord( Long.parseLong( fields[1] ), Long.parseLong( fields[2] ) );
+                    result.put( new File( fields[3] ), record );
+                }
+                else if ( record != null )
+                {
+                    record.classNames.add( line );
+                }
+            }
+            return result;
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            // a corrupted record is ignored, the jars are read again
+            return new HashMap<>();
+        }
+    }
+
+    private static Set<String> readClassNames( File jar )
+        throws IOException
+    {
+        final Set<String> result = new HashSet<>();
+        try ( ZipFile zip = new ZipFile( jar ) )
+        {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while ( entries.hasMoreElements() )
+            {
+                final String name = entries.nextElement().getName();
+                if ( name.endsWith( CLASS_SUFFIX ) && !name.startsWith( "META-INF/" ) )
+                {
+                    result.add( name.substring( 0, name.length() - CLASS_SUFFIX.length() ).replace( '/', '.' ) );
+                }
+            }
+        }
+        catch ( ZipException e )
+        {
+            // not an archive, it holds no class as for a class loader
+        }
+        return result;
+    }
+
+    private static boolean holds( File element, Set<String> classNames, String className, String path )
+    {
+        return classNames != null ? classNames.contains( className ) : new File( element, path ).isFile();
+    }
+
+    private static String toPath( String className )
+    {
+        return className.replace( '.', '/' ) + CLASS_SUFFIX;
+    }
+
+    /**
+     * The recorded class names of a jar.
+     */
+    private static class JarRecord
+    {
+        private final long size;
+
+        private final long lastModified;
+
+        private final Set<String> classNames = new HashSet<>();
+
+        JarRecord( long size, long lastModified )
+        {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the files which hold no filtering expression, so that they can be copied as is rather than through the filter
+ * chain.
+ *
+ * The begin tokens of all the delimiters are compiled once in an Aho-Corasick automaton, and a file is read once to
+ * find any of them. A file without begin token is left unchanged by the filters, whatever the escape string and the
+ * multi line setting, since an escaped expression starts with a begin token as well.
+ *
+ * The files are scanned as bytes: an encoding is only supported if it encodes the begin tokens as ASCII. Files in
+ * another encoding are always filtered.
+ *
+ * This class is thread safe.
+ *
+ * @since 3.2.4
+ */
+public final class DelimiterScanner
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<String> beginTokens;
+
+    /**
+     * The transitions of the automaton, indexed by state and byte.
+     */
+    private final int[][] transitions;
+
+    /**
+     * The states where a begin token ends.
+     */
+    private final boolean[] matches;
+
+    private final Map<String, Boolean> supportedEncodings = new ConcurrentHashMap<>();
+
+    private DelimiterScanner( List<String> beginTokens )
+    {
+        this.beginTokens = beginTokens;
+
+        final List<int[]> gotos = new ArrayList<>();
+        final List<Boolean> ends = new ArrayList<>();
+        gotos.add( newState() );
+        ends.add( Boolean.FALSE );
+        for ( String token : beginTokens )
+        {
+            int state = 0;
+            for ( byte b : token.getBytes( StandardCharsets.US_ASCII ) )
+            {
+                final int index = b & 0xff;
+                if ( gotos.get( state )[index] < 0 )
+                {
+                    gotos.get( state )[index] = gotos.size();
+                    gotos.add( newState() );
+                    ends.add( Boolean.FALSE );
+                }
+                state = gotos.get( state )[index];
+            }
+            ends.set( state, Boolean.TRUE );
+        }
+
+        // resolve the failure links in the transitions, breadth first
+        transitions = gotos.toArray( new int[gotos.size()][] );
+        matches = new boolean[transitions.length];
+        for ( int i = 0; i < matches.length; i++ )
+        {
+            matches[i] = ends.get( i );
+        }
+        final int[] failures = new int[transitions.length];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for ( int b = 0; b < 256; b++ )
+        {
+            final int next = transitions[0][b];
+            if ( next < 0 )
+            {
+                transitions[0][b] = 0;
+            }
+            else
+            {
+                failures[next] = 0;
+                queue.add( next );
+            }
+        }
+        while ( !queue.isEmpty() )
+        {
+            final int state = queue.poll();
+            matches[state] |= matches[failures[state]];
+            for ( int b = 0; b < 256; b++ )
+            {
+                final int next = transitions[state][b];
+                if ( next < 0 )
+                {
+                    transitions[state][b] = transitions[failures[state]][b];
+                }
+                else
+                {
+                    failures[next] = transitions[failures[state]][b];
+                    queue.add( next );
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles the scanner of the specified delimiters.
+     *
+     * @param delimiters the delimiters, in the form <tt>BEGIN*END</tt> or <tt>TOKEN</tt> for the same begin and end
+     * @return the scanner or <tt>null</tt> if a begin token is not ASCII
+     */
+    public static DelimiterScanner compile( Collection<String> delimiters )
+    {
+        final List<String> beginTokens = new ArrayList<>();
+        for ( String delimiter : delimiters )
+        {
+            if ( delimiter == null || delimiter.isEmpty() )
+            {
+                continue;
+            }
+            final int star = delimiter.indexOf( '*' );
+            final String beginToken = star < 0 ? delimiter : delimiter.substring( 0, star );
+            if ( beginToken.isEmpty() || !StandardCharsets.US_ASCII.newEncoder().canEncode( beginToken ) )
+            {
+                return null;
+            }
+            beginTokens.add( beginToken );
+        }
+        return new DelimiterScanner( beginTokens );
+    }
+
+    /**
+     * Specifies if files in the specified encoding can be scanned.
+     *
+     * @param encoding the encoding, <tt>null</tt> for the platform encoding
+     * @return true if the begin tokens are encoded as ASCII
+     */
+    public boolean supports( String encoding )
+    {
+        final String key = encoding == null ? "" : encoding;
+        Boolean result = supportedEncodings.get( key );
+        if ( result == null )
+        {
+            result = isAsciiCompatible( encoding );
+            supportedEncodings.put( key, result );
+        }
+        return result;
+    }
+
+    /**
+     * Specifies if the specified file holds a begin token.
+     *
+     * @param file the file
+     * @return true if the file holds a begin token, and may be changed by filtering
+     * @throws IOException if the file could not be read
+     */
+    public boolean hasBeginToken( File file )
+        throws IOException
+    {
+        try ( InputStream in = new FileInputStream( file ) )
+        {
+            return hasBeginToken( in );
+        }
+    }
+
+    /**
+     * Specifies if the specified stream holds a begin token.
+     *
+     * @param in the stream, which is not closed
+     * @return true if the stream holds a begin token
+     * @throws IOException if the stream could not be read
+     */
+    public boolean hasBeginToken( InputStream in )
+        throws IOException
+    {
+        if ( beginTokens.isEmpty() )
+        {
+            return false;
+        }
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int state = 0;
+        int read;
+        while ( ( read = in.read( buffer ) ) >= 0 )
+        {
+            for ( int i = 0; i < read; i++ )
+            {
+                state = transitions[state][buffer[i] & 0xff];
+                if ( matches[state] )
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isAsciiCompatible( String encoding )
+    {
+        final Charset charset;
+        try
+        {
+            charset = encoding == null ? Charset.defaultCharset() : Charset.forName( encoding );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            return false;
+        }
+        if ( !charset.canEncode() )
+        {
+            return false;
+        }
+        for ( String token : beginTokens )
+        {
+            if ( !Arrays.equals( token.getBytes( StandardCharsets.US_ASCII ), token.getBytes( charset ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] newState()
+    {
+        final int[] result = new int[256];
+        Arrays.fill( result, -1 );
+        return result;
+    }
+}
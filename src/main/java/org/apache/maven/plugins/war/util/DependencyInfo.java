@@ -19,6 +19,7 @@ package org.apache.maven.plugins.war.util;
  * under the License.
  */
 
+import java.io.Serializable;
 import java.util.Objects;
 
 import org.apache.maven.model.Dependency;
@@ -29,8 +30,11 @@ import org.apache.maven.model.Dependency;
  * @author Stephane Nicoll
  */
 public class DependencyInfo
+    implements Serializable
 {
 
+    private static final long serialVersionUID = 1L;
+
     private final Dependency dependency;
 
     private String targetFileName;
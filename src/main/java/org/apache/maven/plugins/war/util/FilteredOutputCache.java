@@ -0,0 +1,130 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+
+/**
+ * Keeps the output of the filtered files, so that a later build filtering the same content with the same filter
+ * inputs copies the recorded output rather than filtering the file again.
+ *
+ * An output is keyed by the content of its source, its encoding and the inputs of the filters: the properties, the
+ * model, the delimiters and the other filtering settings. The environment variables only take part in the key of the
+ * sources which refer to them, with an <tt>env.</tt> expression, since they usually change from a build to another.
+ *
+ * This class is thread safe, and the cache can be shared by concurrent builds.
+ *
+ * @since 3.2.4
+ */
+public class FilteredOutputCache
+{
+    private static final DelimiterScanner ENVIRONMENT_REFERENCE =
+        DelimiterScanner.compile( Collections.singletonList( "env." ) );
+
+    private final File directory;
+
+    private final String filterKey;
+
+    private final String environmentKey;
+
+    /**
+     * @param directory the directory holding the outputs
+     * @param filterInputs the inputs of the filters, but the environment variables
+     * @param environmentInputs the environment variables
+     * @throws IOException if the inputs could not be digested
+     */
+    public FilteredOutputCache( File directory, String filterInputs, String environmentInputs )
+        throws IOException
+    {
+        this.directory = directory;
+        this.filterKey = Checksums.digest( filterInputs.getBytes( StandardCharsets.UTF_8 ) );
+        this.environmentKey = Checksums.digest( environmentInputs.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * Computes the key of the output of the specified file.
+     *
+     * @param source the file to filter
+     * @param encoding the encoding of the file
+     * @return the key
+     * @throws IOException if the file could not be read
+     */
+    public String getKey( File source, String encoding )
+        throws IOException
+    {
+        final byte[] content = Files.readAllBytes( source.toPath() );
+        final boolean environment = ENVIRONMENT_REFERENCE.hasBeginToken( new ByteArrayInputStream( content ) );
+        final String key = filterKey + '|' + encoding + '|' + ( environment ? environmentKey : "" ) + '|'
+            + Checksums.digest( content );
+        return Checksums.digest( key.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * Copies the recorded output with the specified key to the target file.
+     *
+     * @param key the key of the output
+     * @param target the target file
+     * @return true if the output was recorded and copied
+     * @throws IOException if the output could not be copied
+     */
+    public boolean restore( String key, File target )
+        throws IOException
+    {
+        final File output = new File( directory, key );
+        if ( !output.isFile() )
+        {
+            return false;
+        }
+        Files.copy( output.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        return true;
+    }
+
+    /**
+     * Records the specified output.
+     *
+     * @param key the key of the output
+     * @param output the filtered file
+     * @throws IOException if the output could not be recorded
+     */
+    public void store( String key, File output )
+        throws IOException
+    {
+        if ( !directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory() )
+        {
+            throw new IOException( "Could not create directory [" + directory.getAbsolutePath() + "]" );
+        }
+        final File tmp = File.createTempFile( key, ".tmp", directory );
+        try
+        {
+            Files.copy( output.toPath(), tmp.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            AtomicFiles.move( tmp, new File( directory, key ) );
+        }
+        finally
+        {
+            Files.deleteIfExists( tmp.toPath() );
+        }
+    }
+}
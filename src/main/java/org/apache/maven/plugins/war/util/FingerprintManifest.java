@@ -0,0 +1,220 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the fingerprint of the files copied to the webapp so that a later build can tell whether a destination file
+ * is still up to date with its source.
+ *
+ * A destination is up to date if it has not been modified since it was recorded and if its source has the recorded
+ * size and modification date. If only the modification date of the source changed (a checkout or a new unpack of an
+ * overlay for instance), the content of the source and of the destination are compared.
+ *
+ * This class is thread safe.
+ *
+ * @since 3.2.4
+ */
+public class FingerprintManifest
+{
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Specifies if the <tt>destination</tt> file registered at the specified <tt>path</tt> holds the content of the
+     * <tt>source</tt> file.
+     *
+     * @param path the relative path from the webapp root directory
+     * @param source the source file
+     * @param destination the destination file
+     * @return true if the destination does not need to be copied again
+     * @throws IOException if the content of the files could not be read
+     */
+    public boolean isUpToDate( String path, File source, File destination )
+        throws IOException
+    {
+        final String key = PathSet.normalizeSubPath( path );
+        final Entry entry = entries.get( key );
+        if ( entry == null || !destination.isFile() || destination.length() != entry.length
+            || destination.lastModified() != entry.destinationLastModified || source.length() != entry.length )
+        {
+            return false;
+        }
+        if ( source.lastModified() == entry.sourceLastModified )
+        {
+            return true;
+        }
+
+        final String hash = entry.hash != null ? entry.hash : Checksums.digest( destination );
+        if ( hash.equals( Checksums.digest( source ) ) )
+        {
+            entries.put( key, new Entry( entry.length, source.lastModified(), entry.destinationLastModified, hash ) );
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records that the <tt>destination</tt> file registered at the specified <tt>path</tt> has just been copied from
+     * the <tt>source</tt> file.
+     *
+     * @param path the relative path from the webapp root directory
+     * @param source the source file
+     * @param destination the destination file
+     */
+    public void record( String path, File source, File destination )
+    {
+        entries.put( PathSet.normalizeSubPath( path ),
+                     new Entry( source.length(), source.lastModified(), destination.lastModified(), null ) );
+    }
+
+    /**
+     * Forgets the specified path.
+     *
+     * @param path the relative path from the webapp root directory
+     */
+    public void remove( String path )
+    {
+        entries.remove( PathSet.normalizeSubPath( path ) );
+    }
+
+    /**
+     * Returns the number of recorded paths.
+     *
+     * @return the number of entries
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Loads the entries of the specified manifest file, if it exists. Malformed lines are ignored.
+     *
+     * @param file the manifest file
+     * @throws IOException if the file could not be read
+     */
+    public void load( File file )
+        throws IOException
+    {
+        if ( !file.isFile() )
+        {
+            return;
+        }
+        try ( BufferedReader reader =
+            new BufferedReader( new InputStreamReader( new FileInputStream( file ), StandardCharsets.UTF_8 ) ) )
+        {
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                final String[] tokens = line.split( "\t", 5 );
+                if ( tokens.length != 5 )
+                {
+                    continue;
+                }
+                try
+                {
+                    entries.put( tokens[4], new Entry( Long.parseLong( tokens[0] ), Long.parseLong( tokens[1] ),
+                                                       Long.parseLong( tokens[2] ),
+                                                       tokens[3].isEmpty() ? null : tokens[3] ) );
+                }
+                catch ( NumberFormatException e )
+                {
+                    // ignore the entry, the file will be copied again
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the entries whose destination still exists under the specified webapp directory.
+     *
+     * @param file the manifest file
+     * @param webappDirectory the webapp directory the paths are relative to
+     * @throws IOException if the file could not be written
+     */
+    public void save( File file, File webappDirectory )
+        throws IOException
+    {
+        final File parent = file.getParentFile();
+        if ( parent != null && !parent.exists() && !parent.mkdirs() )
+        {
+            throw new IOException( "Could not create parent directory [" + parent.getAbsolutePath() + "]" );
+        }
+        final File tmp = File.createTempFile( file.getName(), ".tmp", file.getAbsoluteFile().getParentFile() );
+        try
+        {
+            try ( Writer writer =
+                new BufferedWriter( new OutputStreamWriter( new FileOutputStream( tmp ), StandardCharsets.UTF_8 ) ) )
+            {
+                for ( Map.Entry<String, Entry> e : entries.entrySet() )
+                {
+                    if ( !new File( webappDirectory, e.getKey() ).isFile() )
+                    {
+                        continue;
+                    }
+                    final Entry entry = e.getValue();
+                    writer.write( entry.length + "\t" + entry.sourceLastModified + "\t"
+                        + entry.destinationLastModified + "\t" + ( entry.hash == null ? "" : entry.hash ) + "\t"
+                        + e.getKey() + "\n" );
+                }
+            }
+            AtomicFiles.move( tmp, file );
+        }
+        finally
+        {
+            Files.deleteIfExists( tmp.toPath() );
+        }
+    }
+
+    /**
+     * The fingerprint of a copied file.
+     */
+    private static final class Entry
+    {
+        private final long length;
+
+        private final long sourceLastModified;
+
+        private final long destinationLastModified;
+
+        private final String hash;
+
+        Entry( long length, long sourceLastModified, long destinationLastModified, String hash )
+        {
+            this.length = length;
+            this.sourceLastModified = sourceLastModified;
+            this.destinationLastModified = destinationLastModified;
+            this.hash = hash;
+        }
+    }
+}
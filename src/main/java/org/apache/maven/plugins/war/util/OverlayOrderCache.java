@@ -0,0 +1,121 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * Records the order of the overlays computed from the dependency graph, so that a later build with the same resolved
+ * artifacts does not need to build the graph again.
+ *
+ * The record is keyed by a digest of the resolved artifacts, in resolution order, with their scope and dependency
+ * trail: the position of an overlay in the graph cannot change without changing the key.
+ *
+ * @since 3.2.4
+ */
+public class OverlayOrderCache
+{
+    private static final String KEY = "key\t";
+
+    private final File file;
+
+    /**
+     * @param file the file holding the record
+     */
+    public OverlayOrderCache( File file )
+    {
+        this.file = file;
+    }
+
+    /**
+     * Returns the recorded order of the overlays if it was recorded with the specified key.
+     *
+     * @param key the key of the resolved artifacts
+     * @return the coordinates of the overlays or <tt>null</tt> if there is no record for the key
+     */
+    public List<String> load( String key )
+    {
+        if ( !file.isFile() )
+        {
+            return null;
+        }
+        try
+        {
+            final List<String> lines = Files.readAllLines( file.toPath(), StandardCharsets.UTF_8 );
+            if ( lines.isEmpty() || !lines.get( 0 ).equals( KEY + key ) )
+            {
+                return null;
+            }
+            return new ArrayList<>( lines.subList( 1, lines.size() ) );
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Records the order of the overlays for the specified key.
+     *
+     * @param key the key of the resolved artifacts
+     * @param coordinates the coordinates of the overlays, in order
+     * @throws IOException if the record could not be written
+     */
+    public void save( String key, List<String> coordinates )
+        throws IOException
+    {
+        final List<String> lines = new ArrayList<>();
+        lines.add( KEY + key );
+        lines.addAll( coordinates );
+        // a truncated record would drop overlays from the build
+        AtomicFiles.write( file, lines );
+    }
+
+    /**
+     * Computes the key of the specified resolved artifacts.
+     *
+     * @param artifacts the resolved artifacts, in resolution order
+     * @return the key
+     * @throws IOException if the key could not be computed
+     */
+    public static String key( Collection<Artifact> artifacts )
+        throws IOException
+    {
+        final StringBuilder builder = new StringBuilder();
+        if ( artifacts != null )
+        {
+            for ( Artifact artifact : artifacts )
+            {
+                builder.append( artifact.getId() ).append( '|' ).append( artifact.getScope() ).append( '|' )
+                    .append( artifact.isOptional() ).append( '|' ).append( artifact.getDependencyTrail() )
+                    .append( '\n' );
+            }
+        }
+        return Checksums.digest( builder.toString().getBytes( StandardCharsets.UTF_8 ) );
+    }
+}
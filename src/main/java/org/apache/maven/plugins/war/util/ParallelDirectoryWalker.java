@@ -0,0 +1,143 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Collects the files of a directory tree, listing the sub directories concurrently.
+ *
+ * Symbolic links are not followed, like with {@link Files#walkFileTree(Path, java.nio.file.FileVisitor)}.
+ *
+ * @since 3.2.4
+ */
+public final class ParallelDirectoryWalker
+{
+    private ParallelDirectoryWalker()
+    {
+        // no instances
+    }
+
+    /**
+     * Adds the path of every file of the specified directory, relative to that directory and using the platform
+     * separator, to the specified collection.
+     *
+     * @param baseDirectory the directory to walk
+     * @param files the collection to populate; must support concurrent additions if <tt>parallelism</tt> is greater
+     *            than one
+     * @param parallelism the maximum number of directories listed concurrently
+     * @throws IOException if a directory could not be listed
+     */
+    public static void collectFiles( File baseDirectory, Collection<String> files, int parallelism )
+        throws IOException
+    {
+        final ForkJoinPool pool = new ForkJoinPool( Math.max( 1, parallelism ) );
+        try
+        {
+            pool.invoke( new ListDirectory( baseDirectory.toPath(), "", files ) );
+        }
+        catch ( WalkException e )
+        {
+            // the exception may have been wrapped when crossing threads
+            Throwable cause = e;
+            while ( cause instanceof WalkException )
+            {
+                cause = cause.getCause();
+            }
+            throw cause instanceof IOException ? (IOException) cause : new IOException( cause );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Lists a directory and forks the listing of its sub directories.
+     */
+    private static final class ListDirectory
+        extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+
+        private final String prefix;
+
+        private final Collection<String> files;
+
+        ListDirectory( Path directory, String prefix, Collection<String> files )
+        {
+            this.directory = directory;
+            this.prefix = prefix;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute()
+        {
+            final List<ListDirectory> subTasks = new ArrayList<>();
+            try ( DirectoryStream<Path> stream = Files.newDirectoryStream( directory ) )
+            {
+                for ( Path child : stream )
+                {
+                    final String path = prefix + child.getFileName().toString();
+                    if ( Files.isDirectory( child, LinkOption.NOFOLLOW_LINKS ) )
+                    {
+                        subTasks.add( new ListDirectory( child, path + File.separatorChar, files ) );
+                    }
+                    else
+                    {
+                        files.add( path );
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new WalkException( e );
+            }
+            invokeAll( subTasks );
+        }
+    }
+
+    /**
+     * Carries an {@link IOException} out of the fork/join framework.
+     */
+    private static final class WalkException
+        extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        WalkException( IOException cause )
+        {
+            super( cause );
+        }
+    }
+}
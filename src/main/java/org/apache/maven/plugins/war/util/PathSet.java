@@ -22,6 +22,7 @@ package org.apache.maven.plugins.war.util;
 import org.codehaus.plexus.util.DirectoryScanner;
 
 import java.io.File;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -38,8 +39,10 @@ import java.util.Set;
  */
 
 public class PathSet
-    implements Iterable<String>
+    implements Iterable<String>, Serializable
 {
+    private static final long serialVersionUID = 1L;
+
     private static final String SEPARATOR = "/";
     private static final char SEPARATOR_CHAR = SEPARATOR.charAt( 0 );
     /**
@@ -47,24 +50,68 @@ public class PathSet
      */
     private Set<String> pathsSet = new LinkedHashSet<>();
 
+    /**
+     * Converts the specified path to unix form, without leading or trailing separator and with single separators.
+     * The path is returned as is if it is already normalized.
+     *
+     * @param path the path to normalize
+     * @return the normalized path
+     */
     static String normalizeSubPath( String path )
     {
-        if ( path.isEmpty() )
+        final int length = path.length();
+        int start = 0;
+        while ( start < length && !isIrregular( path, start, length ) )
+        {
+            start++;
+        }
+        if ( start == length )
         {
             return path;
         }
-        String cleanPath = path.replaceAll( "[\\\\]+", SEPARATOR )
-                .replaceAll( "[/]+" , SEPARATOR );
-        cleanPath = cleanPath.charAt( 0 ) == SEPARATOR_CHAR ? cleanPath.substring( 1 ) : cleanPath;
-        if ( cleanPath.isEmpty() )
+
+        // path[0, start) is clean and does not end with a separator
+        final StringBuilder result = new StringBuilder( length ).append( path, 0, start );
+        boolean pendingSeparator = false;
+        for ( int i = start; i < length; i++ )
         {
-            return cleanPath;
+            final char c = path.charAt( i );
+            if ( isSeparator( c ) )
+            {
+                pendingSeparator = result.length() > 0;
+            }
+            else
+            {
+                if ( pendingSeparator )
+                {
+                    result.append( SEPARATOR_CHAR );
+                    pendingSeparator = false;
+                }
+                result.append( c );
+            }
         }
-        if ( cleanPath.charAt( cleanPath.length() - 1 ) == SEPARATOR_CHAR )
+        return result.toString();
+    }
+
+    /**
+     * Specifies if the character at the specified index has to be changed or removed by the normalization.
+     */
+    private static boolean isIrregular( String path, int index, int length )
+    {
+        final char c = path.charAt( index );
+        if ( c == '\\' )
+        {
+            return true;
+        }
+        if ( c != SEPARATOR_CHAR )
+        {
+            return false;
+        }
+        if ( index == 0 || index == length - 1 )
         {
-            return cleanPath.substring( 0, cleanPath.length() - 1 );
+            return true;
         }
-        return cleanPath;
+        return isSeparator( path.charAt( index + 1 ) );
     }
 
     /*-------------------- Business interface ------------------------------*/
@@ -223,12 +270,19 @@ public class PathSet
     /**
      * Adds given prefix to all paths in the set.
      * 
-     * The prefix should be ended by '/'. The generated paths are normalized.
+     * The prefix should be ended by '/'. The generated paths are normalized. The set is rebuilt, the packaging tasks
+     * do not prefix their sets.
      *
      * @param prefix to be added to all items
      */
     public void addPrefix( String prefix )
     {
+        final String directory = normalizeSubPath( prefix );
+        if ( directory.isEmpty() && !prefix.isEmpty() && isSeparator( prefix.charAt( prefix.length() - 1 ) ) )
+        {
+            // only separators, the paths are unchanged
+            return;
+        }
         final Set<String> newSet = new HashSet<>();
         for ( String path : pathsSet )
         {
@@ -237,6 +291,11 @@ public class PathSet
         pathsSet = newSet;
     }
 
+    private static boolean isSeparator( char c )
+    {
+        return c == SEPARATOR_CHAR || c == '\\';
+    }
+
     /**
      * Returns count of the paths in the set
      *
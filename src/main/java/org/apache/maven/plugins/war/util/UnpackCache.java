@@ -0,0 +1,174 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * A directory of unpacked archives shared by several builds, each archive being unpacked in a sub directory named
+ * after the checksum of its content.
+ *
+ * An archive is unpacked in a temporary directory which is then moved to its final name, and a marker file is created
+ * next to it once it is complete. Builds running concurrently may unpack the same archive, the first one to publish it
+ * wins. The unpacked directories must be treated as read only.
+ *
+ * @since 3.2.4
+ */
+public class UnpackCache
+{
+    private static final String MARKER_SUFFIX = ".complete";
+
+    /**
+     * The number of characters of the checksum of a variant appended to the name of its directory.
+     */
+    private static final int VARIANT_LENGTH = 16;
+
+    private final File baseDirectory;
+
+    /**
+     * Unpacks an archive.
+     */
+    public interface Unpacker
+    {
+        /**
+         * Unpacks the specified archive.
+         *
+         * @param archive the archive to unpack
+         * @param directory the empty directory to unpack the archive to
+         * @throws MojoExecutionException if the archive could not be unpacked
+         */
+        void unpack( File archive, File directory )
+            throws MojoExecutionException;
+    }
+
+    /**
+     * @param baseDirectory the directory holding the unpacked archives
+     */
+    public UnpackCache( File baseDirectory )
+    {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * @return the directory holding the unpacked archives
+     */
+    public File getBaseDirectory()
+    {
+        return baseDirectory;
+    }
+
+    /**
+     * Returns the directory holding the content of the specified archive, unpacking it first if no build did it yet.
+     *
+     * @param archive the archive
+     * @param unpacker the unpacker to use if the archive is not in the cache
+     * @return the directory holding the unpacked archive
+     * @throws IOException if the archive could not be read or the cache could not be written
+     * @throws MojoExecutionException if the archive could not be unpacked
+     */
+    public File getDirectory( File archive, Unpacker unpacker )
+        throws IOException, MojoExecutionException
+    {
+        return getDirectory( archive, null, unpacker );
+    }
+
+    /**
+     * Returns the directory holding the content of the specified archive, as unpacked by an <tt>unpacker</tt> that
+     * only extracts some of its files. The archive is unpacked first if no build did it yet with the same
+     * <tt>variant</tt>.
+     *
+     * @param archive the archive
+     * @param variant the description of the files extracted by the unpacker or <tt>null</tt> if it extracts all of
+     *            them
+     * @param unpacker the unpacker to use if the archive is not in the cache
+     * @return the directory holding the unpacked archive
+     * @throws IOException if the archive could not be read or the cache could not be written
+     * @throws MojoExecutionException if the archive could not be unpacked
+     */
+    public File getDirectory( File archive, String variant, Unpacker unpacker )
+        throws IOException, MojoExecutionException
+    {
+        String key = Checksums.checksum( archive );
+        if ( variant != null )
+        {
+            key += "-" + Checksums.digest( variant.getBytes( StandardCharsets.UTF_8 ) )
+                .substring( 0, VARIANT_LENGTH );
+        }
+        final File directory = new File( baseDirectory, key );
+        final File marker = new File( baseDirectory, key + MARKER_SUFFIX );
+        if ( marker.isFile() && directory.isDirectory() )
+        {
+            return directory;
+        }
+
+        if ( !baseDirectory.isDirectory() && !baseDirectory.mkdirs() && !baseDirectory.isDirectory() )
+        {
+            throw new IOException( "Could not create directory [" + baseDirectory.getAbsolutePath() + "]" );
+        }
+        final File tmpDirectory = Files.createTempDirectory( baseDirectory.toPath(), key + ".tmp" ).toFile();
+        try
+        {
+            unpacker.unpack( archive, tmpDirectory );
+            publish( tmpDirectory, directory );
+        }
+        finally
+        {
+            if ( tmpDirectory.exists() )
+            {
+                FileUtils.deleteDirectory( tmpDirectory );
+            }
+        }
+        // a published directory is complete even if the build that published it died before writing the marker
+        marker.createNewFile();
+        return directory;
+    }
+
+    private static void publish( File tmpDirectory, File directory )
+        throws IOException
+    {
+        try
+        {
+            Files.move( tmpDirectory.toPath(), directory.toPath(), StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch ( AtomicMoveNotSupportedException e )
+        {
+            if ( !directory.exists() )
+            {
+                Files.move( tmpDirectory.toPath(), directory.toPath() );
+            }
+        }
+        catch ( IOException e )
+        {
+            // the directory may have been published by another build in the meantime
+            if ( !directory.isDirectory() )
+            {
+                throw e;
+            }
+        }
+    }
+}
@@ -19,11 +19,22 @@ package org.apache.maven.plugins.war.util;
  * under the License.
  */
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.MatchPatterns;
 
 /**
  * @author Stephane Nicoll
@@ -38,26 +49,81 @@ public class WarUtils
      */
     public static Artifact getArtifact( MavenProject project, Dependency dependency )
     {
+        final String coordinates = getCoordinates( dependency );
         for ( Artifact artifact : project.getArtifacts() )
         {
-            if ( artifact.getGroupId().equals( dependency.getGroupId() )
-                && artifact.getArtifactId().equals( dependency.getArtifactId() )
-                && artifact.getType().equals( dependency.getType() ) )
+            if ( coordinates.equals( getCoordinates( artifact ) ) )
             {
-                if ( artifact.getClassifier() == null && dependency.getClassifier() == null )
-                {
-                    return artifact;
-                }
-                else if ( dependency.getClassifier() != null
-                    && dependency.getClassifier().equals( artifact.getClassifier() ) )
-                {
-                    return artifact;
-                }
+                return artifact;
             }
         }
         return null;
     }
 
+    /**
+     * Finds the artifact of the specified dependency in an index built by {@link #indexArtifacts(Collection)}, so that
+     * looking up many dependencies does not scan the artifacts of the project for each of them.
+     *
+     * @param artifacts the artifacts, indexed by coordinates
+     * @param dependency {@link Dependency}
+     * @return the artifact or <tt>null</tt> if the dependency has none
+     * @since 3.2.4
+     */
+    public static Artifact getArtifact( Map<String, Artifact> artifacts, Dependency dependency )
+    {
+        return artifacts.get( getCoordinates( dependency ) );
+    }
+
+    /**
+     * Indexes the specified artifacts by coordinates. An artifact hides the next ones with the same coordinates, as
+     * {@link #getArtifact(MavenProject, Dependency)} returns the first match.
+     *
+     * @param artifacts the artifacts, typically those of the project
+     * @return the artifacts, indexed by coordinates
+     * @since 3.2.4
+     */
+    public static Map<String, Artifact> indexArtifacts( Collection<Artifact> artifacts )
+    {
+        final Map<String, Artifact> result = new HashMap<>( artifacts.size() * 4 / 3 + 1 );
+        for ( Artifact artifact : artifacts )
+        {
+            final String coordinates = getCoordinates( artifact );
+            if ( !result.containsKey( coordinates ) )
+            {
+                result.put( coordinates, artifact );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the coordinates of the specified artifact: its group id, artifact id, type and classifier. A
+     * <tt>null</tt> classifier and an empty one give different coordinates.
+     *
+     * @param artifact {@link Artifact}
+     * @return the coordinates
+     * @since 3.2.4
+     */
+    public static String getCoordinates( Artifact artifact )
+    {
+        return getCoordinates( artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(),
+                               artifact.getClassifier() );
+    }
+
+    /**
+     * Returns the coordinates of the specified dependency, which are those of its artifact.
+     *
+     * @param dependency {@link Dependency}
+     * @return the coordinates
+     * @since 3.2.4
+     * @see #getCoordinates(Artifact)
+     */
+    public static String getCoordinates( Dependency dependency )
+    {
+        return getCoordinates( dependency.getGroupId(), dependency.getArtifactId(), dependency.getType(),
+                               dependency.getClassifier() );
+    }
+
     /**
      * @param artifact {@link Artifact}
      * @param dependency {@link Dependency}
@@ -78,19 +144,19 @@ public class WarUtils
         {
             return false;
         }
-        if ( Objects.equals( artifact.getVersion(), dependency.getVersion() ) )
+        if ( !isSameVersion( artifact, dependency.getVersion() ) )
         {
             return false;
         }
-        if ( Objects.equals( artifact.getType(), dependency.getType() ) )
+        if ( !Objects.equals( artifact.getType(), dependency.getType() ) )
         {
             return false;
         }
-        if ( Objects.equals( artifact.getClassifier(), dependency.getClassifier() ) )
+        if ( !Objects.equals( artifact.getClassifier(), dependency.getClassifier() ) )
         {
             return false;
         }
-        if ( Objects.equals( artifact.getScope(), dependency.getScope() ) )
+        if ( !Objects.equals( artifact.getScope(), dependency.getScope() ) )
         {
             return false;
         }
@@ -102,4 +168,69 @@ public class WarUtils
         return true;
     }
 
+    /**
+     * Specifies if the version of the specified artifact is the declared <tt>version</tt>: a timestamped snapshot
+     * matches its base version, and a resolved version matches the range it was resolved from.
+     */
+    private static boolean isSameVersion( Artifact artifact, String version )
+    {
+        if ( Objects.equals( artifact.getVersion(), version ) )
+        {
+            return true;
+        }
+        if ( artifact.getVersion() == null || version == null )
+        {
+            return false;
+        }
+        if ( artifact.getBaseVersion().equals( ArtifactUtils.toSnapshotVersion( version ) ) )
+        {
+            return true;
+        }
+        try
+        {
+            final VersionRange range = VersionRange.createFromVersionSpec( version );
+            return range.hasRestrictions()
+                && range.containsVersion( new DefaultArtifactVersion( artifact.getBaseVersion() ) );
+        }
+        catch ( InvalidVersionSpecificationException e )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Compiles the specified include or exclude patterns the way
+     * {@link org.codehaus.plexus.util.DirectoryScanner DirectoryScanner} does, so that paths that are not files of a
+     * directory, such as archive entries, are matched like the files of a directory would be. The matched paths must
+     * use the platform separator.
+     *
+     * @param patterns the patterns, possibly using the <tt>%regex[]</tt> syntax
+     * @return the compiled patterns
+     * @since 3.2.4
+     */
+    public static MatchPatterns toMatchPatterns( String... patterns )
+    {
+        final List<String> result = new ArrayList<>( patterns.length );
+        for ( String pattern : patterns )
+        {
+            String normalized = pattern.trim().replace( '/', File.separatorChar ).replace( '\\', File.separatorChar );
+            if ( normalized.endsWith( File.separator ) )
+            {
+                normalized += "**";
+            }
+            result.add( normalized );
+        }
+        return MatchPatterns.from( result );
+    }
+
+    private static String getCoordinates( String groupId, String artifactId, String type, String classifier )
+    {
+        final StringBuilder result = new StringBuilder();
+        result.append( groupId ).append( ':' ).append( artifactId ).append( ':' ).append( type );
+        if ( classifier != null )
+        {
+            result.append( ':' ).append( classifier );
+        }
+        return result.toString();
+    }
 }
@@ -22,13 +22,16 @@ package org.apache.maven.plugins.war.util;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Dependency;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents the structure of a web application composed of multiple overlays. Each overlay is registered within this
@@ -39,14 +42,33 @@ import java.util.Set;
  * @author Stephane Nicoll
  */
 public class WebappStructure
+    implements Serializable
 {
 
+    private static final long serialVersionUID = 1L;
+
     private Map<String, PathSet> registeredFiles;
 
     private List<DependencyInfo> dependenciesInfo;
 
+    /**
+     * The dependencies information, indexed by coordinates.
+     */
+    private transient Map<String, List<DependencyInfo>> dependenciesIndex;
+
+    private Map<String, FileState> fileStates = new ConcurrentHashMap<>();
+
+    private Map<String, FileState> overlayStates = new ConcurrentHashMap<>();
+
     private transient PathSet allFiles = new PathSet();
 
+    /**
+     * The owner of each registered path, indexed by normalized path.
+     */
+    private transient Map<String, String> owners = new ConcurrentHashMap<>();
+
+    private transient WebappStructure cache;
+
     /**
      * Creates a new empty instance.
      *
@@ -55,9 +77,23 @@ public class WebappStructure
     public WebappStructure( List<Dependency> dependencies )
     {
         this.dependenciesInfo = createDependenciesInfoList( dependencies );
+        this.dependenciesIndex = createDependenciesIndex( dependenciesInfo );
         this.registeredFiles = new HashMap<>();
     }
 
+    /**
+     * Creates a new empty instance, using the structure of a previous build to detect which files have changed.
+     *
+     * @param dependencies the dependencies of the project
+     * @param cache the structure of the previous build or <tt>null</tt> if there is none
+     * @since 3.2.4
+     */
+    public WebappStructure( List<Dependency> dependencies, WebappStructure cache )
+    {
+        this( dependencies );
+        this.cache = cache;
+    }
+
     /**
      * Returns the list of {@link DependencyInfo} for the project.
      *
@@ -144,6 +180,7 @@ public class WebappStructure
             // Force the switch to the new owner
             getStructure( getOwner( path ) ).remove( path );
             getStructure( id ).add( path );
+            owners.put( PathSet.normalizeSubPath( path ), id );
             return true;
         }
 
@@ -170,23 +207,25 @@ public class WebappStructure
         else
         {
             doRegister( id, path );
+            // Without previous build, the file is assumed to belong to this owner already
+            final String previousOwner = cache == null ? id : cache.getOwner( path );
             // This is a new file
-            if ( getOwner( path ) == null )
+            if ( previousOwner == null )
             {
                 callback.registered( id, path );
 
             } // The file already belonged to this owner
-            else if ( getOwner( path ).equals( id ) )
+            else if ( previousOwner.equals( id ) )
             {
                 callback.alreadyRegistered( id, path );
             } // The file belongs to another owner and it's known currently
-            else if ( getOwners().contains( getOwner( path ) ) )
+            else if ( getOwners().contains( previousOwner ) )
             {
-                callback.superseded( id, path, getOwner( path ) );
+                callback.superseded( id, path, previousOwner );
             } // The file belongs to another owner and it's unknown
             else
             {
-                callback.supersededUnknownOwner( id, path, getOwner( path ) );
+                callback.supersededUnknownOwner( id, path, previousOwner );
             }
         }
     }
@@ -199,25 +238,7 @@ public class WebappStructure
      */
     public String getOwner( String path )
     {
-        if ( !isRegistered( path ) )
-        {
-            return null;
-        }
-        else
-        {
-            for ( final String owner : registeredFiles.keySet() )
-            {
-                final PathSet structure = getStructure( owner );
-                if ( structure.contains( path ) )
-                {
-                    return owner;
-                }
-
-            }
-            throw new IllegalStateException( "Should not happen, path [" + path
-                + "] is flagged as being registered but was not found." );
-        }
-
+        return owners.get( PathSet.normalizeSubPath( path ) );
     }
 
     /**
@@ -257,7 +278,61 @@ public class WebappStructure
         return pathSet;
     }
 
-    
+    /**
+     * Records the state of the <tt>source</tt> file the specified <tt>path</tt> has been built from.
+     * 
+     * This method may be invoked concurrently.
+     *
+     * @param path the relative path from the webapp root directory
+     * @param source the file the path has been built from
+     * @since 3.2.4
+     */
+    public void registerFileState( String path, File source )
+    {
+        fileStates.put( PathSet.normalizeSubPath( path ), new FileState( source ) );
+    }
+
+    /**
+     * Specifies if the specified <tt>path</tt> has been built by the previous build from a <tt>source</tt> file with
+     * the same size and modification date. Returns <tt>null</tt> if the previous build did not record the path.
+     *
+     * @param path the relative path from the webapp root directory
+     * @param source the file the path is built from
+     * @return whether the source is unchanged since the previous build, or <tt>null</tt> if unknown
+     * @since 3.2.4
+     */
+    public Boolean isFileUnchanged( String path, File source )
+    {
+        final FileState state = cache == null ? null : cache.fileStates.get( PathSet.normalizeSubPath( path ) );
+        return state == null ? null : state.matches( source );
+    }
+
+    /**
+     * Records the state of the artifact file of the specified overlay.
+     *
+     * @param id the id of the overlay
+     * @param artifactFile the file of the overlay
+     * @since 3.2.4
+     */
+    public void registerOverlayState( String id, File artifactFile )
+    {
+        overlayStates.put( id, new FileState( artifactFile ) );
+    }
+
+    /**
+     * Specifies if the artifact file of the specified overlay has the same size and modification date as in the
+     * previous build.
+     *
+     * @param id the id of the overlay
+     * @param artifactFile the file of the overlay
+     * @return true if the overlay is known to be unchanged, false otherwise
+     * @since 3.2.4
+     */
+    public boolean isOverlayUnchanged( String id, File artifactFile )
+    {
+        final FileState state = cache == null ? null : cache.overlayStates.get( id );
+        return state != null && state.matches( artifactFile );
+    }
 
     /**
      * Registers the target file name for the specified artifact.
@@ -267,9 +342,14 @@ public class WebappStructure
      */
     public void registerTargetFileName( Artifact artifact, String targetFileName )
     {
-        if ( dependenciesInfo != null )
+        if ( dependenciesIndex == null || artifact == null )
+        {
+            return;
+        }
+        final List<DependencyInfo> candidates = dependenciesIndex.get( WarUtils.getCoordinates( artifact ) );
+        if ( candidates != null )
         {
-            for ( DependencyInfo dependencyInfo : dependenciesInfo )
+            for ( DependencyInfo dependencyInfo : candidates )
             {
                 if ( WarUtils.isRelated( artifact, dependencyInfo.getDependency() ) )
                 {
@@ -285,6 +365,7 @@ public class WebappStructure
     {
         getFullStructure().add( path );
         getStructure( id ).add( path );
+        owners.put( PathSet.normalizeSubPath( path ), id );
     }
 
     private List<DependencyInfo> createDependenciesInfoList( List<Dependency> dependencies )
@@ -301,17 +382,76 @@ public class WebappStructure
         return result;
     }
 
+    private static Map<String, List<DependencyInfo>> createDependenciesIndex( List<DependencyInfo> dependenciesInfo )
+    {
+        if ( dependenciesInfo == null )
+        {
+            return null;
+        }
+        final Map<String, List<DependencyInfo>> result = new HashMap<>( dependenciesInfo.size() * 4 / 3 + 1 );
+        for ( DependencyInfo dependencyInfo : dependenciesInfo )
+        {
+            final String coordinates = WarUtils.getCoordinates( dependencyInfo.getDependency() );
+            List<DependencyInfo> candidates = result.get( coordinates );
+            if ( candidates == null )
+            {
+                candidates = new ArrayList<>( 1 );
+                result.put( coordinates, candidates );
+            }
+            candidates.add( dependencyInfo );
+        }
+        return result;
+    }
+
     private Object readResolve()
     {
         // the full structure should be resolved so let's rebuild it
         this.allFiles = new PathSet();
-        for ( PathSet pathSet : registeredFiles.values() )
+        this.owners = new ConcurrentHashMap<>();
+        for ( Map.Entry<String, PathSet> entry : registeredFiles.entrySet() )
         {
-            this.allFiles.addAll( pathSet );
+            this.allFiles.addAll( entry.getValue() );
+            for ( String path : entry.getValue() )
+            {
+                this.owners.put( path, entry.getKey() );
+            }
+        }
+        this.dependenciesIndex = createDependenciesIndex( dependenciesInfo );
+        if ( fileStates == null )
+        {
+            fileStates = new ConcurrentHashMap<>();
+        }
+        if ( overlayStates == null )
+        {
+            overlayStates = new ConcurrentHashMap<>();
         }
         return this;
     }
 
+    /**
+     * The size and modification date of a file.
+     */
+    private static final class FileState
+        implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final long length;
+
+        private final long lastModified;
+
+        FileState( File file )
+        {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        boolean matches( File file )
+        {
+            return file.isFile() && file.length() == length && file.lastModified() == lastModified;
+        }
+    }
+
     /**
      * Callback interface to handle events related to filepath registration in the webapp.
      */
@@ -0,0 +1,93 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Reads and writes a {@link WebappStructure} so that it can be used as a cache by the next build.
+ *
+ * @since 3.2.4
+ */
+public class WebappStructureSerializer
+{
+
+    /**
+     * Reads the webapp structure from the specified file.
+     *
+     * @param file the file containing the webapp structure
+     * @return the webapp structure
+     * @throws IOException if the file could not be read or does not contain a webapp structure
+     */
+    public WebappStructure fromFile( File file )
+        throws IOException
+    {
+        try ( ObjectInputStream in =
+            new ObjectInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) )
+        {
+            final Object result = in.readObject();
+            if ( !( result instanceof WebappStructure ) )
+            {
+                throw new IOException( "File [" + file + "] does not contain a webapp structure" );
+            }
+            return (WebappStructure) result;
+        }
+        catch ( ClassNotFoundException e )
+        {
+            throw new IOException( "Could not read webapp structure from [" + file + "]", e );
+        }
+    }
+
+    /**
+     * Saves the webapp structure to the specified file. The file is written next to its final location first so that
+     * an interrupted build never leaves a partial cache behind.
+     *
+     * @param webappStructure the structure to save
+     * @param targetFile the file to use to save the structure
+     * @throws IOException if an error occurred while saving the webapp structure
+     */
+    public void toFile( WebappStructure webappStructure, File targetFile )
+        throws IOException
+    {
+        final File parent = targetFile.getParentFile();
+        if ( parent != null && !parent.exists() && !parent.mkdirs() )
+        {
+            throw new IOException( "Could not create parent directory [" + parent.getAbsolutePath() + "]" );
+        }
+        final File tmpFile = new File( targetFile.getAbsolutePath() + ".tmp" );
+        try ( ObjectOutputStream out =
+            new ObjectOutputStream( new BufferedOutputStream( new FileOutputStream( tmpFile ) ) ) )
+        {
+            out.writeObject( webappStructure );
+        }
+        if ( targetFile.exists() && !targetFile.delete() || !tmpFile.renameTo( targetFile ) )
+        {
+            tmpFile.delete();
+            throw new IOException( "Could not save webapp structure to [" + targetFile.getAbsolutePath() + "]" );
+        }
+    }
+}
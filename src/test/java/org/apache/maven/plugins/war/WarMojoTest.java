@@ -21,21 +21,33 @@ package org.apache.maven.plugins.war;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.ArtifactHandler;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.war.packaging.CatenationTarget;
+import org.apache.maven.plugins.war.packaging.ConfigCatenationTask;
+import org.apache.maven.plugins.war.packaging.FinishCatenationTask;
+import org.apache.maven.plugins.war.packaging.OverlayPackagingTask;
+import org.apache.maven.plugins.war.packaging.WarPackagingContext;
+import org.apache.maven.plugins.war.packaging.WarPackagingTask;
 import org.apache.maven.plugins.war.stub.JarArtifactStub;
 import org.apache.maven.plugins.war.stub.MavenProject4CopyConstructor;
 import org.apache.maven.plugins.war.stub.MavenProjectArtifactsStub;
 import org.apache.maven.plugins.war.stub.ProjectHelperStub;
 import org.apache.maven.plugins.war.stub.WarArtifact4CCStub;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
 
 /**
@@ -96,6 +108,140 @@ public class WarMojoTest
             mojo.getWebXml().toString(), null, null, null, null } );
     }
 
+    public void testStreamedWarWithCatenatedConfig()
+        throws Exception
+    {
+        String testId = "StreamedWarWithCatenatedConfig";
+        MavenProject4CopyConstructor project = new MavenProject4CopyConstructor();
+        String outputDir = getTestDirectory().getAbsolutePath() + "/" + testId + "-output";
+        File webAppDirectory = new File( getTestDirectory(), testId );
+        WarArtifact4CCStub warArtifact = new WarArtifact4CCStub( getBasedir() );
+        File webAppSource = createWebAppSource( testId );
+        File classesDir = createClassesDir( testId, true );
+        File xmlSource = createXMLConfigDir( testId, new String[] { "web.xml" } );
+        createFile( new File( webAppSource, "WEB-INF/conf/app.properties" ), "name=app\n" );
+        File workDirectory = new File( getTestDirectory(), testId + "-work" );
+        FileUtils.deleteDirectory( workDirectory );
+
+        project.setArtifact( warArtifact );
+        this.configureMojo( mojo, new LinkedList<String>(), classesDir, webAppSource, webAppDirectory, project );
+        setVariableValueToObject( mojo, "outputDirectory", outputDir );
+        setVariableValueToObject( mojo, "warName", "simple" );
+        setVariableValueToObject( mojo, "workDirectory", workDirectory );
+        setVariableValueToObject( mojo, "catenateConfig", Boolean.TRUE );
+        setVariableValueToObject( mojo, "catenationInfile", "WEB-INF/conf/*.properties" );
+        setVariableValueToObject( mojo, "catenatedOutFile", new File( webAppDirectory, "WEB-INF/all.properties" ) );
+        mojo.setWebXml( new File( xmlSource, "web.xml" ) );
+        mojo.setStreaming( true );
+
+        mojo.execute();
+
+        File expectedJarFile = new File( outputDir, "simple.war" );
+        assertJarContent( expectedJarFile, new String[] { "WEB-INF/web.xml", "pansit.jsp", "WEB-INF/all.properties" },
+                          new String[] { mojo.getWebXml().toString(), null, "name=app\n" } );
+    }
+
+    public void testCatenatedConfigIsKeptByAnUnchangedRebuild()
+        throws Exception
+    {
+        String testId = "CatenatedConfigIsKeptByAnUnchangedRebuild";
+        MavenProject4CopyConstructor project = new MavenProject4CopyConstructor();
+        String outputDir = getTestDirectory().getAbsolutePath() + "/" + testId + "-output";
+        File webAppDirectory = new File( getTestDirectory(), testId );
+        FileUtils.deleteDirectory( webAppDirectory );
+        WarArtifact4CCStub warArtifact = new WarArtifact4CCStub( getBasedir() );
+        File webAppSource = createWebAppSource( testId );
+        File classesDir = createClassesDir( testId, true );
+        File xmlSource = createXMLConfigDir( testId, new String[] { "web.xml" } );
+        createFile( new File( webAppSource, "WEB-INF/conf/app.properties" ), "name=app\n" );
+        File workDirectory = new File( getTestDirectory(), testId + "-work" );
+        FileUtils.deleteDirectory( workDirectory );
+
+        project.setArtifact( warArtifact );
+        this.configureMojo( mojo, new LinkedList<String>(), classesDir, webAppSource, webAppDirectory, project );
+        setVariableValueToObject( mojo, "outputDirectory", outputDir );
+        setVariableValueToObject( mojo, "warName", "simple" );
+        setVariableValueToObject( mojo, "workDirectory", workDirectory );
+        setVariableValueToObject( mojo, "catenateConfig", Boolean.TRUE );
+        setVariableValueToObject( mojo, "catenationInfile", "WEB-INF/conf/*.properties" );
+        setVariableValueToObject( mojo, "catenatedOutFile", new File( webAppDirectory, "WEB-INF/all.properties" ) );
+        mojo.setWebXml( new File( xmlSource, "web.xml" ) );
+
+        mojo.execute();
+        mojo.execute();
+
+        assertEquals( "name=app\n", FileUtils.fileRead( new File( webAppDirectory, "WEB-INF/all.properties" ) ) );
+        File expectedJarFile = new File( outputDir, "simple.war" );
+        assertJarContent( expectedJarFile, new String[] { "WEB-INF/web.xml", "pansit.jsp", "WEB-INF/all.properties" },
+                          new String[] { mojo.getWebXml().toString(), null, "name=app\n" } );
+    }
+
+    public void testCatenationOverlapsThePackagingOfTheNextOverlay()
+        throws Exception
+    {
+        // the catenation of the first overlay and the packaging of the second one wait for each other
+        final CountDownLatch latch = new CountDownLatch( 2 );
+        final List<String> events = Collections.synchronizedList( new ArrayList<String>() );
+        final Overlay first = new Overlay( "org.example", "first" );
+        final Overlay second = new Overlay( "org.example", "second" );
+        final List<WarPackagingTask> tasks = new ArrayList<>();
+        tasks.add( new OverlayPackagingTask( first, null )
+        {
+            @Override
+            public void performPackaging( WarPackagingContext context )
+            {
+                events.add( "first" );
+            }
+        } );
+        tasks.add( new OverlayPackagingTask( second, null )
+        {
+            @Override
+            public void performPackaging( WarPackagingContext context )
+            {
+                await( latch );
+                events.add( "second" );
+            }
+        } );
+        tasks.add( new ConfigCatenationTask( first, false, null, Collections.<CatenationTarget>emptyList() )
+        {
+            @Override
+            public void performPackaging( WarPackagingContext context )
+            {
+                await( latch );
+                events.add( "catenation" );
+            }
+        } );
+        tasks.add( new FinishCatenationTask( null, new File( getTestDirectory(), "all.properties" ) )
+        {
+            @Override
+            public void performPackaging( WarPackagingContext context )
+            {
+                events.add( "finish" );
+            }
+        } );
+
+        AbstractWarMojo.createTaskGraph( tasks ).execute( null, 4 );
+
+        assertEquals( 0, latch.getCount() );
+        assertEquals( 4, events.size() );
+        assertEquals( "first", events.get( 0 ) );
+        assertEquals( "finish", events.get( 3 ) );
+    }
+
+    private static void await( CountDownLatch latch )
+    {
+        latch.countDown();
+        try
+        {
+            assertTrue( "The tasks did not run concurrently", latch.await( 10, TimeUnit.SECONDS ) );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            fail( "Interrupted" );
+        }
+    }
+
     public void testSimpleWarPackagingExcludeWithIncludesRegEx()
         throws Exception
     {
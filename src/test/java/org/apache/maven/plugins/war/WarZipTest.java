@@ -27,9 +27,11 @@ import org.apache.maven.plugins.war.overlay.DefaultOverlay;
 import org.apache.maven.plugins.war.stub.MavenZipProject;
 import org.apache.maven.plugins.war.stub.WarArtifactStub;
 import org.apache.maven.plugins.war.stub.ZipArtifactStub;
+import org.apache.maven.plugins.war.util.OverlayOrderCache;
 import org.codehaus.plexus.util.FileUtils;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.LinkedList;
 
 /**
@@ -167,6 +169,39 @@ public class WarZipTest
 
     }
 
+    public void testProjectFilesWithAndWithoutOverlay()
+        throws Exception
+    {
+        File webAppDirectory = configureMojo( "project-files-without-overlay" );
+        FileUtils.deleteDirectory( webAppDirectory );
+        mojo.execute();
+        assertProjectFiles( webAppDirectory );
+
+        setUp();
+        webAppDirectory = configureMojo( "project-files-with-overlay" );
+        FileUtils.deleteDirectory( webAppDirectory );
+        final File workDirectory = new File( getTestDirectory(), "work-project-files-with-overlay" );
+        FileUtils.deleteDirectory( workDirectory );
+        setVariableValueToObject( mojo, "workDirectory", workDirectory );
+        Overlay overlay = new DefaultOverlay( buildZipArtifact() );
+        overlay.setType( "zip" );
+        mojo.addOverlay( overlay );
+        // the order of the overlays projected from the dependency graph, which needs a repository session
+        new OverlayOrderCache( new File( workDirectory, "overlay-order.txt" ) )
+            .save( OverlayOrderCache.key( mojo.getProject().getArtifacts() ),
+                   Collections.singletonList( "zipGroupId:zipId" ) );
+        mojo.execute();
+        assertProjectFiles( webAppDirectory );
+        assertTrue( "foo.txt not exists", new File( webAppDirectory, "foo.txt" ).isFile() );
+    }
+
+    protected void assertProjectFiles( File webAppDirectory )
+    {
+        assertTrue( "pansit.jsp not exists", new File( webAppDirectory, "pansit.jsp" ).isFile() );
+        assertTrue( "web.xml not exists", new File( webAppDirectory, "WEB-INF/web.xml" ).isFile() );
+        assertTrue( "last-exile.jsp not exists", new File( webAppDirectory, "org/web/app/last-exile.jsp" ).isFile() );
+    }
+
     protected void assertZipContentNotHere( File webAppDirectory )
     {
         File foo = new File( webAppDirectory.getPath() + File.separatorChar + "overridePath", "foo.txt" );
@@ -0,0 +1,126 @@
+package org.apache.maven.plugins.war.overlay;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.internal.DefaultDependencyNode;
+
+public class OverlayPlanTest
+    extends TestCase
+{
+    private final Overlay base = new Overlay( "org.example", "base" );
+
+    private final Overlay feature = new Overlay( "org.example", "feature" );
+
+    private final Overlay portal = new Overlay( "org.example", "portal" );
+
+    private final List<Overlay> overlays = Arrays.asList( portal, feature, base );
+
+    public void testOverlaysFollowTheirDependencies()
+    {
+        final DefaultDependencyNode root = createNode( null, "app", "war" );
+        final DefaultDependencyNode portalNode = createNode( root, "portal", "war" );
+        createNode( portalNode, "base", "zip" );
+        createNode( portalNode, "library", "jar" );
+        createNode( root, "feature", "war" );
+
+        assertEquals( Arrays.asList( base, portal, feature ),
+                      OverlayPlan.compile( root, overlays ).getOverlays() );
+    }
+
+    public void testSharedOverlayIsPlannedOnce()
+    {
+        final DefaultDependencyNode root = createNode( null, "app", "war" );
+        createNode( createNode( root, "feature", "war" ), "base", "war" );
+        final DefaultDependencyNode portalNode = createNode( root, "portal", "war" );
+        createNode( portalNode, "base", "war" );
+        createNode( portalNode, "feature", "war" );
+
+        assertEquals( Arrays.asList( base, feature, portal ),
+                      OverlayPlan.compile( root, overlays ).getOverlays() );
+    }
+
+    public void testWarAndClassesAreASingleNode()
+    {
+        final DefaultDependencyNode root = createNode( null, "app", "war" );
+        createNode( root, "portal", "war" );
+        final DefaultDependencyNode classes = createNode( root, "portal", "jar" );
+        createNode( classes, "base", "war" );
+
+        assertEquals( Arrays.asList( base, portal ), OverlayPlan.compile( root, overlays ).getOverlays() );
+    }
+
+    public void testProjectionKeepsWarAndZipArtifacts()
+    {
+        final DefaultDependencyNode root = createNode( null, "app", "war" );
+        final DefaultDependencyNode portalNode = createNode( root, "portal", "war" );
+        createNode( portalNode, "library", "jar" );
+        createNode( portalNode, "base", "zip" );
+        createNode( root, "unknown", "war" );
+
+        final List<String> coordinates = OverlayPlan.project( root );
+        assertEquals( Arrays.asList( "org.example:base", "org.example:portal", "org.example:unknown" ), coordinates );
+        assertEquals( Arrays.asList( base, portal ), OverlayPlan.compile( coordinates, overlays ).getOverlays() );
+    }
+
+    public void testConfiguredOrderWithoutGraph()
+    {
+        assertEquals( overlays, OverlayPlan.compile( (DependencyNode) null, overlays ).getOverlays() );
+    }
+
+    public void testCurrentProjectKeepsItsPositionWithAndWithoutGraph()
+    {
+        final Overlay currentProject = Overlay.createInstance();
+        final DefaultDependencyNode root = createNode( null, "app", "war" );
+        createNode( createNode( root, "portal", "war" ), "base", "war" );
+        createNode( root, "feature", "war" );
+
+        final List<Overlay> first = Arrays.asList( currentProject, portal, feature, base );
+        assertEquals( first, OverlayPlan.compile( (DependencyNode) null, first ).getOverlays() );
+        assertEquals( Arrays.asList( currentProject, base, portal, feature ),
+                      OverlayPlan.compile( root, first ).getOverlays() );
+
+        final List<Overlay> second = Arrays.asList( portal, currentProject, feature, base );
+        assertEquals( second, OverlayPlan.compile( (DependencyNode) null, second ).getOverlays() );
+        assertEquals( Arrays.asList( base, currentProject, portal, feature ),
+                      OverlayPlan.compile( root, second ).getOverlays() );
+    }
+
+    private static DefaultDependencyNode createNode( DefaultDependencyNode parent, String artifactId, String type )
+    {
+        final DefaultDependencyNode result = new DefaultDependencyNode( parent,
+            new DefaultArtifact( "org.example", artifactId, "1.0", "compile", type, null,
+                                 new DefaultArtifactHandler( type ) ), null, null, null );
+        result.setChildren( new ArrayList<DependencyNode>() );
+        if ( parent != null )
+        {
+            parent.getChildren().add( result );
+        }
+        return result;
+    }
+}
@@ -0,0 +1,338 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.war.stub.WarPackagingContextStub;
+import org.apache.maven.plugins.war.util.FingerprintManifest;
+import org.apache.maven.plugins.war.util.PathSet;
+import org.apache.maven.plugins.war.util.WebappStructure;
+import org.codehaus.plexus.util.FileUtils;
+
+public class AbstractWarPackagingTaskTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    private ExecutorService executor;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/packagingtask/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        executor = Executors.newFixedThreadPool( 4 );
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    public void testConcurrentCopyRegistersInSourceOrder()
+        throws Exception
+    {
+        final File source = new File( testDirectory, "source" );
+        final List<String> paths = new ArrayList<>();
+        for ( int i = 0; i < 300; i++ )
+        {
+            String path = "dir" + ( i % 7 ) + "/sub" + ( i % 3 ) + "/file" + i + ".txt";
+            createFile( new File( source, path ), "content of " + i );
+            paths.add( path );
+        }
+
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setPackagingExecutor( executor, 4 );
+        final PathSet files = new PathSet( paths );
+
+        new CopyingTask( "overlay1", source, files ).performPackaging( context );
+
+        assertEquals( paths, new ArrayList<>( context.getWebappStructure().getStructure( "overlay1" ).paths() ) );
+        for ( int i = 0; i < paths.size(); i++ )
+        {
+            assertEquals( "content of " + i,
+                          FileUtils.fileRead( new File( context.getWebappDirectory(), paths.get( i ) ) ) );
+        }
+    }
+
+    public void testFirstOwnerWinsWithConcurrentCopy()
+        throws Exception
+    {
+        final File first = new File( testDirectory, "first" );
+        final File second = new File( testDirectory, "second" );
+        createFile( new File( first, "index.jsp" ), "first" );
+        createFile( new File( second, "index.jsp" ), "second" );
+        createFile( new File( second, "other.jsp" ), "other" );
+
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setPackagingExecutor( executor, 4 );
+
+        new CopyingTask( "first", first, new PathSet( new String[] { "index.jsp" } ) ).performPackaging( context );
+        new CopyingTask( "second", second, new PathSet( new String[] { "index.jsp", "other.jsp" } ) )
+            .performPackaging( context );
+
+        assertEquals( "first", FileUtils.fileRead( new File( context.getWebappDirectory(), "index.jsp" ) ) );
+        assertEquals( "other", FileUtils.fileRead( new File( context.getWebappDirectory(), "other.jsp" ) ) );
+        assertEquals( "first", context.getWebappStructure().getOwner( "index.jsp" ) );
+    }
+
+    public void testTransferMode()
+        throws Exception
+    {
+        final File source = new File( testDirectory, "source/index.jsp" );
+        createFile( source, "transferred" );
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setMaterializationMode( MaterializationMode.TRANSFER );
+        final File destination = new File( context.getWebappDirectory(), "index.jsp" );
+
+        new CopyingTask( "overlay1", null, null ).copyFile( context, source, destination, "index.jsp", false );
+
+        assertEquals( "transferred", FileUtils.fileRead( destination ) );
+        assertEquals( source.lastModified(), destination.lastModified() );
+    }
+
+    public void testSymlinkMode()
+        throws Exception
+    {
+        final File source = new File( testDirectory, "source/index.jsp" );
+        createFile( source, "linked" );
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setMaterializationMode( MaterializationMode.SYMLINK );
+        final File destination = new File( context.getWebappDirectory(), "index.jsp" );
+        final CopyingTask task = new CopyingTask( "overlay1", null, null );
+
+        task.copyFile( context, source, destination, "index.jsp", false );
+        assertTrue( Files.isSymbolicLink( destination.toPath() ) );
+        assertEquals( "linked", FileUtils.fileRead( destination ) );
+
+        // switching back to copy replaces the link without touching the source
+        context.setMaterializationMode( MaterializationMode.COPY );
+        assertTrue( task.copyFile( context, source, destination, "index.jsp", true ) );
+        assertFalse( Files.isSymbolicLink( destination.toPath() ) );
+        final File other = new File( testDirectory, "source/other.jsp" );
+        createFile( other, "other" );
+        task.copyFile( context, other, destination, "index.jsp", false );
+        assertEquals( "linked", FileUtils.fileRead( source ) );
+    }
+
+    public void testHardlinkedDestinationIsNotWrittenThrough()
+        throws Exception
+    {
+        final File source = new File( testDirectory, "source/index.jsp" );
+        createFile( source, "linked" );
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setMaterializationMode( MaterializationMode.HARDLINK );
+        final File destination = new File( context.getWebappDirectory(), "index.jsp" );
+        final CopyingTask task = new CopyingTask( "overlay1", null, null );
+
+        task.copyFile( context, source, destination, "index.jsp", false );
+        assertEquals( "linked", FileUtils.fileRead( destination ) );
+
+        final File other = new File( testDirectory, "source/other.jsp" );
+        createFile( other, "other" );
+        context.setMaterializationMode( MaterializationMode.COPY );
+        task.copyFile( context, other, destination, "index.jsp", false );
+        assertEquals( "other", FileUtils.fileRead( destination ) );
+        assertEquals( "linked", FileUtils.fileRead( source ) );
+    }
+
+    public void testHardlinkIsCopiedAgainInCopyMode()
+        throws Exception
+    {
+        if ( !FileSystems.getDefault().supportedFileAttributeViews().contains( "unix" ) )
+        {
+            return;
+        }
+        final File source = new File( testDirectory, "source/index.jsp" );
+        createFile( source, "linked" );
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setMaterializationMode( MaterializationMode.HARDLINK );
+        final File destination = new File( context.getWebappDirectory(), "index.jsp" );
+        final CopyingTask task = new CopyingTask( "overlay1", null, null );
+        task.copyFile( context, source, destination, "index.jsp", false );
+        if ( !Integer.valueOf( 2 ).equals( Files.getAttribute( destination.toPath(), "unix:nlink" ) ) )
+        {
+            // no hard link on this file system
+            return;
+        }
+
+        // the link is up to date, but a copy build must not keep it
+        context.setMaterializationMode( MaterializationMode.COPY );
+        assertTrue( task.copyFile( context, source, destination, "index.jsp", true ) );
+        assertEquals( 1, Files.getAttribute( destination.toPath(), "unix:nlink" ) );
+        FileUtils.fileWrite( destination, "edited" );
+        assertEquals( "linked", FileUtils.fileRead( source ) );
+    }
+
+    public void testHardlinkIsCopiedAgainByACopyBuildWithCache()
+        throws Exception
+    {
+        if ( !FileSystems.getDefault().supportedFileAttributeViews().contains( "unix" ) )
+        {
+            return;
+        }
+        final File source = new File( testDirectory, "source" );
+        createFile( new File( source, "index.jsp" ), "linked" );
+        final PathSet files = new PathSet( new String[] { "index.jsp" } );
+        final WarPackagingContextStub previous = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        previous.setMaterializationMode( MaterializationMode.HARDLINK );
+        new CopyingTask( "overlay1", source, files ).performPackaging( previous );
+        final File destination = new File( previous.getWebappDirectory(), "index.jsp" );
+        if ( !Integer.valueOf( 2 ).equals( Files.getAttribute( destination.toPath(), "unix:nlink" ) ) )
+        {
+            // no hard link on this file system
+            return;
+        }
+
+        final WarPackagingContextStub context = new WarPackagingContextStub( previous.getWebappDirectory() );
+        context.setWebappStructure( new WebappStructure( new ArrayList<Dependency>(),
+                                                         previous.getWebappStructure() ) );
+        new CopyingTask( "overlay1", source, files ).performPackaging( context );
+
+        assertEquals( 1, Files.getAttribute( destination.toPath(), "unix:nlink" ) );
+        assertEquals( "linked", FileUtils.fileRead( destination ) );
+    }
+
+    public void testTouchedSourceIsNotCopiedAgainWithCacheAndManifest()
+        throws Exception
+    {
+        final File source = new File( testDirectory, "source" );
+        final File index = new File( source, "index.jsp" );
+        createFile( index, "unchanged" );
+        final PathSet files = new PathSet( new String[] { "index.jsp" } );
+        final List<String> copies = new ArrayList<>();
+        final FingerprintManifest manifest = new FingerprintManifest()
+        {
+            @Override
+            public void record( String path, File source, File destination )
+            {
+                copies.add( path );
+                super.record( path, source, destination );
+            }
+        };
+        final WarPackagingContextStub previous = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        previous.setFingerprintManifest( manifest );
+        new CopyingTask( "overlay1", source, files ).performPackaging( previous );
+        assertEquals( 1, copies.size() );
+
+        // a checkout touches the source without changing its content
+        index.setLastModified( index.lastModified() + 60000 );
+        final WarPackagingContextStub context = new WarPackagingContextStub( previous.getWebappDirectory() );
+        context.setWebappStructure( new WebappStructure( new ArrayList<Dependency>(),
+                                                         previous.getWebappStructure() ) );
+        context.setFingerprintManifest( manifest );
+        new CopyingTask( "overlay1", source, files ).performPackaging( context );
+
+        assertEquals( 1, copies.size() );
+    }
+
+    public void testSinkReceivesRegisteredFiles()
+        throws Exception
+    {
+        final File first = new File( testDirectory, "first" );
+        final File second = new File( testDirectory, "second" );
+        createFile( new File( first, "index.jsp" ), "first" );
+        createFile( new File( second, "index.jsp" ), "second" );
+        createFile( new File( second, "WEB-INF/other.jsp" ), "other" );
+
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setPackagingExecutor( executor, 4 );
+        final Map<String, File> entries = new LinkedHashMap<>();
+        context.setWebappEntrySink( new WebappEntrySink()
+        {
+            @Override
+            public void addEntry( File source, String targetFilename )
+            {
+                assertNull( entries.put( targetFilename, source ) );
+            }
+        } );
+
+        new CopyingTask( "first", first, new PathSet( new String[] { "index.jsp" } ) ).performPackaging( context );
+        new CopyingTask( "second", second, new PathSet( new String[] { "index.jsp", "WEB-INF/other.jsp" } ) )
+            .performPackaging( context );
+
+        assertEquals( Arrays.asList( "index.jsp", "WEB-INF" + File.separator + "other.jsp" ),
+                      new ArrayList<>( entries.keySet() ) );
+        assertEquals( new File( first, "index.jsp" ), entries.get( "index.jsp" ) );
+        assertFalse( new File( context.getWebappDirectory(), "index.jsp" ).exists() );
+        assertFalse( new File( context.getWebappDirectory(), "WEB-INF/other.jsp" ).exists() );
+    }
+
+    private static void createFile( File file, String content )
+        throws IOException
+    {
+        file.getParentFile().mkdirs();
+        FileUtils.fileWrite( file, content );
+    }
+
+    /**
+     * Copies a fixed set of files.
+     */
+    private static class CopyingTask
+        extends AbstractWarPackagingTask
+    {
+        private final String id;
+
+        private final File baseDirectory;
+
+        private final PathSet files;
+
+        CopyingTask( String id, File baseDirectory, PathSet files )
+        {
+            this.id = id;
+            this.baseDirectory = baseDirectory;
+            this.files = files;
+        }
+
+        @Override
+        public void performPackaging( WarPackagingContext context )
+            throws MojoExecutionException
+        {
+            try
+            {
+                copyFiles( id, context, baseDirectory, files, false );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( e.getMessage(), e );
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+import org.apache.maven.plugins.war.stub.WarPackagingContextStub;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+public class ArchiveOverlaySourceTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/archiveoverlay/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+    }
+
+    public void testSelectsFilesLikeTheDirectoryScanner()
+        throws Exception
+    {
+        final File archive = createArchive( new File( testDirectory, "overlay.war" ), "index.jsp", "index",
+                                            "WEB-INF/web.xml", "web", "WEB-INF/lib/a.jar", "a",
+                                            "WEB-INF/lib/b.jar", "b", "css/.svn/entries", "svn",
+                                            "../escape.jsp", "escape", "/absolute.jsp", "absolute" );
+        final File unpacked = new File( testDirectory, "unpacked" );
+        for ( String path : Arrays.asList( "index.jsp", "WEB-INF/web.xml", "WEB-INF/lib/a.jar", "WEB-INF/lib/b.jar",
+                                           "css/.svn/entries" ) )
+        {
+            FileUtils.fileWrite( createParent( new File( unpacked, path ) ), "content" );
+        }
+
+        final String[][] selectors = { null, null, { "WEB-INF/lib/", "**/*.jsp" }, null,
+            { "WEB-INF/lib/**" }, { "**/b.jar" }, null, { "WEB-INF/**" } };
+        try ( ArchiveOverlaySource source = new ArchiveOverlaySource( archive ) )
+        {
+            final DirectoryOverlaySource directory = new DirectoryOverlaySource( unpacked );
+            for ( int i = 0; i < selectors.length; i += 2 )
+            {
+                assertEquals( new HashSet<>( directory.getFiles( selectors[i], selectors[i + 1] ).paths() ),
+                              new HashSet<>( source.getFiles( selectors[i], selectors[i + 1] ).paths() ) );
+            }
+            assertFalse( source.isFile( "WEB-INF" ) );
+            assertTrue( source.isFile( "WEB-INF/web.xml" ) );
+            try ( InputStream in = source.openStream( "WEB-INF/web.xml" ) )
+            {
+                assertEquals( "web", IOUtil.toString( in, "UTF-8" ) );
+            }
+        }
+    }
+
+    public void testCopyFromArchive()
+        throws Exception
+    {
+        final File archive = createArchive( new File( testDirectory, "overlay.war" ), "index.jsp", "overlay",
+                                            "WEB-INF/jsp/page.jsp", "page", "WEB-INF/lib/a.jar", "a" );
+        final WarPackagingContextStub context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.getWebappStructure().registerFile( "currentBuild", "index.jsp" );
+
+        try ( ArchiveOverlaySource source = new ArchiveOverlaySource( archive ) )
+        {
+            final AbstractWarPackagingTask task = new AbstractWarPackagingTask()
+            {
+                @Override
+                public void performPackaging( WarPackagingContext context )
+                {
+                    // not used
+                }
+            };
+            task.copyFiles( "overlay1", context, source, source.getFiles( new String[] { "**/*.jsp" }, null ), null,
+                            false );
+        }
+
+        final File page = new File( context.getWebappDirectory(), "WEB-INF/jsp/page.jsp" );
+        assertEquals( "page", FileUtils.fileRead( page ) );
+        assertEquals( 1000000000000L, page.lastModified() );
+        assertFalse( new File( context.getWebappDirectory(), "index.jsp" ).exists() );
+        assertFalse( new File( context.getWebappDirectory(), "WEB-INF/lib/a.jar" ).exists() );
+        assertEquals( "overlay1", context.getWebappStructure().getOwner( "WEB-INF/jsp/page.jsp" ) );
+        assertEquals( "currentBuild", context.getWebappStructure().getOwner( "index.jsp" ) );
+    }
+
+    /**
+     * Creates an archive holding the specified entries, given as pairs of name and content.
+     */
+    static File createArchive( File archive, String... entries )
+        throws IOException
+    {
+        createParent( archive );
+        try ( ZipOutputStream out = new ZipOutputStream( new FileOutputStream( archive ) ) )
+        {
+            for ( int i = 0; i < entries.length; i += 2 )
+            {
+                final ZipEntry entry = new ZipEntry( entries[i] );
+                entry.setTime( 1000000000000L );
+                out.putNextEntry( entry );
+                out.write( entries[i + 1].getBytes( StandardCharsets.UTF_8 ) );
+                out.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    private static File createParent( File file )
+    {
+        file.getParentFile().mkdirs();
+        return file;
+    }
+}
@@ -0,0 +1,131 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.stub.WarPackagingContextStub;
+import org.codehaus.plexus.interpolation.InterpolationException;
+
+/**
+ * Compares the naming of the artifacts by {@link ArtifactsPackagingTask} with the previous implementation, which
+ * computed the final name of each artifact twice and searched the duplicates in lists.
+ *
+ * The artifacts are optional, so that no file is copied and only the naming is measured.
+ *
+ * Not a unit test: run the <code>main</code> method, optionally with the number of artifacts.
+ */
+public class ArtifactsPackagingBenchmark
+{
+    public static void main( String[] args )
+        throws Exception
+    {
+        final int artifactCount = args.length > 0 ? Integer.parseInt( args[0] ) : 2000;
+
+        final Set<Artifact> artifacts = new LinkedHashSet<>();
+        for ( int i = 0; i < artifactCount; i++ )
+        {
+            // one artifact in ten shares its artifactId with an artifact of another group
+            final String artifactId = "library" + ( i % 10 == 0 ? i + 1 : i );
+            final Artifact artifact = new DefaultArtifact( "org.example.group" + ( i % 10 == 0 ? "x" : "" ), artifactId,
+                                                           "1.0", Artifact.SCOPE_RUNTIME, "jar", null,
+                                                           new DefaultArtifactHandler( "jar" ) );
+            artifact.setOptional( true );
+            artifacts.add( artifact );
+        }
+        final File webappDirectory = new File( System.getProperty( "java.io.tmpdir" ), "artifacts-benchmark" );
+        final Overlay currentProjectOverlay = Overlay.createInstance();
+
+        for ( int run = 0; run < 3; run++ )
+        {
+            long start = System.nanoTime();
+            new LegacyArtifactsPackagingTask( artifacts ).performPackaging(
+                new WarPackagingContextStub( webappDirectory ) );
+            final long lists = ( System.nanoTime() - start ) / 1000000;
+
+            start = System.nanoTime();
+            new ArtifactsPackagingTask( artifacts, currentProjectOverlay ).performPackaging(
+                new WarPackagingContextStub( webappDirectory ) );
+            final long hashes = ( System.nanoTime() - start ) / 1000000;
+
+            System.out.println( artifacts.size() + " artifacts: lists " + lists + " ms, hashes " + hashes + " ms" );
+        }
+    }
+
+    /**
+     * The naming of the artifacts before the final names were memoized.
+     */
+    private static class LegacyArtifactsPackagingTask
+        extends AbstractWarPackagingTask
+    {
+        private final Set<Artifact> artifacts;
+
+        LegacyArtifactsPackagingTask( Set<Artifact> artifacts )
+        {
+            this.artifacts = artifacts;
+        }
+
+        @Override
+        public void performPackaging( WarPackagingContext context )
+            throws MojoExecutionException
+        {
+            try
+            {
+                final List<String> duplicates = new ArrayList<>();
+                final List<String> identifiers = new ArrayList<>();
+                for ( Artifact artifact : artifacts )
+                {
+                    final String candidate = getArtifactFinalName( context, artifact );
+                    if ( identifiers.contains( candidate ) )
+                    {
+                        duplicates.add( candidate );
+                    }
+                    else
+                    {
+                        identifiers.add( candidate );
+                    }
+                }
+                for ( Artifact artifact : artifacts )
+                {
+                    String targetFileName = getArtifactFinalName( context, artifact );
+                    if ( duplicates.contains( targetFileName ) )
+                    {
+                        targetFileName = artifact.getGroupId() + "-" + targetFileName;
+                    }
+                    context.getWebappStructure().registerTargetFileName( artifact, targetFileName );
+                }
+            }
+            catch ( InterpolationException e )
+            {
+                throw new MojoExecutionException( e.getMessage(), e );
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+public class CatenationSessionTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/catenationsession/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+    }
+
+    public void testAppendsTheBytesAsIs()
+        throws Exception
+    {
+        final byte[] first = { 'a', '\r', '\n', (byte) 0xe9, '\n' };
+        final byte[] second = { 'b', (byte) 0xff, '\n' };
+        final File tmpFile = new File( testDirectory, "out.xml.tmpfile" );
+        final File outFile = new File( testDirectory, "out.xml" );
+        FileUtils.fileWrite( tmpFile.getAbsolutePath(), "stale content of a previous build" );
+
+        final CatenationSession session = new CatenationSession( tmpFile );
+        assertEquals( first.length, session.append( write( "first", first ) ) );
+        assertEquals( second.length, session.append( new ByteArrayInputStream( second ) ) );
+        session.publish( outFile );
+
+        assertFalse( tmpFile.exists() );
+        assertTrue( Arrays.equals( concat( first, second ), Files.readAllBytes( outFile.toPath() ) ) );
+    }
+
+    public void testStartsEachFileOnANewLine()
+        throws Exception
+    {
+        final byte[] separator = System.lineSeparator().getBytes( "ISO-8859-1" );
+        final File outFile = new File( testDirectory, "out.xml" );
+        FileUtils.fileWrite( outFile.getAbsolutePath(), "previous" );
+
+        final CatenationSession session = new CatenationSession( new File( testDirectory, "out.xml.tmpfile" ) );
+        assertEquals( 1 + separator.length, session.append( write( "first", new byte[] { 'a' } ) ) );
+        assertEquals( 0, session.append( write( "empty", new byte[0] ) ) );
+        assertEquals( 1 + separator.length, session.append( new ByteArrayInputStream( new byte[] { 'b' } ) ) );
+        assertEquals( 2, session.append( write( "last", new byte[] { 'c', '\n' } ) ) );
+        session.publish( outFile );
+
+        final byte[] expected = concat( concat( new byte[] { 'a' }, separator ),
+                                        concat( concat( new byte[] { 'b' }, separator ), new byte[] { 'c', '\n' } ) );
+        assertTrue( Arrays.equals( expected, Files.readAllBytes( outFile.toPath() ) ) );
+    }
+
+    public void testPublishFailsIfNothingWasCatenated()
+        throws Exception
+    {
+        final CatenationSession session = new CatenationSession( new File( testDirectory, "out.xml.tmpfile" ) );
+        try
+        {
+            session.publish( new File( testDirectory, "out.xml" ) );
+            fail( "Nothing was catenated" );
+        }
+        catch ( IOException e )
+        {
+            assertFalse( new File( testDirectory, "out.xml" ).exists() );
+        }
+    }
+
+    private File write( String name, byte[] content )
+        throws IOException
+    {
+        final File result = new File( testDirectory, name );
+        Files.write( result.toPath(), content );
+        return result;
+    }
+
+    private static byte[] concat( byte[] a, byte[] b )
+    {
+        final byte[] result = Arrays.copyOf( a, a.length + b.length );
+        System.arraycopy( b, 0, result, a.length, b.length );
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.apache.maven.plugin.testing.stubs.ArtifactStub;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.stub.WarPackagingContextStub;
+import org.codehaus.plexus.util.FileUtils;
+
+public class ConfigCatenationTaskTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    private WarPackagingContextStub context;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/configcatenationtask/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        final File sourceDirectory = new File( testDirectory, "src" );
+        new File( sourceDirectory, "WEB-INF" ).mkdirs();
+        FileUtils.fileWrite( new File( sourceDirectory, "WEB-INF/routes.conf" ).getAbsolutePath(), "root routes\n" );
+        FileUtils.fileWrite( new File( sourceDirectory, "WEB-INF/security.conf" ).getAbsolutePath(),
+                             "root security\n" );
+        context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setWebappSourceDirectory( sourceDirectory );
+        context.setUnpackOverlays( false );
+    }
+
+    public void testFansOutEachOverlayToAllTheCatenations()
+        throws Exception
+    {
+        final Overlay first = createOverlay( "first", "WEB-INF/routes.conf", "first routes\n",
+                                             "WEB-INF/security.conf", "first security\n" );
+        final Overlay second = createOverlay( "second", "WEB-INF/security.conf", "second security\n" );
+        final CatenationSession routes = new CatenationSession( new File( testDirectory, "routes.tmpfile" ) );
+        final CatenationSession security = new CatenationSession( new File( testDirectory, "security.tmpfile" ) );
+        final List<CatenationTarget> targets = Arrays.asList( new CatenationTarget( routes, "WEB-INF/routes.conf" ),
+            new CatenationTarget( security, "WEB-INF/security.conf" ) );
+        final CatenationLookup lookup = CatenationSeekStrategy.INDEX.createLookup(
+            Arrays.asList( first, second ),
+            Arrays.asList( new String[] { "WEB-INF/routes.conf" }, new String[] { "WEB-INF/security.conf" } ) );
+
+        new ConfigCatenationTask( first, false, lookup, targets ).performPackaging( context );
+        new ConfigCatenationTask( second, false, lookup, targets ).performPackaging( context );
+        new ConfigCatenationTask( new Overlay(), true, lookup, targets ).performPackaging( context );
+
+        final File routesFile = new File( testDirectory, "routes.conf" );
+        final File securityFile = new File( testDirectory, "security.conf" );
+        routes.publish( routesFile );
+        security.publish( securityFile );
+        assertEquals( "first routes\nroot routes\n", FileUtils.fileRead( routesFile ) );
+        assertEquals( "first security\nsecond security\nroot security\n", FileUtils.fileRead( securityFile ) );
+    }
+
+    private Overlay createOverlay( String artifactId, String... nameContentPairs )
+        throws Exception
+    {
+        final ArtifactStub artifact = new ArtifactStub();
+        artifact.setGroupId( "org.example" );
+        artifact.setArtifactId( artifactId );
+        artifact.setFile( ArchiveOverlaySourceTest.createArchive( new File( testDirectory, artifactId + ".war" ),
+                                                                  nameContentPairs ) );
+        final Overlay overlay = new Overlay( "org.example", artifactId );
+        overlay.setArtifact( artifact );
+        return overlay;
+    }
+}
@@ -0,0 +1,161 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.war.stub.WarPackagingContextStub;
+import org.apache.maven.plugins.war.util.DelimiterScanner;
+import org.apache.maven.plugins.war.util.PathSet;
+import org.apache.maven.shared.filtering.MavenFileFilter;
+import org.apache.maven.shared.utils.io.FileUtils.FilterWrapper;
+import org.codehaus.plexus.PlexusTestCase;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.InterpolationFilterReader;
+
+public class CopyFilteredFileTest
+    extends PlexusTestCase
+{
+    private File testDirectory;
+
+    private File source;
+
+    private List<String> paths;
+
+    private ExecutorService executor;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( getBasedir(), "target/test-classes/unit/copyfilteredfile/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        source = new File( testDirectory, "source" );
+        paths = new ArrayList<>();
+        for ( int i = 0; i < 200; i++ )
+        {
+            final String path = "dir" + ( i % 5 ) + "/file" + i + ( i % 4 == 0 ? ".xml" : ".properties" );
+            final File file = new File( source, path );
+            file.getParentFile().mkdirs();
+            final String content = i % 4 == 0
+                ? "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<name value=\"${name}\">café " + i + "</name>\n"
+                : "# file " + i + "\r\nname=${name}\r\nversion=${version}\r\nplain=" + i + "\n";
+            Files.write( file.toPath(), content.getBytes( i % 4 == 0 ? "ISO-8859-1" : "UTF-8" ) );
+            paths.add( path );
+        }
+        paths.add( "plain.txt" );
+        FileUtils.fileWrite( new File( source, "plain.txt" ).getAbsolutePath(), "no expression here" );
+        executor = Executors.newFixedThreadPool( 4 );
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    public void testConcurrentFilteringIsIdenticalToSerialFiltering()
+        throws Exception
+    {
+        final WarPackagingContextStub serial = createContext( "serial" );
+        final WarPackagingContextStub concurrent = createContext( "concurrent" );
+        concurrent.setPackagingExecutor( executor, 4 );
+        concurrent.setDelimiterScanner( DelimiterScanner.compile( Arrays.asList( "${*}" ) ) );
+
+        new FilteringTask( source, new PathSet( paths ) ).performPackaging( serial );
+        new FilteringTask( source, new PathSet( paths ) ).performPackaging( concurrent );
+
+        assertEquals( paths, new ArrayList<>( concurrent.getWebappStructure().getStructure( "source" ).paths() ) );
+        for ( String path : paths )
+        {
+            final byte[] expected = Files.readAllBytes( new File( serial.getWebappDirectory(), path ).toPath() );
+            assertTrue( path, Arrays.equals( expected,
+                Files.readAllBytes( new File( concurrent.getWebappDirectory(), path ).toPath() ) ) );
+        }
+        assertEquals( "# file 1\r\nname=webapp\r\nversion=1.0\r\nplain=1\n",
+                      FileUtils.fileRead( new File( concurrent.getWebappDirectory(), "dir1/file1.properties" ) ) );
+    }
+
+    private WarPackagingContextStub createContext( String name )
+        throws Exception
+    {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put( "name", "webapp" );
+        properties.put( "version", "1.0" );
+        final WarPackagingContextStub result = new WarPackagingContextStub( new File( testDirectory, name ) );
+        result.setMavenFileFilter( (MavenFileFilter) lookup( MavenFileFilter.class.getName() ) );
+        result.setResourceEncoding( "UTF-8" );
+        result.setFilterWrappers( Collections.<FilterWrapper>singletonList( new FilterWrapper()
+        {
+            @Override
+            public Reader getReader( Reader reader )
+            {
+                return new InterpolationFilterReader( reader, properties, "${", "}" );
+            }
+        } ) );
+        return result;
+    }
+
+    /**
+     * Filters a fixed set of files.
+     */
+    private static class FilteringTask
+        extends AbstractWarPackagingTask
+    {
+        private final File baseDirectory;
+
+        private final PathSet files;
+
+        FilteringTask( File baseDirectory, PathSet files )
+        {
+            this.baseDirectory = baseDirectory;
+            this.files = files;
+        }
+
+        @Override
+        public void performPackaging( WarPackagingContext context )
+            throws MojoExecutionException
+        {
+            try
+            {
+                copyFiles( "source", context, baseDirectory, files, true );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( e.getMessage(), e );
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.apache.maven.plugin.testing.stubs.ArtifactStub;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.stub.WarPackagingContextStub;
+import org.apache.maven.plugins.war.util.PathSet;
+import org.codehaus.plexus.util.FileUtils;
+
+public class IndexedCatenationLookupTest
+    extends TestCase
+{
+    private static final String[] INFILE = { "WEB-INF/spring/*.xml" };
+
+    private File testDirectory;
+
+    private WarPackagingContextStub context;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/indexedcatenationlookup/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        final File sourceDirectory = new File( testDirectory, "src" );
+        new File( sourceDirectory, "WEB-INF/spring" ).mkdirs();
+        FileUtils.fileWrite( new File( sourceDirectory, "WEB-INF/spring/root.xml" ).getAbsolutePath(), "root" );
+        context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) );
+        context.setWebappSourceDirectory( sourceDirectory );
+    }
+
+    public void testOnlyListsTheMatchingEntriesOfEachOverlay()
+        throws Exception
+    {
+        createSourceFile( "WEB-INF/spring/beans.xml" );
+        final Overlay matching = createOverlay( "matching", "WEB-INF/spring/beans.xml", "beans",
+                                                "WEB-INF/spring/more.xml", "more", "WEB-INF/web.xml", "web" );
+        final Overlay other = createOverlay( "other", "index.jsp", "index" );
+        final CatenationLookup lookup =
+            CatenationSeekStrategy.INDEX.createLookup( Arrays.asList( matching, other ),
+                                                       Collections.singletonList( INFILE ) );
+
+        assertEquals( Arrays.asList( "WEB-INF/spring/beans.xml" ),
+                      new ArrayList<>( lookup.getFiles( context, matching, INFILE ).paths() ) );
+        assertEquals( 0, lookup.getFiles( context, other, INFILE ).size() );
+    }
+
+    public void testCatenatesTheSameFilesAsTheScan()
+        throws Exception
+    {
+        createSourceFile( "WEB-INF/spring/beans.xml" );
+        createSourceFile( "WEB-INF/spring/source-only.xml" );
+        final List<Overlay> overlays =
+            Arrays.asList( createOverlay( "first", "WEB-INF/spring/beans.xml", "beans", "WEB-INF/spring/more.xml",
+                                          "more" ),
+                           createOverlay( "second", "WEB-INF/spring/root.xml", "root", "index.jsp", "index" ),
+                           createOverlay( "third", "WEB-INF/web.xml", "web" ) );
+        final CatenationLookup index =
+            CatenationSeekStrategy.INDEX.createLookup( overlays, Collections.singletonList( INFILE ) );
+        final CatenationLookup scan =
+            CatenationSeekStrategy.SCAN.createLookup( overlays, Collections.singletonList( INFILE ) );
+
+        for ( Overlay overlay : overlays )
+        {
+            assertEquals( overlay.getId(), getCatenatedFiles( scan, overlay ), getCatenatedFiles( index, overlay ) );
+        }
+    }
+
+    public void testScansTheOverlaysThatAreNotArchives()
+        throws Exception
+    {
+        final Overlay directory = createOverlay( "directory" );
+        directory.getArtifact().setFile( testDirectory );
+        final CatenationLookup lookup = CatenationSeekStrategy.INDEX.createLookup( Arrays.asList( directory ),
+                                                                                   Collections.<String[]>emptyList() );
+
+        assertEquals( Arrays.asList( "WEB-INF/spring/root.xml" ),
+                      new ArrayList<>( lookup.getFiles( context, directory, INFILE ).paths() ) );
+    }
+
+    public void testLegacyStrategiesScanTheSourceDirectory()
+    {
+        assertEquals( CatenationSeekStrategy.SCAN, CatenationSeekStrategy.fromName( null ) );
+        assertEquals( CatenationSeekStrategy.SCAN, CatenationSeekStrategy.fromName( "DFS" ) );
+        assertEquals( CatenationSeekStrategy.SCAN, CatenationSeekStrategy.fromName( "bfs" ) );
+        assertEquals( CatenationSeekStrategy.INDEX, CatenationSeekStrategy.fromName( " Index " ) );
+        try
+        {
+            CatenationSeekStrategy.fromName( "random" );
+            fail( "Unknown strategy" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+
+    /**
+     * Returns the files the catenation task appends, that is the candidates that are files of the overlay.
+     */
+    private List<String> getCatenatedFiles( CatenationLookup lookup, Overlay overlay )
+        throws Exception
+    {
+        final List<String> result = new ArrayList<>();
+        try ( ArchiveOverlaySource source = new ArchiveOverlaySource( overlay.getArtifact().getFile() ) )
+        {
+            final PathSet entries = source.getFiles( INFILE, null );
+            for ( String path : lookup.getFiles( context, overlay, INFILE ) )
+            {
+                if ( entries.contains( path ) )
+                {
+                    result.add( path );
+                }
+            }
+        }
+        Collections.sort( result );
+        return result;
+    }
+
+    private void createSourceFile( String path )
+        throws Exception
+    {
+        FileUtils.fileWrite( new File( context.getWebappSourceDirectory(), path ).getAbsolutePath(), path );
+    }
+
+    private Overlay createOverlay( String artifactId, String... nameContentPairs )
+        throws Exception
+    {
+        final ArtifactStub artifact = new ArtifactStub();
+        artifact.setGroupId( "org.example" );
+        artifact.setArtifactId( artifactId );
+        artifact.setFile( ArchiveOverlaySourceTest.createArchive( new File( testDirectory, artifactId + ".war" ),
+                                                                  nameContentPairs ) );
+        final Overlay overlay = new Overlay( "org.example", artifactId );
+        overlay.setArtifact( artifact );
+        return overlay;
+    }
+}
@@ -0,0 +1,198 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import org.apache.maven.plugin.testing.stubs.ArtifactStub;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.stub.WarPackagingContextStub;
+import org.codehaus.plexus.archiver.Archiver;
+import org.codehaus.plexus.archiver.UnArchiver;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
+import org.codehaus.plexus.components.io.resources.PlexusIoResourceCollection;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.codehaus.plexus.util.FileUtils;
+
+public class OverlayPrefetcherTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    private WarPackagingContextStub context;
+
+    private OverlayPrefetcher prefetcher;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/overlayprefetcher/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        context = new WarPackagingContextStub( new File( testDirectory, "webapp" ) )
+        {
+            @Override
+            public ArchiverManager getArchiverManager()
+            {
+                return new ZipArchiverManager();
+            }
+        };
+        final File overlaysWorkDirectory = new File( testDirectory, "overlays" );
+        overlaysWorkDirectory.mkdirs();
+        context.setOverlaysWorkDirectory( overlaysWorkDirectory );
+        prefetcher = new OverlayPrefetcher( 2 );
+        context.setOverlayPrefetcher( prefetcher );
+    }
+
+    @Override
+    protected void tearDown()
+        throws Exception
+    {
+        prefetcher.shutdown();
+        super.tearDown();
+    }
+
+    public void testTasksUsePrefetchedOverlays()
+        throws Exception
+    {
+        final Overlay first = createOverlay( "first", "index.jsp", "first" );
+        final Overlay second = createOverlay( "second", "index.jsp", "second", "css/site.css", "css" );
+        prefetcher.prefetch( context, Arrays.asList( first, second ) );
+
+        final File firstDirectory = prefetcher.await( first );
+        final File secondDirectory = prefetcher.await( second );
+        assertEquals( "first", FileUtils.fileRead( new File( firstDirectory, "index.jsp" ) ) );
+        assertEquals( "css", FileUtils.fileRead( new File( secondDirectory, "css/site.css" ) ) );
+
+        final AbstractWarPackagingTask task = new OverlayPackagingTask( second, null );
+        assertEquals( secondDirectory, task.unpackOverlay( context, second ) );
+    }
+
+    public void testOverlaysReadFromTheirArchiveAreNotPrefetched()
+        throws Exception
+    {
+        context.setUnpackOverlays( false );
+        final Overlay overlay = createOverlay( "archived", "index.jsp", "archived" );
+        prefetcher.prefetch( context, Arrays.asList( overlay ) );
+
+        assertNull( prefetcher.await( overlay ) );
+        assertFalse( new File( context.getOverlaysWorkDirectory(), "org.example/archived" ).exists() );
+    }
+
+    public void testOnlyTheFirstOverlayOfAnIdIsPrefetched()
+        throws Exception
+    {
+        final Overlay overlay = createOverlay( "shared", "index.jsp", "shared" );
+        final Overlay other = new Overlay( "org.example", "shared" );
+        other.setArtifact( overlay.getArtifact() );
+        other.setIncludes( "**/*.css" );
+        prefetcher.prefetch( context, Arrays.asList( overlay, other ) );
+
+        assertNotNull( prefetcher.await( overlay ) );
+        assertNull( prefetcher.await( other ) );
+    }
+
+    public void testInterruptedUnpackIsResumed()
+        throws Exception
+    {
+        final Overlay overlay = createOverlay( "interrupted", "index.jsp", "interrupted" );
+        final File groupDirectory = new File( context.getOverlaysWorkDirectory(), "org.example" );
+        final File directory = new File( groupDirectory, "interrupted" );
+        directory.mkdirs();
+        FileUtils.fileWrite( new File( directory, "partial.jsp" ).getPath(), "partial" );
+        directory.setLastModified( System.currentTimeMillis() + 60000 );
+        FileUtils.fileWrite( new File( groupDirectory, "interrupted.unpacking" ).getPath(), "" );
+
+        final AbstractWarPackagingTask task = new OverlayPackagingTask( overlay, null );
+        assertEquals( directory, task.unpackOverlay( context, overlay ) );
+        assertEquals( "interrupted", FileUtils.fileRead( new File( directory, "index.jsp" ) ) );
+        assertFalse( new File( groupDirectory, "interrupted.unpacking" ).exists() );
+    }
+
+    private Overlay createOverlay( String artifactId, String... nameContentPairs )
+        throws Exception
+    {
+        final ArtifactStub artifact = new ArtifactStub();
+        artifact.setGroupId( "org.example" );
+        artifact.setArtifactId( artifactId );
+        artifact.setFile( ArchiveOverlaySourceTest.createArchive( new File( testDirectory, artifactId + ".war" ),
+                                                                  nameContentPairs ) );
+        final Overlay overlay = new Overlay( "org.example", artifactId );
+        overlay.setArtifact( artifact );
+        return overlay;
+    }
+
+    /**
+     * Provides the zip unarchiver only.
+     */
+    private static final class ZipArchiverManager
+        implements ArchiverManager
+    {
+        @Override
+        public Archiver getArchiver( String archiverName )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( archiverName );
+        }
+
+        @Override
+        public Archiver getArchiver( File file )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( file.getName() );
+        }
+
+        @Override
+        public UnArchiver getUnArchiver( String unArchiverName )
+        {
+            final ZipUnArchiver unArchiver = new ZipUnArchiver();
+            unArchiver.enableLogging( new ConsoleLogger( Logger.LEVEL_DISABLED, "unarchiver" ) );
+            return unArchiver;
+        }
+
+        @Override
+        public UnArchiver getUnArchiver( File file )
+        {
+            return getUnArchiver( file.getName() );
+        }
+
+        @Override
+        public PlexusIoResourceCollection getResourceCollection( File file )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( file.getName() );
+        }
+
+        @Override
+        public PlexusIoResourceCollection getResourceCollection( String unArchiverName )
+            throws NoSuchArchiverException
+        {
+            throw new NoSuchArchiverException( unArchiverName );
+        }
+    }
+}
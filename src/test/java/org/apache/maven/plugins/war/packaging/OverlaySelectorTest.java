@@ -0,0 +1,160 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.InputStream;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugins.war.Overlay;
+import org.apache.maven.plugins.war.util.WebappStructure;
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
+
+public class OverlaySelectorTest
+    extends TestCase
+{
+    private Overlay overlay;
+
+    private WebappStructure structure;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        overlay = new Overlay( "org.example", "vendor" );
+        overlay.setIncludes( "WEB-INF/lib/**,**/*.jsp" );
+        overlay.setExcludes( "legacy/**" );
+        structure = new WebappStructure( Collections.<Dependency>emptyList() );
+    }
+
+    public void testSelectsIncludedFiles()
+    {
+        final OverlaySelector selector = new OverlaySelector( overlay, new String[0], null );
+
+        assertTrue( selector.isSelected( file( "WEB-INF/lib/a.jar" ) ) );
+        assertTrue( selector.isSelected( file( "index.jsp" ) ) );
+        assertFalse( selector.isSelected( file( "legacy/index.jsp" ) ) );
+        assertFalse( selector.isSelected( file( "images/logo.png" ) ) );
+        assertFalse( selector.isSelected( file( "WEB-INF/.svn/entries" ) ) );
+        assertTrue( selector.isSelected( directory( "images/" ) ) );
+    }
+
+    public void testSkipsPathsOwnedByOtherSources()
+    {
+        structure.registerFile( "currentBuild", "index.jsp" );
+        structure.registerFile( overlay.getId(), "WEB-INF/lib/a.jar" );
+        final OverlaySelector selector = new OverlaySelector( overlay, new String[0], structure );
+
+        assertFalse( selector.isSelected( file( "index.jsp" ) ) );
+        assertTrue( selector.isSelected( file( "WEB-INF/lib/a.jar" ) ) );
+        assertTrue( selector.isSelected( file( "other.jsp" ) ) );
+        assertEquals( Collections.singletonList( "index.jsp" ), selector.getPrunedPaths() );
+    }
+
+    public void testSkipsPathsOwnedByOtherSourcesUnderTargetPath()
+    {
+        overlay.setTargetPath( "vendor" );
+        structure.registerFile( "currentBuild", "vendor/index.jsp" );
+        structure.registerFile( "currentBuild", "other.jsp" );
+        final OverlaySelector selector = new OverlaySelector( overlay, new String[0], structure );
+
+        assertFalse( selector.isSelected( file( "index.jsp" ) ) );
+        assertTrue( selector.isSelected( file( "other.jsp" ) ) );
+    }
+
+    public void testSelectsCatenatedFiles()
+    {
+        structure.registerFile( "currentBuild", "WEB-INF/config/app.properties" );
+        final OverlaySelector selector =
+            new OverlaySelector( overlay, new String[] { "WEB-INF/config/*.properties" }, structure );
+
+        assertTrue( selector.isSelected( file( "WEB-INF/config/app.properties" ) ) );
+        assertTrue( selector.getPrunedPaths().isEmpty() );
+    }
+
+    public void testDescriptionIgnoresOwnership()
+    {
+        final String description = new OverlaySelector( overlay, new String[0], null ).getDescription();
+        structure.registerFile( "currentBuild", "index.jsp" );
+        assertEquals( description, new OverlaySelector( overlay, new String[0], structure ).getDescription() );
+
+        overlay.setIncludes( "**/*.jsp" );
+        assertFalse( description.equals( new OverlaySelector( overlay, new String[0], null ).getDescription() ) );
+    }
+
+    private static FileInfo file( String name )
+    {
+        return new Entry( name, true );
+    }
+
+    private static FileInfo directory( String name )
+    {
+        return new Entry( name, false );
+    }
+
+    /**
+     * An entry of an archive.
+     */
+    private static class Entry
+        implements FileInfo
+    {
+        private final String name;
+
+        private final boolean file;
+
+        Entry( String name, boolean file )
+        {
+            this.name = name;
+            this.file = file;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public InputStream getContents()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isFile()
+        {
+            return file;
+        }
+
+        @Override
+        public boolean isDirectory()
+        {
+            return !file;
+        }
+
+        @Override
+        public boolean isSymbolicLink()
+        {
+            return false;
+        }
+    }
+}
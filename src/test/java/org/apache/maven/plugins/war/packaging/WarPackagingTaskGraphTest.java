@@ -0,0 +1,170 @@
+package org.apache.maven.plugins.war.packaging;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.apache.maven.plugin.MojoExecutionException;
+
+public class WarPackagingTaskGraphTest
+    extends TestCase
+{
+    private final List<String> events = Collections.synchronizedList( new ArrayList<String>() );
+
+    public void testSequentialExecutionKeepsRegistrationOrder()
+        throws Exception
+    {
+        WarPackagingTaskGraph graph = new WarPackagingTaskGraph();
+        graph.addTask( new RecordingTask( "a" ), Collections.<WarPackagingTask>emptyList() );
+        graph.addTask( new RecordingTask( "b" ), Collections.<WarPackagingTask>emptyList() );
+        graph.addTask( new RecordingTask( "c" ), Collections.<WarPackagingTask>emptyList() );
+
+        graph.execute( null, 1 );
+
+        assertEquals( "[a, b, c]", events.toString() );
+    }
+
+    public void testDependenciesAreHonoredConcurrently()
+        throws Exception
+    {
+        WarPackagingTaskGraph graph = new WarPackagingTaskGraph();
+        WarPackagingTask first = new RecordingTask( "first" );
+        WarPackagingTask second = new RecordingTask( "second" );
+        WarPackagingTask third = new RecordingTask( "third" );
+        graph.addTask( first, Collections.<WarPackagingTask>emptyList() );
+        graph.addTask( second, Collections.singletonList( first ) );
+        graph.addTask( third, Collections.singletonList( second ) );
+
+        graph.execute( null, 4 );
+
+        assertEquals( "[first, second, third]", events.toString() );
+    }
+
+    public void testIndependentTasksOverlap()
+        throws Exception
+    {
+        // Each task waits for the other one: this only completes if both run at the same time
+        final CountDownLatch latch = new CountDownLatch( 2 );
+        WarPackagingTaskGraph graph = new WarPackagingTaskGraph();
+        graph.addTask( new LatchTask( latch ), Collections.<WarPackagingTask>emptyList() );
+        graph.addTask( new LatchTask( latch ), Collections.<WarPackagingTask>emptyList() );
+
+        graph.execute( null, 2 );
+
+        assertEquals( 0, latch.getCount() );
+    }
+
+    public void testFailureIsReportedAndStopsScheduling()
+        throws Exception
+    {
+        WarPackagingTaskGraph graph = new WarPackagingTaskGraph();
+        WarPackagingTask failing = new WarPackagingTask()
+        {
+            public void performPackaging( WarPackagingContext context )
+                throws MojoExecutionException
+            {
+                throw new MojoExecutionException( "boom" );
+            }
+        };
+        graph.addTask( failing, Collections.<WarPackagingTask>emptyList() );
+        graph.addTask( new RecordingTask( "after" ), Collections.singletonList( failing ) );
+
+        try
+        {
+            graph.execute( null, 2 );
+            fail( "The failure of the first task should have been reported" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            assertEquals( "boom", e.getMessage() );
+        }
+        assertTrue( events.isEmpty() );
+    }
+
+    public void testUnknownDependencyIsRejected()
+    {
+        WarPackagingTaskGraph graph = new WarPackagingTaskGraph();
+        try
+        {
+            graph.addTask( new RecordingTask( "a" ),
+                           Collections.<WarPackagingTask>singletonList( new RecordingTask( "b" ) ) );
+            fail( "A dependency must be registered first" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+
+    private class RecordingTask
+        implements WarPackagingTask
+    {
+        private final String name;
+
+        RecordingTask( String name )
+        {
+            this.name = name;
+        }
+
+        public void performPackaging( WarPackagingContext context )
+        {
+            events.add( name );
+        }
+
+        @Override
+        public String toString()
+        {
+            return name;
+        }
+    }
+
+    private static class LatchTask
+        implements WarPackagingTask
+    {
+        private final CountDownLatch latch;
+
+        LatchTask( CountDownLatch latch )
+        {
+            this.latch = latch;
+        }
+
+        public void performPackaging( WarPackagingContext context )
+            throws MojoExecutionException
+        {
+            latch.countDown();
+            try
+            {
+                if ( !latch.await( 10, TimeUnit.SECONDS ) )
+                {
+                    throw new MojoExecutionException( "Tasks were not performed concurrently" );
+                }
+            }
+            catch ( InterruptedException e )
+            {
+                throw new MojoExecutionException( "Interrupted", e );
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package org.apache.maven.plugins.war.stub;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.maven.archiver.MavenArchiveConfiguration;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.testing.SilentLog;
+import org.apache.maven.plugins.war.packaging.MaterializationMode;
+import org.apache.maven.plugins.war.packaging.OverlayPrefetcher;
+import org.apache.maven.plugins.war.packaging.WarPackagingContext;
+import org.apache.maven.plugins.war.packaging.WebappEntrySink;
+import org.apache.maven.plugins.war.util.DelimiterScanner;
+import org.apache.maven.plugins.war.util.FilteredOutputCache;
+import org.apache.maven.plugins.war.util.FingerprintManifest;
+import org.apache.maven.plugins.war.util.UnpackCache;
+import org.apache.maven.plugins.war.util.WebappStructure;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.filtering.MavenFileFilter;
+import org.apache.maven.shared.utils.io.FileUtils.FilterWrapper;
+import org.codehaus.plexus.archiver.jar.JarArchiver;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+
+/**
+ * A {@link WarPackagingContext} used to test packaging tasks without a mojo.
+ */
+public class WarPackagingContextStub
+    implements WarPackagingContext
+{
+    private final File webappDirectory;
+
+    private WebappStructure webappStructure = new WebappStructure( new ArrayList<Dependency>() );
+
+    private final Collection<String> outdatedResources =
+        Collections.synchronizedList( new ArrayList<String>() );
+
+    private final Log log = new SilentLog();
+
+    private File webappSourceDirectory;
+
+    private File overlaysWorkDirectory;
+
+    private MavenFileFilter mavenFileFilter;
+
+    private List<FilterWrapper> filterWrappers = Collections.emptyList();
+
+    private String resourceEncoding = "UTF-8";
+
+    private ExecutorService packagingExecutor;
+
+    private int packagingThreads = 1;
+
+    private FingerprintManifest fingerprintManifest;
+
+    private MaterializationMode materializationMode = MaterializationMode.COPY;
+
+    private WebappEntrySink webappEntrySink;
+
+    private UnpackCache overlayUnpackCache;
+
+    private boolean unpackOverlays = true;
+
+    private OverlayPrefetcher overlayPrefetcher;
+
+    private DelimiterScanner delimiterScanner;
+
+    private FilteredOutputCache filteredOutputCache;
+
+    /**
+     * @param webappDirectory the directory where the webapp is built
+     */
+    public WarPackagingContextStub( File webappDirectory )
+    {
+        this.webappDirectory = webappDirectory;
+    }
+
+    public void setWebappStructure( WebappStructure webappStructure )
+    {
+        this.webappStructure = webappStructure;
+    }
+
+    public void setWebappSourceDirectory( File webappSourceDirectory )
+    {
+        this.webappSourceDirectory = webappSourceDirectory;
+    }
+
+    public void setOverlaysWorkDirectory( File overlaysWorkDirectory )
+    {
+        this.overlaysWorkDirectory = overlaysWorkDirectory;
+    }
+
+    public void setMavenFileFilter( MavenFileFilter mavenFileFilter )
+    {
+        this.mavenFileFilter = mavenFileFilter;
+    }
+
+    public void setFilterWrappers( List<FilterWrapper> filterWrappers )
+    {
+        this.filterWrappers = filterWrappers;
+    }
+
+    public void setResourceEncoding( String resourceEncoding )
+    {
+        this.resourceEncoding = resourceEncoding;
+    }
+
+    public void setPackagingExecutor( ExecutorService packagingExecutor, int packagingThreads )
+    {
+        this.packagingExecutor = packagingExecutor;
+        this.packagingThreads = packagingThreads;
+    }
+
+    public void setFingerprintManifest( FingerprintManifest fingerprintManifest )
+    {
+        this.fingerprintManifest = fingerprintManifest;
+    }
+
+    public void setMaterializationMode( MaterializationMode materializationMode )
+    {
+        this.materializationMode = materializationMode;
+    }
+
+    public void setWebappEntrySink( WebappEntrySink webappEntrySink )
+    {
+        this.webappEntrySink = webappEntrySink;
+    }
+
+    public void setOverlayUnpackCache( UnpackCache overlayUnpackCache )
+    {
+        this.overlayUnpackCache = overlayUnpackCache;
+    }
+
+    public void setUnpackOverlays( boolean unpackOverlays )
+    {
+        this.unpackOverlays = unpackOverlays;
+    }
+
+    public void setOverlayPrefetcher( OverlayPrefetcher overlayPrefetcher )
+    {
+        this.overlayPrefetcher = overlayPrefetcher;
+    }
+
+    public void setDelimiterScanner( DelimiterScanner delimiterScanner )
+    {
+        this.delimiterScanner = delimiterScanner;
+    }
+
+    public void setFilteredOutputCache( FilteredOutputCache filteredOutputCache )
+    {
+        this.filteredOutputCache = filteredOutputCache;
+    }
+
+    public MavenProject getProject()
+    {
+        return null;
+    }
+
+    public File getWebappDirectory()
+    {
+        return webappDirectory;
+    }
+
+    public File getWebappSourceDirectory()
+    {
+        return webappSourceDirectory;
+    }
+
+    public String[] getWebappSourceIncludes()
+    {
+        return new String[] { "**" };
+    }
+
+    public boolean isWebappSourceIncludeEmptyDirectories()
+    {
+        return false;
+    }
+
+    public String[] getWebappSourceExcludes()
+    {
+        return new String[0];
+    }
+
+    public File getClassesDirectory()
+    {
+        return null;
+    }
+
+    public boolean archiveClasses()
+    {
+        return false;
+    }
+
+    public Log getLog()
+    {
+        return log;
+    }
+
+    public File getOverlaysWorkDirectory()
+    {
+        return overlaysWorkDirectory;
+    }
+
+    public ArchiverManager getArchiverManager()
+    {
+        return null;
+    }
+
+    public MavenArchiveConfiguration getArchive()
+    {
+        return null;
+    }
+
+    public JarArchiver getJarArchiver()
+    {
+        return null;
+    }
+
+    public String getOutputFileNameMapping()
+    {
+        return null;
+    }
+
+    public List<String> getFilters()
+    {
+        return Collections.emptyList();
+    }
+
+    public WebappStructure getWebappStructure()
+    {
+        return webappStructure;
+    }
+
+    public List<String> getOwnerIds()
+    {
+        return Collections.emptyList();
+    }
+
+    public MavenFileFilter getMavenFileFilter()
+    {
+        return mavenFileFilter;
+    }
+
+    public List<FilterWrapper> getFilterWrappers()
+    {
+        return filterWrappers;
+    }
+
+    public boolean isNonFilteredExtension( String fileName )
+    {
+        return false;
+    }
+
+    public boolean isFilteringDeploymentDescriptors()
+    {
+        return false;
+    }
+
+    public ArtifactFactory getArtifactFactory()
+    {
+        return null;
+    }
+
+    public MavenSession getSession()
+    {
+        return null;
+    }
+
+    public String getResourceEncoding()
+    {
+        return resourceEncoding;
+    }
+
+    public boolean isUseJvmChmod()
+    {
+        return true;
+    }
+
+    public Boolean isFailOnMissingWebXml()
+    {
+        return null;
+    }
+
+    public Collection<String> getOutdatedResources()
+    {
+        return outdatedResources;
+    }
+
+    public ExecutorService getPackagingExecutor()
+    {
+        return packagingExecutor;
+    }
+
+    public int getPackagingThreads()
+    {
+        return packagingThreads;
+    }
+
+    public FingerprintManifest getFingerprintManifest()
+    {
+        return fingerprintManifest;
+    }
+
+    public MaterializationMode getMaterializationMode()
+    {
+        return materializationMode;
+    }
+
+    public WebappEntrySink getWebappEntrySink()
+    {
+        return webappEntrySink;
+    }
+
+    public UnpackCache getOverlayUnpackCache()
+    {
+        return overlayUnpackCache;
+    }
+
+    public boolean isUnpackOverlays()
+    {
+        return unpackOverlays;
+    }
+
+    public OverlayPrefetcher getOverlayPrefetcher()
+    {
+        return overlayPrefetcher;
+    }
+
+    public String[] getCatenationIncludes()
+    {
+        return new String[0];
+    }
+
+    public DelimiterScanner getDelimiterScanner()
+    {
+        return delimiterScanner;
+    }
+
+    public FilteredOutputCache getFilteredOutputCache()
+    {
+        return filteredOutputCache;
+    }
+}
@@ -0,0 +1,114 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+public class CatenationFingerprintTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    private File workDirectory;
+
+    private File overlay;
+
+    private File rootFile;
+
+    private File outFile;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/catenationfingerprint/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        workDirectory = new File( testDirectory, "work" );
+        overlay = createFile( "overlay.war", "overlay" );
+        rootFile = createFile( "routes.conf", "root routes" );
+        outFile = createFile( "out/routes.conf", "overlay\nroot routes" );
+    }
+
+    public void testUnchangedInputsAreUpToDate()
+        throws Exception
+    {
+        assertFalse( createFingerprint( "settings" ).isUpToDate( outFile ) );
+        createFingerprint( "settings" ).save( outFile );
+
+        assertTrue( createFingerprint( "settings" ).isUpToDate( outFile ) );
+        assertFalse( createFingerprint( "other settings" ).isUpToDate( outFile ) );
+    }
+
+    public void testModifiedInputsAreNotUpToDate()
+        throws Exception
+    {
+        createFingerprint( "settings" ).save( outFile );
+
+        FileUtils.fileWrite( rootFile.getAbsolutePath(), "modified root routes" );
+        assertFalse( createFingerprint( "settings" ).isUpToDate( outFile ) );
+    }
+
+    public void testModifiedOutputIsNotUpToDate()
+        throws Exception
+    {
+        createFingerprint( "settings" ).save( outFile );
+
+        FileUtils.fileWrite( outFile.getAbsolutePath(), "edited by hand" );
+        assertFalse( createFingerprint( "settings" ).isUpToDate( outFile ) );
+    }
+
+    public void testDirectoryOverlayIsNeverUpToDate()
+        throws Exception
+    {
+        final File directory = new File( testDirectory, "overlay" );
+        directory.mkdirs();
+        final CatenationFingerprint fingerprint = new CatenationFingerprint( workDirectory, outFile, "settings" );
+        fingerprint.addOverlay( "org.example:overlay", directory );
+        fingerprint.save( outFile );
+
+        final CatenationFingerprint next = new CatenationFingerprint( workDirectory, outFile, "settings" );
+        next.addOverlay( "org.example:overlay", directory );
+        assertFalse( next.isUpToDate( outFile ) );
+    }
+
+    private CatenationFingerprint createFingerprint( String settings )
+        throws Exception
+    {
+        final CatenationFingerprint result = new CatenationFingerprint( workDirectory, outFile, settings );
+        result.addOverlay( "org.example:overlay", overlay );
+        result.addFile( "WEB-INF/routes.conf", rootFile );
+        return result;
+    }
+
+    private File createFile( String path, String content )
+        throws Exception
+    {
+        final File result = new File( testDirectory, path );
+        result.getParentFile().mkdirs();
+        FileUtils.fileWrite( result.getAbsolutePath(), content );
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+public class ClasspathIndexTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    private File indexFile;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/classpathindex/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        indexFile = new File( testDirectory, "work/classpath-index.txt" );
+    }
+
+    public void testFindsClassesOfJarsAndDirectories()
+        throws Exception
+    {
+        final File api = createJar( "api.jar", "javax/servlet/annotation/WebServlet.class", "META-INF/MANIFEST.MF",
+                                    "META-INF/versions/9/module/Hidden.class" );
+        final File copy = createJar( "copy.jar", "javax/servlet/annotation/WebServlet.class" );
+        final File classes = new File( testDirectory, "classes" );
+        new File( classes, "org/example" ).mkdirs();
+        new File( classes, "org/example/Main.class" ).createNewFile();
+
+        final ClasspathIndex index = new ClasspathIndex( indexFile );
+        index.index( Arrays.asList( classes, api, new File( testDirectory, "missing.jar" ), copy ) );
+
+        assertTrue( index.containsClass( "javax.servlet.annotation.WebServlet" ) );
+        assertTrue( index.containsClass( "org.example.Main" ) );
+        assertFalse( index.containsClass( "module.Hidden" ) );
+        assertFalse( index.containsClass( "javax.servlet.Servlet" ) );
+        assertEquals( Arrays.asList( api, copy ), index.getElements( "javax.servlet.annotation.WebServlet" ) );
+        assertEquals( Collections.singleton( "javax.servlet.annotation.WebServlet" ), index.getClassNames( api ) );
+    }
+
+    public void testRecordedClassNamesAreReusedForUnchangedJars()
+        throws Exception
+    {
+        final File api = createJar( "api.jar", "javax/servlet/annotation/WebServlet.class" );
+        final ClasspathIndex index = new ClasspathIndex( indexFile );
+        index.index( Collections.singletonList( api ) );
+        index.save();
+        assertTrue( indexFile.isFile() );
+
+        // same size and date: the jar is not read again, whatever its content
+        final long lastModified = api.lastModified();
+        Files.write( api.toPath(), new byte[(int) api.length()] );
+        api.setLastModified( lastModified );
+        final ClasspathIndex next = new ClasspathIndex( indexFile );
+        next.index( Collections.singletonList( api ) );
+        assertTrue( next.containsClass( "javax.servlet.annotation.WebServlet" ) );
+
+        api.setLastModified( lastModified - 10000 );
+        final ClasspathIndex changed = new ClasspathIndex( indexFile );
+        changed.index( Collections.singletonList( api ) );
+        assertFalse( changed.containsClass( "javax.servlet.annotation.WebServlet" ) );
+    }
+
+    private File createJar( String name, String... entries )
+        throws Exception
+    {
+        final File result = new File( testDirectory, name );
+        try ( ZipOutputStream out = new ZipOutputStream( new FileOutputStream( result ) ) )
+        {
+            for ( String entry : entries )
+            {
+                out.putNextEntry( new ZipEntry( entry ) );
+                out.write( 0 );
+                out.closeEntry();
+            }
+        }
+        return result;
+    }
+}
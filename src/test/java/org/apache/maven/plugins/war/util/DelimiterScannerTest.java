@@ -0,0 +1,81 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class DelimiterScannerTest
+    extends TestCase
+{
+    private final DelimiterScanner scanner = DelimiterScanner.compile( Arrays.asList( "${*}", "@" ) );
+
+    public void testFindsAnyBeginToken()
+        throws Exception
+    {
+        assertTrue( hasBeginToken( scanner, "name=${project.name}" ) );
+        assertTrue( hasBeginToken( scanner, "name=@project.name@" ) );
+        assertTrue( hasBeginToken( scanner, "escaped \\${project.name}" ) );
+        assertFalse( hasBeginToken( scanner, "price: $5 {not filtered}" ) );
+        assertFalse( hasBeginToken( scanner, "" ) );
+    }
+
+    public void testOverlappingBeginTokens()
+        throws Exception
+    {
+        final DelimiterScanner custom = DelimiterScanner.compile( Arrays.asList( "$${*}", "${{*}}" ) );
+
+        assertTrue( hasBeginToken( custom, "a $${b}" ) );
+        assertTrue( hasBeginToken( custom, "a $${{b}}" ) );
+        assertFalse( hasBeginToken( custom, "a ${b} $$" ) );
+    }
+
+    public void testBeginTokenAcrossBuffers()
+        throws Exception
+    {
+        final StringBuilder content = new StringBuilder();
+        for ( int i = 0; i < 64 * 1024 - 1; i++ )
+        {
+            content.append( 'x' );
+        }
+        content.append( "${name}" );
+
+        assertTrue( hasBeginToken( scanner, content.toString() ) );
+    }
+
+    public void testOnlyAsciiCompatibleEncodingsAreSupported()
+    {
+        assertTrue( scanner.supports( "UTF-8" ) );
+        assertTrue( scanner.supports( "ISO-8859-1" ) );
+        assertTrue( scanner.supports( null ) );
+        assertFalse( scanner.supports( "UTF-16" ) );
+        assertFalse( scanner.supports( "no-such-encoding" ) );
+    }
+
+    private static boolean hasBeginToken( DelimiterScanner scanner, String content )
+        throws IOException
+    {
+        return scanner.hasBeginToken( new ByteArrayInputStream( content.getBytes( StandardCharsets.UTF_8 ) ) );
+    }
+}
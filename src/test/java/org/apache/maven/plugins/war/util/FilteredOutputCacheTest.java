@@ -0,0 +1,97 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+public class FilteredOutputCacheTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    private File cacheDirectory;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/filteredoutputcache/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        cacheDirectory = new File( testDirectory, "cache" );
+    }
+
+    public void testOutputIsRestoredForTheSameInputs()
+        throws Exception
+    {
+        final File source = createFile( "app.properties", "name=${project.name}" );
+        final File output = createFile( "out/app.properties", "name=webapp" );
+        final FilteredOutputCache cache = new FilteredOutputCache( cacheDirectory, "project.name=webapp", "" );
+        final String key = cache.getKey( source, "UTF-8" );
+
+        final File target = new File( testDirectory, "target.properties" );
+        assertFalse( cache.restore( key, target ) );
+        cache.store( key, output );
+
+        final FilteredOutputCache next = new FilteredOutputCache( cacheDirectory, "project.name=webapp", "" );
+        assertTrue( next.restore( next.getKey( source, "UTF-8" ), target ) );
+        assertEquals( "name=webapp", FileUtils.fileRead( target ) );
+    }
+
+    public void testKeyDependsOnContentEncodingAndInputs()
+        throws Exception
+    {
+        final File source = createFile( "app.properties", "name=${project.name}" );
+        final FilteredOutputCache cache = new FilteredOutputCache( cacheDirectory, "project.name=webapp", "" );
+        final String key = cache.getKey( source, "UTF-8" );
+
+        assertFalse( key.equals( cache.getKey( source, "ISO-8859-1" ) ) );
+        assertFalse( key.equals(
+            new FilteredOutputCache( cacheDirectory, "project.name=other", "" ).getKey( source, "UTF-8" ) ) );
+        FileUtils.fileWrite( source.getAbsolutePath(), "name=${project.version}" );
+        assertFalse( key.equals( cache.getKey( source, "UTF-8" ) ) );
+    }
+
+    public void testEnvironmentOnlyMattersToFilesReferringToIt()
+        throws Exception
+    {
+        final File plain = createFile( "plain.properties", "name=${project.name}" );
+        final File environment = createFile( "env.properties", "home=${env.HOME}" );
+        final FilteredOutputCache first = new FilteredOutputCache( cacheDirectory, "inputs", "HOME=/home/first" );
+        final FilteredOutputCache second = new FilteredOutputCache( cacheDirectory, "inputs", "HOME=/home/second" );
+
+        assertEquals( first.getKey( plain, "UTF-8" ), second.getKey( plain, "UTF-8" ) );
+        assertFalse( first.getKey( environment, "UTF-8" ).equals( second.getKey( environment, "UTF-8" ) ) );
+    }
+
+    private File createFile( String path, String content )
+        throws Exception
+    {
+        final File result = new File( testDirectory, path );
+        result.getParentFile().mkdirs();
+        FileUtils.fileWrite( result.getAbsolutePath(), content );
+        return result;
+    }
+}
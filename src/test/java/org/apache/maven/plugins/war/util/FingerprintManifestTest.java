@@ -0,0 +1,121 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+public class FingerprintManifestTest
+    extends TestCase
+{
+    private static final long TIME = 1000000000000L;
+
+    private File source;
+
+    private File destination;
+
+    private FingerprintManifest manifest;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        final File testDirectory = new File( System.getProperty( "basedir", "." ),
+                                             "target/test-classes/unit/fingerprint/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        source = new File( testDirectory, "source/index.jsp" );
+        destination = new File( testDirectory, "webapp/index.jsp" );
+        write( source, "content", TIME );
+        write( destination, "content", TIME );
+        manifest = new FingerprintManifest();
+        manifest.record( "index.jsp", source, destination );
+    }
+
+    public void testUnknownPathIsNotUpToDate()
+        throws Exception
+    {
+        assertFalse( manifest.isUpToDate( "other.jsp", source, destination ) );
+    }
+
+    public void testUnchangedSourceIsUpToDate()
+        throws Exception
+    {
+        assertTrue( manifest.isUpToDate( "index.jsp", source, destination ) );
+    }
+
+    public void testTouchedSourceIsUpToDate()
+        throws Exception
+    {
+        source.setLastModified( TIME + 60000 );
+        assertTrue( manifest.isUpToDate( "index.jsp", source, destination ) );
+    }
+
+    public void testOlderSourceWithOtherContentIsNotUpToDate()
+        throws Exception
+    {
+        write( source, "CONTENT", TIME - 60000 );
+        assertFalse( manifest.isUpToDate( "index.jsp", source, destination ) );
+    }
+
+    public void testModifiedDestinationIsNotUpToDate()
+        throws Exception
+    {
+        write( destination, "changed", TIME + 60000 );
+        assertFalse( manifest.isUpToDate( "index.jsp", source, destination ) );
+    }
+
+    public void testSaveAndLoad()
+        throws Exception
+    {
+        final File file = new File( destination.getParentFile().getParentFile(), "work/fingerprints.txt" );
+        manifest.record( "deleted.jsp", source, new File( destination.getParentFile(), "deleted.jsp" ) );
+        manifest.save( file, destination.getParentFile() );
+
+        final FingerprintManifest result = new FingerprintManifest();
+        result.load( file );
+        assertEquals( 1, result.size() );
+        assertTrue( result.isUpToDate( "index.jsp", source, destination ) );
+    }
+
+    public void testSaveReplacesThePreviousManifest()
+        throws Exception
+    {
+        final File file = new File( destination.getParentFile().getParentFile(), "work/fingerprints.txt" );
+        write( file, "previous content\n", TIME );
+        manifest.save( file, destination.getParentFile() );
+
+        assertEquals( 1, file.getParentFile().list().length );
+        final FingerprintManifest result = new FingerprintManifest();
+        result.load( file );
+        assertEquals( 1, result.size() );
+    }
+
+    private static void write( File file, String content, long lastModified )
+        throws Exception
+    {
+        file.getParentFile().mkdirs();
+        FileUtils.fileWrite( file, content );
+        file.setLastModified( lastModified );
+    }
+}
@@ -0,0 +1,123 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Compares the tracking of outdated resources with a synchronized list populated by {@link Files#walkFileTree} and
+ * with a concurrent set populated by {@link ParallelDirectoryWalker}, for an increasing number of files. Each file is
+ * then removed from the collection, as the packaging tasks do when they copy a file.
+ *
+ * Not a unit test: run the <code>main</code> method with the file counts as arguments.
+ */
+public class OutdatedResourcesBenchmark
+{
+    public static void main( String[] args )
+        throws Exception
+    {
+        final int[] counts = args.length == 0 ? new int[] { 1000, 10000, 50000 } : new int[args.length];
+        for ( int i = 0; i < args.length; i++ )
+        {
+            counts[i] = Integer.parseInt( args[i] );
+        }
+        final int threads = Runtime.getRuntime().availableProcessors();
+
+        final File baseDirectory = Files.createTempDirectory( "outdated-resources" ).toFile();
+        try
+        {
+            for ( int count : counts )
+            {
+                final File webapp = new File( baseDirectory, String.valueOf( count ) );
+                ParallelDirectoryWalkerTest.createTree( webapp, count );
+
+                // warm up
+                listBased( webapp );
+                setBased( webapp, threads );
+
+                final long list = listBased( webapp );
+                final long set = setBased( webapp, threads );
+                System.out.println( count + " files: list " + list + " ms, set " + set + " ms (" + threads
+                    + " threads)" );
+            }
+        }
+        finally
+        {
+            FileUtils.deleteDirectory( baseDirectory );
+        }
+    }
+
+    private static long listBased( final File webapp )
+        throws IOException
+    {
+        final long start = System.nanoTime();
+        final Collection<String> outdated = Collections.synchronizedList( new ArrayList<String>() );
+        final Path base = webapp.toPath();
+        Files.walkFileTree( base, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult visitFile( Path file, BasicFileAttributes attrs )
+            {
+                outdated.add( base.relativize( file ).toString() );
+                return FileVisitResult.CONTINUE;
+            }
+        } );
+        removeAll( outdated );
+        return ( System.nanoTime() - start ) / 1000000;
+    }
+
+    private static long setBased( File webapp, int threads )
+        throws IOException
+    {
+        final long start = System.nanoTime();
+        final Collection<String> outdated = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+        ParallelDirectoryWalker.collectFiles( webapp, outdated, threads );
+        removeAll( outdated );
+        return ( System.nanoTime() - start ) / 1000000;
+    }
+
+    private static void removeAll( Collection<String> outdated )
+    {
+        final List<String> paths = new ArrayList<>( outdated );
+        // remove in another order than the walk, like packaging tasks copying from several sources
+        Collections.reverse( paths );
+        for ( String path : paths )
+        {
+            outdated.remove( path );
+        }
+        if ( !outdated.isEmpty() )
+        {
+            throw new IllegalStateException( "Outdated resources not removed" );
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.codehaus.plexus.util.FileUtils;
+
+public class OverlayOrderCacheTest
+    extends TestCase
+{
+    private File file;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        final File testDirectory = new File( System.getProperty( "basedir", "." ),
+                                             "target/test-classes/unit/overlayordercache/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        file = new File( testDirectory, "overlay-order.txt" );
+    }
+
+    public void testOrderIsReusedForTheSameArtifacts()
+        throws Exception
+    {
+        final OverlayOrderCache cache = new OverlayOrderCache( file );
+        final String key = OverlayOrderCache.key( Arrays.asList( createArtifact( "portal", "1.0" ) ) );
+        assertNull( cache.load( key ) );
+
+        final List<String> coordinates = Arrays.asList( "org.example:base", "org.example:portal" );
+        cache.save( key, coordinates );
+
+        assertEquals( coordinates, new OverlayOrderCache( file ).load(
+            OverlayOrderCache.key( Arrays.asList( createArtifact( "portal", "1.0" ) ) ) ) );
+    }
+
+    public void testOtherArtifactsHaveAnotherKey()
+        throws Exception
+    {
+        final OverlayOrderCache cache = new OverlayOrderCache( file );
+        cache.save( OverlayOrderCache.key( Arrays.asList( createArtifact( "portal", "1.0" ) ) ),
+                    Arrays.asList( "org.example:portal" ) );
+
+        assertNull( cache.load( OverlayOrderCache.key( Arrays.asList( createArtifact( "portal", "1.1" ) ) ) ) );
+        assertNull( cache.load( OverlayOrderCache.key(
+            Arrays.asList( createArtifact( "portal", "1.0" ), createArtifact( "base", "1.0" ) ) ) ) );
+    }
+
+    public void testSaveReplacesThePreviousRecord()
+        throws Exception
+    {
+        final OverlayOrderCache cache = new OverlayOrderCache( file );
+        cache.save( "first", Arrays.asList( "org.example:base", "org.example:portal" ) );
+        cache.save( "second", Arrays.asList( "org.example:portal" ) );
+
+        assertEquals( Arrays.asList( file.getName() ), Arrays.asList( file.getParentFile().list() ) );
+        assertNull( cache.load( "first" ) );
+        assertEquals( Arrays.asList( "org.example:portal" ), cache.load( "second" ) );
+    }
+
+    private static Artifact createArtifact( String artifactId, String version )
+    {
+        return new DefaultArtifact( "org.example", artifactId, version, "compile", "war", null,
+                                    new DefaultArtifactHandler( "war" ) );
+    }
+}
@@ -0,0 +1,102 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import junit.framework.TestCase;
+import org.codehaus.plexus.util.FileUtils;
+
+public class ParallelDirectoryWalkerTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/walker/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+    }
+
+    public void testSameFilesAsWalkFileTree()
+        throws Exception
+    {
+        createTree( testDirectory, 500 );
+        new File( testDirectory, "empty/directory" ).mkdirs();
+
+        final Set<String> expected = new HashSet<>();
+        final Path base = testDirectory.toPath();
+        Files.walkFileTree( base, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult visitFile( Path file, BasicFileAttributes attrs )
+            {
+                expected.add( base.relativize( file ).toString() );
+                return FileVisitResult.CONTINUE;
+            }
+        } );
+
+        final Set<String> result = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+        ParallelDirectoryWalker.collectFiles( testDirectory, result, 4 );
+
+        assertEquals( 500, expected.size() );
+        assertEquals( expected, result );
+    }
+
+    public void testMissingDirectoryIsReported()
+    {
+        try
+        {
+            ParallelDirectoryWalker.collectFiles( new File( testDirectory, "missing" ), new HashSet<String>(), 2 );
+            fail( "A missing directory should be reported" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+    }
+
+    static void createTree( File baseDirectory, int fileCount )
+        throws IOException
+    {
+        for ( int i = 0; i < fileCount; i++ )
+        {
+            final File file =
+                new File( baseDirectory, "dir" + ( i % 10 ) + "/sub" + ( i % 7 ) + "/deep" + ( i % 3 ) + "/f" + i );
+            file.getParentFile().mkdirs();
+            file.createNewFile();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the normalization of paths by {@link PathSet}.
+ *
+ * Not a unit test: run the <code>main</code> method, optionally with the number of paths.
+ */
+public class PathSetBenchmark
+{
+    public static void main( String[] args )
+    {
+        final int count = args.length > 0 ? Integer.parseInt( args[0] ) : 200000;
+        final List<String> paths = new ArrayList<>( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            paths.add( "WEB-INF/classes/org/example/module" + ( i % 50 ) + "/impl/internal" + ( i % 7 ) + "/Type" + i
+                + ".class" );
+        }
+
+        for ( int run = 0; run < 3; run++ )
+        {
+            long start = System.nanoTime();
+            int length = 0;
+            for ( String path : paths )
+            {
+                length += PathSet.normalizeSubPath( "/" + path ).length();
+            }
+            System.out.println( "normalize " + count + " paths: " + ( System.nanoTime() - start ) / 1000000 + " ms ("
+                + length + " chars)" );
+        }
+    }
+}
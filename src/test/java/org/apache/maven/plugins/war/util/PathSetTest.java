@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
 import java.util.Set;
 
 public class PathSetTest
@@ -65,6 +66,47 @@ public class PathSetTest
                 PathSet.normalizeSubPath( "///abc/////def////ghi//" ) );
     }
 
+    public void testNormalizeSubPathMatchesRegularExpressions()
+    {
+        final char[] alphabet = { 'a', 'b', '/', '\\', '.' };
+        final Random random = new Random( 42 );
+        for ( int i = 0; i < 10000; i++ )
+        {
+            final StringBuilder path = new StringBuilder();
+            final int length = random.nextInt( 12 );
+            for ( int j = 0; j < length; j++ )
+            {
+                path.append( alphabet[random.nextInt( alphabet.length )] );
+            }
+            assertEquals( path.toString(), referenceNormalize( path.toString() ),
+                          PathSet.normalizeSubPath( path.toString() ) );
+        }
+    }
+
+    public void testNormalizedPathIsNotCopied()
+    {
+        final String path = "WEB-INF/lib/a.jar";
+        assertSame( path, PathSet.normalizeSubPath( path ) );
+    }
+
+    /**
+     * The normalization as it was performed with regular expressions.
+     */
+    private static String referenceNormalize( String path )
+    {
+        if ( path.isEmpty() )
+        {
+            return path;
+        }
+        String cleanPath = path.replaceAll( "[\\\\]+", "/" ).replaceAll( "[/]+", "/" );
+        cleanPath = cleanPath.charAt( 0 ) == '/' ? cleanPath.substring( 1 ) : cleanPath;
+        if ( !cleanPath.isEmpty() && cleanPath.charAt( cleanPath.length() - 1 ) == '/' )
+        {
+            return cleanPath.substring( 0, cleanPath.length() - 1 );
+        }
+        return cleanPath;
+    }
+
     /* -------------- Operations tests ------------------*/
 
     /**
@@ -0,0 +1,162 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import junit.framework.TestCase;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.codehaus.plexus.util.FileUtils;
+
+public class UnpackCacheTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    private File cacheDirectory;
+
+    private CountingUnpacker unpacker;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/unpackcache/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+        cacheDirectory = new File( testDirectory, "cache" );
+        unpacker = new CountingUnpacker();
+    }
+
+    public void testArchiveIsUnpackedOnce()
+        throws Exception
+    {
+        final File archive = createArchive( "first.war", "content" );
+        // another module building the same overlay from a different location
+        final File copy = createArchive( "copy/first.war", "content" );
+
+        final File directory = new UnpackCache( cacheDirectory ).getDirectory( archive, unpacker );
+        assertEquals( directory, new UnpackCache( cacheDirectory ).getDirectory( copy, unpacker ) );
+
+        assertEquals( 1, unpacker.count );
+        assertEquals( "content", FileUtils.fileRead( new File( directory, "index.jsp" ) ) );
+        assertTrue( new File( cacheDirectory, directory.getName() + ".complete" ).isFile() );
+        assertEquals( 2, cacheDirectory.list().length );
+    }
+
+    public void testArchivesWithOtherContentAreNotShared()
+        throws Exception
+    {
+        final UnpackCache cache = new UnpackCache( cacheDirectory );
+        final File first = cache.getDirectory( createArchive( "first.war", "content" ), unpacker );
+        final File second = cache.getDirectory( createArchive( "second.war", "other" ), unpacker );
+
+        assertFalse( first.equals( second ) );
+        assertEquals( "other", FileUtils.fileRead( new File( second, "index.jsp" ) ) );
+    }
+
+    public void testVariantsAreUnpackedSeparately()
+        throws Exception
+    {
+        final File archive = createArchive( "first.war", "content" );
+        final UnpackCache cache = new UnpackCache( cacheDirectory );
+
+        final File all = cache.getDirectory( archive, unpacker );
+        final File some = cache.getDirectory( archive, "includes=[**/*.jsp]", unpacker );
+        assertEquals( some, cache.getDirectory( archive, "includes=[**/*.jsp]", unpacker ) );
+
+        assertFalse( all.equals( some ) );
+        assertTrue( some.getName().startsWith( all.getName() + "-" ) );
+        assertEquals( 2, unpacker.count );
+    }
+
+    public void testPublishedDirectoryWithoutMarkerIsReused()
+        throws Exception
+    {
+        final File archive = createArchive( "first.war", "content" );
+        final File directory = new File( cacheDirectory, Checksums.checksum( archive ) );
+        directory.mkdirs();
+        FileUtils.fileWrite( new File( directory, "index.jsp" ), "published" );
+
+        assertEquals( directory, new UnpackCache( cacheDirectory ).getDirectory( archive, unpacker ) );
+        assertEquals( "published", FileUtils.fileRead( new File( directory, "index.jsp" ) ) );
+        assertTrue( new File( cacheDirectory, directory.getName() + ".complete" ).isFile() );
+        assertEquals( 2, cacheDirectory.list().length );
+    }
+
+    public void testFailedUnpackIsNotPublished()
+        throws Exception
+    {
+        final File archive = createArchive( "first.war", "content" );
+        try
+        {
+            new UnpackCache( cacheDirectory ).getDirectory( archive, new UnpackCache.Unpacker()
+            {
+                @Override
+                public void unpack( File archive, File directory )
+                    throws MojoExecutionException
+                {
+                    throw new MojoExecutionException( "broken archive" );
+                }
+            } );
+            fail( "The unpack error should have been reported" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            assertEquals( 0, cacheDirectory.list().length );
+        }
+    }
+
+    private File createArchive( String name, String content )
+        throws IOException
+    {
+        final File result = new File( testDirectory, name );
+        result.getParentFile().mkdirs();
+        FileUtils.fileWrite( result, content );
+        return result;
+    }
+
+    /**
+     * Copies the archive to <tt>index.jsp</tt> and counts the unpacked archives.
+     */
+    private static class CountingUnpacker
+        implements UnpackCache.Unpacker
+    {
+        private int count;
+
+        @Override
+        public void unpack( File archive, File directory )
+            throws MojoExecutionException
+        {
+            count++;
+            try
+            {
+                FileUtils.copyFile( archive, new File( directory, "index.jsp" ) );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( e.getMessage(), e );
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Dependency;
+
+public class WarUtilsTest
+    extends TestCase
+{
+    public void testArtifactIsRelatedToItsDependency()
+    {
+        assertTrue( WarUtils.isRelated( createArtifact( "1.0" ), createDependency( "1.0" ) ) );
+        assertFalse( WarUtils.isRelated( createArtifact( "1.0" ), createDependency( "1.1" ) ) );
+
+        final Dependency other = createDependency( "1.0" );
+        other.setClassifier( "tests" );
+        assertFalse( WarUtils.isRelated( createArtifact( "1.0" ), other ) );
+    }
+
+    public void testTimestampedSnapshotIsRelatedToItsSnapshotDependency()
+    {
+        assertTrue( WarUtils.isRelated( createArtifact( "1.0-20260101.120000-1" ),
+                                        createDependency( "1.0-SNAPSHOT" ) ) );
+        assertFalse( WarUtils.isRelated( createArtifact( "1.1-20260101.120000-1" ),
+                                         createDependency( "1.0-SNAPSHOT" ) ) );
+    }
+
+    public void testResolvedVersionIsRelatedToItsRange()
+    {
+        assertTrue( WarUtils.isRelated( createArtifact( "1.5" ), createDependency( "[1.0,2.0)" ) ) );
+        assertFalse( WarUtils.isRelated( createArtifact( "2.0" ), createDependency( "[1.0,2.0)" ) ) );
+    }
+
+    private static Artifact createArtifact( String version )
+    {
+        return new DefaultArtifact( "org.example", "library", version, "compile", "jar", null,
+                                    new DefaultArtifactHandler( "jar" ) );
+    }
+
+    private static Dependency createDependency( String version )
+    {
+        final Dependency dependency = new Dependency();
+        dependency.setGroupId( "org.example" );
+        dependency.setArtifactId( "library" );
+        dependency.setVersion( version );
+        dependency.setType( "jar" );
+        dependency.setScope( "compile" );
+        return dependency;
+    }
+}
@@ -0,0 +1,89 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+
+/**
+ * Compares {@link WebappStructure#getOwner(String)} with the previous implementation, which probed the path set of
+ * every owner in turn.
+ *
+ * Not a unit test: run the <code>main</code> method, optionally with the number of owners and of paths per owner.
+ */
+public class WebappStructureBenchmark
+{
+    public static void main( String[] args )
+    {
+        final int ownerCount = args.length > 0 ? Integer.parseInt( args[0] ) : 40;
+        final int pathsPerOwner = args.length > 1 ? Integer.parseInt( args[1] ) : 1000;
+
+        final WebappStructure structure = new WebappStructure( new ArrayList<Dependency>() );
+        final List<String> paths = new ArrayList<>();
+        for ( int owner = 0; owner < ownerCount; owner++ )
+        {
+            for ( int i = 0; i < pathsPerOwner; i++ )
+            {
+                final String path = "WEB-INF/overlay" + owner + "/dir" + ( i % 20 ) + "/file" + i + ".jsp";
+                structure.registerFile( "owner" + owner, path );
+                paths.add( path );
+            }
+        }
+
+        for ( int run = 0; run < 3; run++ )
+        {
+            long start = System.nanoTime();
+            int found = 0;
+            for ( String path : paths )
+            {
+                found += scanOwners( structure, path ) != null ? 1 : 0;
+            }
+            final long scan = ( System.nanoTime() - start ) / 1000000;
+
+            start = System.nanoTime();
+            for ( String path : paths )
+            {
+                found += structure.getOwner( path ) != null ? 1 : 0;
+            }
+            final long index = ( System.nanoTime() - start ) / 1000000;
+
+            System.out.println( ownerCount + " owners, " + paths.size() + " paths (" + found + " lookups): scan "
+                + scan + " ms, index " + index + " ms" );
+        }
+    }
+
+    private static String scanOwners( WebappStructure structure, String path )
+    {
+        if ( !structure.isRegistered( path ) )
+        {
+            return null;
+        }
+        for ( String owner : structure.getOwners() )
+        {
+            if ( structure.getStructure( owner ).contains( path ) )
+            {
+                return owner;
+            }
+        }
+        throw new IllegalStateException( "Path [" + path + "] is registered but has no owner" );
+    }
+}
@@ -0,0 +1,112 @@
+package org.apache.maven.plugins.war.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.apache.maven.model.Dependency;
+import org.codehaus.plexus.util.FileUtils;
+
+public class WebappStructureSerializerTest
+    extends TestCase
+{
+    private File testDirectory;
+
+    @Override
+    protected void setUp()
+        throws Exception
+    {
+        super.setUp();
+        testDirectory = new File( System.getProperty( "basedir", "." ),
+                                  "target/test-classes/unit/webappstructure/" + getName() );
+        FileUtils.deleteDirectory( testDirectory );
+        testDirectory.mkdirs();
+    }
+
+    public void testRoundTrip()
+        throws Exception
+    {
+        final Dependency dependency = new Dependency();
+        dependency.setGroupId( "org.test" );
+        dependency.setArtifactId( "lib" );
+        dependency.setVersion( "1.0" );
+        final WebappStructure structure = new WebappStructure( Collections.singletonList( dependency ) );
+        structure.registerFile( "overlay1", "WEB-INF/web.xml" );
+        structure.registerFile( "currentBuild", "index.jsp" );
+
+        final File cacheFile = new File( testDirectory, "work/webapp-cache.ser" );
+        final WebappStructureSerializer serializer = new WebappStructureSerializer();
+        serializer.toFile( structure, cacheFile );
+        final WebappStructure result = serializer.fromFile( cacheFile );
+
+        assertEquals( "overlay1", result.getOwner( "WEB-INF/web.xml" ) );
+        assertEquals( "currentBuild", result.getOwner( "index.jsp" ) );
+        assertTrue( result.isRegistered( "index.jsp" ) );
+        assertEquals( 1, result.getDependencies().size() );
+        assertEquals( "lib", result.getDependencies().get( 0 ).getArtifactId() );
+    }
+
+    public void testFileStatesAreUsedByTheNextBuild()
+        throws Exception
+    {
+        final File source = new File( testDirectory, "index.jsp" );
+        FileUtils.fileWrite( source, "content" );
+        source.setLastModified( 1000000000000L );
+
+        final WebappStructure previous = new WebappStructure( new ArrayList<Dependency>() );
+        previous.registerFile( "currentBuild", "index.jsp" );
+        previous.registerFileState( "index.jsp", source );
+        previous.registerOverlayState( "overlay1", source );
+        final File cacheFile = new File( testDirectory, "webapp-cache.ser" );
+        final WebappStructureSerializer serializer = new WebappStructureSerializer();
+        serializer.toFile( previous, cacheFile );
+
+        final WebappStructure structure =
+            new WebappStructure( new ArrayList<Dependency>(), serializer.fromFile( cacheFile ) );
+        assertEquals( Boolean.TRUE, structure.isFileUnchanged( "index.jsp", source ) );
+        assertNull( structure.isFileUnchanged( "other.jsp", source ) );
+        assertTrue( structure.isOverlayUnchanged( "overlay1", source ) );
+
+        // An older source is a change too
+        source.setLastModified( 900000000000L );
+        assertEquals( Boolean.FALSE, structure.isFileUnchanged( "index.jsp", source ) );
+        assertFalse( structure.isOverlayUnchanged( "overlay1", source ) );
+    }
+
+    public void testInvalidFileIsRejected()
+        throws Exception
+    {
+        final File cacheFile = new File( testDirectory, "webapp-cache.ser" );
+        FileUtils.fileWrite( cacheFile, "not a cache" );
+        try
+        {
+            new WebappStructureSerializer().fromFile( cacheFile );
+            fail( "An invalid cache file should be rejected" );
+        }
+        catch ( IOException e )
+        {
+            // expected
+        }
+    }
+}
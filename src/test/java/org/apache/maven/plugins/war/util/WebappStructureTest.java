@@ -21,10 +21,15 @@ package org.apache.maven.plugins.war.util;
 
 import junit.framework.TestCase;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugins.war.util.WebappStructure;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Stephane Nicoll
@@ -65,6 +70,75 @@ public class WebappStructureTest
         assertEquals("currentBuild", structure.getOwner( path ));
     }
 
+    public void testOwnerOfEquivalentPaths()
+    {
+        final WebappStructure structure = new WebappStructure( new ArrayList<Dependency>() );
+        structure.registerFile( "overlay1", "WEB-INF/web.xml" );
+        structure.registerFile( "overlay1", "WEB-INF/lib/a.jar" );
+        structure.registerFileForced( "currentBuild", "/WEB-INF\\web.xml" );
+        assertEquals( "currentBuild", structure.getOwner( "WEB-INF//web.xml" ) );
+        assertEquals( "overlay1", structure.getOwner( "WEB-INF/lib/a.jar" ) );
+        assertFalse( structure.getStructure( "overlay1" ).contains( "WEB-INF/web.xml" ) );
+        assertNull( structure.getOwner( "WEB-INF/lib/b.jar" ) );
+    }
+
+    public void testRegisterWithoutCacheKeepsOwner()
+        throws IOException
+    {
+        final WebappStructure structure = new WebappStructure( new ArrayList<Dependency>() );
+        final RecordingCallback callback = new RecordingCallback();
+        structure.registerFile( "overlay1", "index.jsp", callback );
+        assertEquals( "alreadyRegistered:overlay1", callback.event );
+    }
+
+    public void testRegisterWithCache()
+        throws IOException
+    {
+        final WebappStructure cache = new WebappStructure( new ArrayList<Dependency>() );
+        cache.registerFile( "overlay1", "index.jsp" );
+        cache.registerFile( "overlay2", "header.jsp" );
+        cache.registerFile( "removed", "footer.jsp" );
+
+        final WebappStructure structure = new WebappStructure( new ArrayList<Dependency>(), cache );
+        structure.registerFile( "overlay2", "WEB-INF/web.xml" );
+        final RecordingCallback callback = new RecordingCallback();
+
+        structure.registerFile( "overlay1", "index.jsp", callback );
+        assertEquals( "alreadyRegistered:overlay1", callback.event );
+        structure.registerFile( "overlay1", "header.jsp", callback );
+        assertEquals( "superseded:overlay2", callback.event );
+        structure.registerFile( "overlay1", "new.jsp", callback );
+        assertEquals( "registered:overlay1", callback.event );
+        structure.registerFile( "overlay1", "footer.jsp", callback );
+        assertEquals( "supersededUnknownOwner:removed", callback.event );
+        structure.registerFile( "overlay2", "index.jsp", callback );
+        assertEquals( "refused:overlay1", callback.event );
+    }
+
+    public void testRegisterTargetFileName()
+    {
+        final Dependency library = createDependency( "org.example", "library", "1.0" );
+        final Dependency sources = createDependency( "org.example", "library", "1.0", "jar", null, "sources" );
+        final Dependency other = createDependency( "org.other", "library", "1.0" );
+        final List<Dependency> dependencies = Arrays.asList( library, sources, other );
+        final WebappStructure structure = new WebappStructure( dependencies );
+
+        structure.registerTargetFileName( createArtifact( "org.example", "library", null ), "library-1.0.jar" );
+        structure.registerTargetFileName( createArtifact( "org.example", "library", "sources" ),
+                                          "library-1.0-sources.jar" );
+        structure.registerTargetFileName( createArtifact( "org.example", "missing", null ), "missing-1.0.jar" );
+
+        final List<DependencyInfo> dependenciesInfo = structure.getDependenciesInfo();
+        assertEquals( "library-1.0.jar", dependenciesInfo.get( 0 ).getTargetFileName() );
+        assertEquals( "library-1.0-sources.jar", dependenciesInfo.get( 1 ).getTargetFileName() );
+        assertNull( dependenciesInfo.get( 2 ).getTargetFileName() );
+    }
+
+    private static Artifact createArtifact( String groupId, String artifactId, String classifier )
+    {
+        return new DefaultArtifact( groupId, artifactId, "1.0", Artifact.SCOPE_COMPILE, "jar", classifier,
+                                    new DefaultArtifactHandler( "jar" ) );
+    }
 
     protected Dependency createDependency( String groupId, String artifactId, String version, String type, String scope,
                                            String classifier )
@@ -111,4 +185,35 @@ public class WebappStructureTest
     {
         return createDependency( groupId, artifactId, version, null );
     }
+
+    private static class RecordingCallback
+        implements WebappStructure.RegistrationCallback
+    {
+        private String event;
+
+        public void registered( String ownerId, String targetFilename )
+        {
+            event = "registered:" + ownerId;
+        }
+
+        public void alreadyRegistered( String ownerId, String targetFilename )
+        {
+            event = "alreadyRegistered:" + ownerId;
+        }
+
+        public void refused( String ownerId, String targetFilename, String actualOwnerId )
+        {
+            event = "refused:" + actualOwnerId;
+        }
+
+        public void superseded( String ownerId, String targetFilename, String deprecatedOwnerId )
+        {
+            event = "superseded:" + deprecatedOwnerId;
+        }
+
+        public void supersededUnknownOwner( String ownerId, String targetFilename, String unknownOwnerId )
+        {
+            event = "supersededUnknownOwner:" + unknownOwnerId;
+        }
+    }
 }